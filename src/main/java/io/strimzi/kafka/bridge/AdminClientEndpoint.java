@@ -17,6 +17,7 @@ import io.vertx.kafka.admin.OffsetSpec;
 import io.vertx.kafka.admin.TopicDescription;
 import io.vertx.kafka.client.common.ConfigResource;
 import io.vertx.kafka.client.common.TopicPartition;
+import org.apache.kafka.clients.admin.AdminClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +39,7 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
     private Handler<BridgeEndpoint> closeHandler;
 
     private KafkaAdminClient adminClient;
+    private KafkaClientMeters adminClientMeters;
 
     /**
      * Constructor
@@ -64,13 +66,24 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
 
     @Override
     public void open() {
-        // create an admin client
-        KafkaConfig kafkaConfig = this.bridgeConfig.getKafkaConfig();
-        Properties props = new Properties();
-        props.putAll(kafkaConfig.getConfig());
-        props.putAll(kafkaConfig.getAdminConfig().getConfig());
+        // the admin client is created on first use, not to delay the bridge startup
+    }
 
-        this.adminClient = KafkaAdminClient.create(this.vertx, props);
+    /**
+     * @return the admin client, created on first use
+     */
+    private KafkaAdminClient adminClient() {
+        if (this.adminClient == null) {
+            KafkaConfig kafkaConfig = this.bridgeConfig.getKafkaConfig();
+            Properties props = new Properties();
+            props.putAll(kafkaConfig.getConfig());
+            props.putAll(kafkaConfig.getAdminConfig().getConfig());
+
+            AdminClient kafkaAdminClient = AdminClient.create(props);
+            this.adminClientMeters = KafkaClientMeters.bind(this.bridgeConfig, kafkaAdminClient);
+            this.adminClient = KafkaAdminClient.create(this.vertx, kafkaAdminClient);
+        }
+        return this.adminClient;
     }
 
     @Override
@@ -78,6 +91,9 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
         if (this.adminClient != null) {
             this.adminClient.close();
         }
+        if (this.adminClientMeters != null) {
+            this.adminClientMeters.close();
+        }
         this.handleClose();
     }
 
@@ -86,7 +102,7 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
      */
     protected void listTopics(Handler<AsyncResult<Set<String>>> handler) {
         log.info("List topics");
-        this.adminClient.listTopics(handler);
+        this.adminClient().listTopics(handler);
     }
 
     /**
@@ -94,7 +110,7 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
      */
     protected void describeTopics(List<String> topicNames, Handler<AsyncResult<Map<String, TopicDescription>>> handler) {
         log.info("Describe topics {}", topicNames);
-        this.adminClient.describeTopics(topicNames, handler);
+        this.adminClient().describeTopics(topicNames, handler);
     }
 
     /**
@@ -102,7 +118,7 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
      */
     protected void describeConfigs(List<ConfigResource> configResources, Handler<AsyncResult<Map<ConfigResource, Config>>> handler) {
         log.info("Describe configs {}", configResources);
-        this.adminClient.describeConfigs(configResources, handler);
+        this.adminClient().describeConfigs(configResources, handler);
     }
 
     /**
@@ -110,7 +126,7 @@ public abstract class AdminClientEndpoint implements BridgeEndpoint {
      */
     protected void listOffsets(Map<TopicPartition, OffsetSpec> topicPartitionOffsets, Handler<AsyncResult<Map<TopicPartition, ListOffsetsResultInfo>>> handler) {
         log.info("Get the offset spec for partition {}", topicPartitionOffsets);
-        this.adminClient.listOffsets(topicPartitionOffsets, handler);
+        this.adminClient().listOffsets(topicPartitionOffsets, handler);
     }
 
     /**
@@ -21,6 +21,7 @@ import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.api.contract.openapi3.OpenAPI3RouterFactory;
 import io.vertx.micrometer.Label;
 import io.vertx.micrometer.MetricsDomain;
 import io.vertx.micrometer.MicrometerMetricsOptions;
@@ -46,6 +47,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -61,23 +64,29 @@ public class Application {
 
     private static final int DEFAULT_EMBEDDED_HTTP_SERVER_PORT = 8080;
 
+    // time for closing the Kafka clients on shutdown, after draining the in-flight requests
+    private static final long SHUTDOWN_CLOSE_TIMEOUT_MS = 5000;
+
     @SuppressWarnings({"checkstyle:NPathComplexity"})
     public static void main(String[] args) {
         log.info("Strimzi Kafka Bridge {} is starting", Application.class.getPackage().getImplementationVersion());
+        long startTime = System.nanoTime();
         try {
             VertxOptions vertxOptions = new VertxOptions();
-            JmxCollectorRegistry jmxCollectorRegistry = null;
-            if (Boolean.valueOf(System.getenv(KAFKA_BRIDGE_METRICS_ENABLED))) {
+            boolean metricsEnabled = Boolean.valueOf(System.getenv(KAFKA_BRIDGE_METRICS_ENABLED));
+            if (metricsEnabled) {
                 log.info("Metrics enabled and exposed on the /metrics endpoint");
                 // setup Micrometer metrics options
                 vertxOptions.setMetricsOptions(metricsOptions());
-                jmxCollectorRegistry = getJmxCollectorRegistry();
             }
             Vertx vertx = Vertx.vertx(vertxOptions);
             // MeterRegistry default instance is just null if metrics are not enabled in the VertxOptions instance
             MeterRegistry meterRegistry = BackendRegistries.getDefaultNow();
-            MetricsReporter metricsReporter = new MetricsReporter(jmxCollectorRegistry, meterRegistry);
+            log.info("Vert.x started in {} ms", elapsedMs(startTime));
 
+            // loading the OpenAPI contract is the longest startup phase, so it runs while the configuration is loaded
+            // and the AMQP bridge is deployed; the result is just discarded if the HTTP bridge is not enabled
+            Future<OpenAPI3RouterFactory> routerFactory = HttpBridge.loadRouterFactory(vertx);
 
             CommandLine commandLine = new DefaultParser().parse(generateOptions(), args);
 
@@ -100,6 +109,13 @@ public class Application {
                 if (ar.succeeded()) {
                     Map<String, Object> config = ar.result().getMap();
                     BridgeConfig bridgeConfig = BridgeConfig.fromMap(config);
+                    log.info("Configuration loaded in {} ms", elapsedMs(startTime));
+
+                    // on termination, Vert.x is closed for stopping the bridges, so that they can drain the in-flight requests
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(vertx, bridgeConfig.getShutdownDrainTimeoutMs())));
+
+                    MetricsReporter metricsReporter = new MetricsReporter(kafkaClientsJmxCollectorRegistry(metricsEnabled, bridgeConfig),
+                            meterRegistry, bridgeConfig.getMetricsCacheMs());
 
                     int embeddedHttpServerPort = Integer.parseInt(config.getOrDefault(EMBEDDED_HTTP_SERVER_PORT, DEFAULT_EMBEDDED_HTTP_SERVER_PORT).toString());
 
@@ -109,11 +125,12 @@ public class Application {
                     }
 
                     List<Future> futures = new ArrayList<>();
-                    futures.add(deployAmqpBridge(vertx, bridgeConfig, metricsReporter));
-                    futures.add(deployHttpBridge(vertx, bridgeConfig, metricsReporter));
+                    futures.add(deployAmqpBridge(vertx, bridgeConfig, metricsReporter, startTime));
+                    futures.add(deployHttpBridge(vertx, bridgeConfig, metricsReporter, routerFactory, startTime));
 
                     CompositeFuture.join(futures).onComplete(done -> {
                         if (done.succeeded()) {
+                            log.info("Strimzi Kafka Bridge started in {} ms", elapsedMs(startTime));
                             HealthChecker healthChecker = new HealthChecker();
                             for (int i = 0; i < futures.size(); i++) {
                                 if (done.result().succeeded(i) && done.result().resultAt(i) != null) {
@@ -181,9 +198,10 @@ public class Application {
      * @param vertx                 Vertx instance
      * @param bridgeConfig          Bridge configuration
      * @param metricsReporter       MetricsReporter instance for scraping metrics from different registries
+     * @param startTime             bridge start time, in nanoseconds, for logging the deployment time
      * @return                      Future for the bridge startup
      */
-    private static Future<AmqpBridge> deployAmqpBridge(Vertx vertx, BridgeConfig bridgeConfig, MetricsReporter metricsReporter)  {
+    private static Future<AmqpBridge> deployAmqpBridge(Vertx vertx, BridgeConfig bridgeConfig, MetricsReporter metricsReporter, long startTime)  {
         Promise<AmqpBridge> amqpPromise = Promise.promise();
 
         if (bridgeConfig.getAmqpConfig().isEnabled()) {
@@ -191,7 +209,7 @@ public class Application {
 
             vertx.deployVerticle(amqpBridge, done -> {
                 if (done.succeeded()) {
-                    log.info("AMQP verticle instance deployed [{}]", done.result());
+                    log.info("AMQP verticle instance deployed [{}] in {} ms", done.result(), elapsedMs(startTime));
                     amqpPromise.complete(amqpBridge);
                 } else {
                     log.error("Failed to deploy AMQP verticle instance", done.cause());
@@ -211,17 +229,20 @@ public class Application {
      * @param vertx                 Vertx instance
      * @param bridgeConfig          Bridge configuration
      * @param metricsReporter       MetricsReporter instance for scraping metrics from different registries
+     * @param routerFactory         OpenAPI router factory, loaded in advance
+     * @param startTime             bridge start time, in nanoseconds, for logging the deployment time
      * @return                      Future for the bridge startup
      */
-    private static Future<HttpBridge> deployHttpBridge(Vertx vertx, BridgeConfig bridgeConfig, MetricsReporter metricsReporter)  {
+    private static Future<HttpBridge> deployHttpBridge(Vertx vertx, BridgeConfig bridgeConfig, MetricsReporter metricsReporter,
+                                                       Future<OpenAPI3RouterFactory> routerFactory, long startTime)  {
         Promise<HttpBridge> httpPromise = Promise.promise();
 
         if (bridgeConfig.getHttpConfig().isEnabled()) {
-            HttpBridge httpBridge = new HttpBridge(bridgeConfig, metricsReporter);
+            HttpBridge httpBridge = new HttpBridge(bridgeConfig, metricsReporter, routerFactory);
             
             vertx.deployVerticle(httpBridge, done -> {
                 if (done.succeeded()) {
-                    log.info("HTTP verticle instance deployed [{}]", done.result());
+                    log.info("HTTP verticle instance deployed [{}] in {} ms", done.result(), elapsedMs(startTime));
                     httpPromise.complete(httpBridge);
                 } else {
                     log.error("Failed to deploy HTTP verticle instance", done.cause());
@@ -235,6 +256,54 @@ public class Application {
         return httpPromise.future();
     }
 
+    /**
+     * Close Vert.x, stopping the bridges, and wait for it up to the drain timeout plus a margin for closing the Kafka clients
+     *
+     * @param vertx                 Vertx instance
+     * @param drainTimeoutMs        maximum time in milliseconds for completing the in-flight requests
+     */
+    private static void shutdown(Vertx vertx, long drainTimeoutMs) {
+        log.info("Strimzi Kafka Bridge is shutting down");
+        CountDownLatch closed = new CountDownLatch(1);
+        vertx.close(ar -> closed.countDown());
+        try {
+            if (!closed.await(drainTimeoutMs + SHUTDOWN_CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                log.warn("Strimzi Kafka Bridge not closed within {} ms", drainTimeoutMs + SHUTDOWN_CLOSE_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param startTime start time in nanoseconds
+     * @return the milliseconds elapsed since the start time
+     */
+    private static long elapsedMs(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Return the JmxCollectorRegistry instance for scraping the Kafka clients metrics from JMX,
+     * unless they are bound directly to the Micrometer registry. The bridge exits if it can't be set up
+     *
+     * @param metricsEnabled if the metrics are enabled
+     * @param bridgeConfig bridge configuration
+     * @return JmxCollectorRegistry instance, null if the metrics are not enabled or the Kafka clients ones are bound to Micrometer
+     */
+    private static JmxCollectorRegistry kafkaClientsJmxCollectorRegistry(boolean metricsEnabled, BridgeConfig bridgeConfig) {
+        if (!metricsEnabled || bridgeConfig.isKafkaClientsMicrometerMetrics()) {
+            return null;
+        }
+        try {
+            return getJmxCollectorRegistry();
+        } catch (MalformedObjectNameException | IOException e) {
+            log.error("Error setting up the JMX metrics", e);
+            System.exit(1);
+            return null;
+        }
+    }
+
     /**
      * Return a JmxCollectorRegistry instance with the YAML configuration filters
      *
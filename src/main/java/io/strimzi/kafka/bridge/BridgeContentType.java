@@ -17,4 +17,6 @@ public class BridgeContentType {
     // JSON encoding
     public static final String KAFKA_JSON = "application/vnd.kafka.v2+json";
     public static final String JSON = "application/json";
+    // raw bytes as the value of a single record
+    public static final String OCTET_STREAM = "application/octet-stream";
 }
@@ -51,7 +51,7 @@ public class EmbeddedHttpServer {
                         httpResponseStatus = healthChecker.isReady() ? HttpResponseStatus.OK : HttpResponseStatus.NOT_FOUND;
                         request.response().setStatusCode(httpResponseStatus.code()).end();
                     } else if (request.path().equals("/metrics")) {
-                        request.response().setStatusCode(HttpResponseStatus.OK.code()).end(metricsReporter.scrape());
+                        metricsReporter.handle(vertx, request.response());
                     } else {
                         request.response().setStatusCode(HttpResponseStatus.NOT_FOUND.code()).end();
                     }
@@ -52,10 +52,21 @@ public class JmxCollectorRegistry {
     public String scrape() {
         Writer writer = new StringWriter();
         try {
-            TextFormat.write004(writer, collectorRegistry.metricFamilySamples());
+            this.scrape(writer);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
         return writer.toString();
     }
+
+    /**
+     * Write the content that should be included in the response body for an endpoint designated for
+     * Prometheus to scrape from
+     *
+     * @param writer writer to write the content to
+     * @throws IOException Throws IOException
+     */
+    public void scrape(Writer writer) throws IOException {
+        TextFormat.write004(writer, collectorRegistry.metricFamilySamples());
+    }
 }
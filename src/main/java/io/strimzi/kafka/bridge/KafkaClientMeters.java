@@ -0,0 +1,112 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.vertx.micrometer.backends.BackendRegistries;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+import java.util.Map;
+
+/**
+ * Metrics of a Kafka client (producer, consumer or admin client) bound directly to the Micrometer registry
+ * exposed by the bridge, as an alternative to scraping them from JMX.
+ * The meters of the client are removed from the registry when it's closed
+ */
+public class KafkaClientMeters {
+
+    // tag on each Kafka client metric identifying the client, and the same tag on the related meter
+    private static final String CLIENT_ID_TAG = "client-id";
+    private static final String CLIENT_ID_METER_TAG = "client.id";
+
+    private final MeterRegistry meterRegistry;
+    private final KafkaClientMetrics kafkaClientMetrics;
+    private final String clientId;
+
+    private KafkaClientMeters(MeterRegistry meterRegistry, KafkaClientMetrics kafkaClientMetrics, Map<MetricName, ? extends Metric> metrics) {
+        this.meterRegistry = meterRegistry;
+        this.kafkaClientMetrics = kafkaClientMetrics;
+        this.clientId = metrics.keySet().stream()
+                .map(metricName -> metricName.tags().get(CLIENT_ID_TAG))
+                .filter(id -> id != null)
+                .findFirst()
+                .orElse(null);
+        this.kafkaClientMetrics.bindTo(meterRegistry);
+    }
+
+    /**
+     * Bind the metrics of a Kafka producer
+     *
+     * @param bridgeConfig bridge configuration
+     * @param producer Kafka producer
+     * @return the bound meters, null if the Kafka clients metrics are not bound to Micrometer
+     */
+    public static KafkaClientMeters bind(BridgeConfig bridgeConfig, Producer<?, ?> producer) {
+        MeterRegistry meterRegistry = meterRegistry(bridgeConfig);
+        return meterRegistry == null ? null : new KafkaClientMeters(meterRegistry, new KafkaClientMetrics(producer), producer.metrics());
+    }
+
+    /**
+     * Bind the metrics of a Kafka consumer
+     *
+     * @param bridgeConfig bridge configuration
+     * @param consumer Kafka consumer
+     * @return the bound meters, null if the Kafka clients metrics are not bound to Micrometer
+     */
+    public static KafkaClientMeters bind(BridgeConfig bridgeConfig, Consumer<?, ?> consumer) {
+        MeterRegistry meterRegistry = meterRegistry(bridgeConfig);
+        return meterRegistry == null ? null : bind(meterRegistry, consumer);
+    }
+
+    /**
+     * Bind the metrics of a Kafka consumer to the provided registry
+     *
+     * @param meterRegistry MeterRegistry instance to bind the metrics to
+     * @param consumer Kafka consumer
+     * @return the bound meters
+     */
+    static KafkaClientMeters bind(MeterRegistry meterRegistry, Consumer<?, ?> consumer) {
+        return new KafkaClientMeters(meterRegistry, new KafkaClientMetrics(consumer), consumer.metrics());
+    }
+
+    /**
+     * Bind the metrics of a Kafka admin client
+     *
+     * @param bridgeConfig bridge configuration
+     * @param adminClient Kafka admin client
+     * @return the bound meters, null if the Kafka clients metrics are not bound to Micrometer
+     */
+    public static KafkaClientMeters bind(BridgeConfig bridgeConfig, AdminClient adminClient) {
+        MeterRegistry meterRegistry = meterRegistry(bridgeConfig);
+        return meterRegistry == null ? null : new KafkaClientMeters(meterRegistry, new KafkaClientMetrics(adminClient), adminClient.metrics());
+    }
+
+    /**
+     * Stop refreshing the client meters and remove them from the registry
+     */
+    public void close() {
+        this.kafkaClientMetrics.close();
+        if (this.clientId != null) {
+            for (Meter meter : this.meterRegistry.getMeters()) {
+                if (this.clientId.equals(meter.getId().getTag(CLIENT_ID_METER_TAG))) {
+                    this.meterRegistry.remove(meter);
+                }
+            }
+        }
+    }
+
+    private static MeterRegistry meterRegistry(BridgeConfig bridgeConfig) {
+        // the Vert.x default registry, the one exposed on the metrics endpoint (null if metrics are not enabled)
+        return bridgeConfig.isKafkaClientsMicrometerMetrics() ? BackendRegistries.getDefaultNow() : null;
+    }
+}
@@ -5,18 +5,52 @@
 
 package io.strimzi.kafka.bridge;
 
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.micrometer.prometheus.PrometheusNamingConvention;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
 
 /**
- * Used for scraping and reporting metrics in Prometheus format
+ * Used for scraping and reporting metrics in Prometheus format.
+ * The asynchronous scraping runs on a worker thread and its result is cached for a configurable interval;
+ * concurrent requests while a scraping is in progress share its result
  */
 public class MetricsReporter {
 
+    private static final Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+    // Prometheus text format content type
+    public static final String CONTENT_TYPE = TextFormat.CONTENT_TYPE_004;
+
     private final JmxCollectorRegistry jmxCollectorRegistry;
     private final MeterRegistry meterRegistry;
+    private final long cacheMs;
+    private final LongSupplier clock;
+
+    // last scraping result (in progress or completed) and the time when it completed
+    private Future<Buffer> scraping;
+    private long scrapedAt;
+    // size of the last scraping, for sizing the buffer of the next one
+    private int lastSize = 4096;
 
     /**
      * Constructor
@@ -25,8 +59,33 @@ public class MetricsReporter {
      * @param meterRegistry MeterRegistry instance for scraping metrics exposed through Vert.x
      */
     public MetricsReporter(JmxCollectorRegistry jmxCollectorRegistry, MeterRegistry meterRegistry) {
+        this(jmxCollectorRegistry, meterRegistry, BridgeConfig.DEFAULT_METRICS_CACHE_MS);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param jmxCollectorRegistry JmxCollectorRegistry instance for scraping metrics from JMX endpoints
+     * @param meterRegistry MeterRegistry instance for scraping metrics exposed through Vert.x
+     * @param cacheMs interval in milliseconds for which a scraping result is reused, 0 for not caching it
+     */
+    public MetricsReporter(JmxCollectorRegistry jmxCollectorRegistry, MeterRegistry meterRegistry, long cacheMs) {
+        this(jmxCollectorRegistry, meterRegistry, cacheMs, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param jmxCollectorRegistry JmxCollectorRegistry instance for scraping metrics from JMX endpoints
+     * @param meterRegistry MeterRegistry instance for scraping metrics exposed through Vert.x
+     * @param cacheMs interval in milliseconds for which a scraping result is reused, 0 for not caching it
+     * @param clock clock in milliseconds
+     */
+    MetricsReporter(JmxCollectorRegistry jmxCollectorRegistry, MeterRegistry meterRegistry, long cacheMs, LongSupplier clock) {
         this.jmxCollectorRegistry = jmxCollectorRegistry;
         this.meterRegistry = meterRegistry;
+        this.cacheMs = cacheMs;
+        this.clock = clock;
         if (this.meterRegistry instanceof PrometheusMeterRegistry) {
             this.meterRegistry.config().namingConvention(new PrometheusNamingConvention() {
                 @Override
@@ -58,13 +117,86 @@ public class MetricsReporter {
      * @return metrics in Prometheus format as String
      */
     public String scrape() {
-        StringBuilder sb = new StringBuilder();
-        if (jmxCollectorRegistry != null) {
-            sb.append(jmxCollectorRegistry.scrape());
+        return this.scrapeToBuffer(4096).toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Handle a metrics request, writing the scraped metrics in the Prometheus format to the response
+     *
+     * @param vertx Vert.x instance used for running the scraping
+     * @param response HTTP response to write the metrics to
+     */
+    public void handle(Vertx vertx, HttpServerResponse response) {
+        this.scrape(vertx).onComplete(ar -> {
+            if (ar.succeeded()) {
+                response.setStatusCode(HttpResponseStatus.OK.code())
+                        .putHeader(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE)
+                        .end(ar.result());
+            } else {
+                log.error("Error scraping metrics", ar.cause());
+                response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+            }
+        });
+    }
+
+    /**
+     * Scrape metrics on the provided registries asynchronously, on a worker thread, returning them in the Prometheus format.
+     * The result of a previous scraping is returned if it's not older than the cache interval
+     * or if it's still in progress
+     *
+     * @param vertx Vert.x instance used for running the scraping
+     * @return future completed with the metrics in Prometheus format
+     */
+    public synchronized Future<Buffer> scrape(Vertx vertx) {
+        if (this.scraping != null &&
+                (!this.scraping.isComplete() || (this.scraping.succeeded() && this.clock.getAsLong() - this.scrapedAt < this.cacheMs))) {
+            return this.scraping;
         }
-        if (meterRegistry instanceof PrometheusMeterRegistry) {
-            sb.append(((PrometheusMeterRegistry) meterRegistry).scrape());
+
+        Promise<Buffer> promise = Promise.promise();
+        this.scraping = promise.future();
+        vertx.<Buffer>executeBlocking(p -> p.complete(this.scrapeToBuffer(this.lastSize)), false, ar -> {
+            synchronized (this) {
+                this.scrapedAt = this.clock.getAsLong();
+                if (ar.succeeded()) {
+                    this.lastSize = ar.result().length();
+                }
+            }
+            promise.handle(ar);
+        });
+        return this.scraping;
+    }
+
+    /**
+     * Scrape metrics on the provided registries writing them in the Prometheus format
+     * directly into a buffer, without building intermediate strings
+     *
+     * @param initialSize initial size of the buffer
+     * @return buffer with the metrics in Prometheus format
+     */
+    private Buffer scrapeToBuffer(int initialSize) {
+        Buffer buffer = Buffer.buffer(initialSize);
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                buffer.appendByte((byte) b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                buffer.appendBytes(b, off, len);
+            }
+        };
+        try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            if (jmxCollectorRegistry != null) {
+                jmxCollectorRegistry.scrape(writer);
+            }
+            if (meterRegistry instanceof PrometheusMeterRegistry) {
+                ((PrometheusMeterRegistry) meterRegistry).scrape(writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return sb.toString();
+        return buffer;
     }
 }
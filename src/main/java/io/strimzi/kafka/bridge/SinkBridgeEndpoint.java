@@ -8,6 +8,9 @@ package io.strimzi.kafka.bridge;
 import io.opentracing.contrib.kafka.TracingConsumerInterceptor;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
 import io.strimzi.kafka.bridge.config.KafkaConfig;
+import io.strimzi.kafka.bridge.jfr.BridgeEvents;
+import io.strimzi.kafka.bridge.jfr.CommitEvent;
+import io.strimzi.kafka.bridge.jfr.RebalanceEvent;
 import io.strimzi.kafka.bridge.tracker.OffsetTracker;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
@@ -63,6 +66,7 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
     protected OffsetTracker offsetTracker;
 
     private KafkaConsumer<K, V> consumer;
+    private KafkaClientMeters consumerMeters;
     protected ConsumerInstanceId consumerInstanceId;
 
     protected String groupId;
@@ -137,8 +141,16 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
     @Override
     public void close() {
         if (this.consumer != null) {
+            if (this.qos == QoSEndpoint.AT_LEAST_ONCE && this.offsetTracker != null) {
+                // commit the offsets of the records already delivered, not to deliver them again after the close;
+                // the consumer runs the commit before closing
+                this.commitOffsets(true);
+            }
             this.consumer.close();
         }
+        if (this.consumerMeters != null) {
+            this.consumerMeters.close();
+        }
         this.handleClose();
     }
 
@@ -175,6 +187,7 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
             props.putAll(config);
 
         this.consumer = KafkaConsumer.create(this.vertx, props, keyDeserializer, valueDeserializer);
+        this.consumerMeters = KafkaClientMeters.bind(this.bridgeConfig, this.consumer.unwrap());
 
         if (shouldAttachBatchHandler)
             this.consumer.batchHandler(this::handleKafkaBatch);
@@ -395,6 +408,7 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
     private void setPartitionsAssignmentHandlers() {
         this.consumer.partitionsRevokedHandler(partitions -> {
 
+            RebalanceEvent rebalanceEvent = BridgeEvents.rebalance();
             log.debug("Partitions revoked {}", partitions.size());
 
             if (!partitions.isEmpty()) {
@@ -413,10 +427,14 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
             }
 
             this.handlePartitionsRevoked(partitions);
+            if (rebalanceEvent != null) {
+                rebalanceEvent.complete(this.groupId, this.name, false, BridgeEvents.topics(partitions), partitions.size());
+            }
         });
 
         this.consumer.partitionsAssignedHandler(partitions -> {
 
+            RebalanceEvent rebalanceEvent = BridgeEvents.rebalance();
             log.debug("Partitions assigned {}", partitions.size());
 
             if (!partitions.isEmpty()) {
@@ -429,6 +447,9 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
             }
 
             partitionsAssigned(partitions);
+            if (rebalanceEvent != null) {
+                rebalanceEvent.complete(this.groupId, this.name, true, BridgeEvents.topics(partitions), partitions.size());
+            }
         });
     }
 
@@ -463,7 +484,7 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
                     // 1. pause()
                     this.consumer.pause();
                     // 2. do the commit()
-                    this.consumer.commit(ar -> {
+                    this.consumer.commit(this.recordCommit(null, ar -> {
                         if (ar.failed()) {
                             log.error("Error committing ... {}", ar.cause().getMessage());
                             this.handleCommit(ar);
@@ -473,7 +494,7 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
                             // 4 resume processing messages
                             this.consumer.resume();
                         }
-                    });
+                    }));
                 } else {
                     // Otherwise: immediate send because the record's already committed
                     this.handleReceived(record);
@@ -521,7 +542,7 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
         });
 
         if (!offsets.isEmpty()) {
-            this.consumer.commit(kafkaOffsets, ar -> {
+            this.consumer.commit(kafkaOffsets, this.recordCommit(kafkaOffsets.keySet(), ar -> {
                 if (ar.succeeded()) {
                     this.offsetTracker.commit(offsets);
                     if (clear) {
@@ -535,8 +556,29 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
                 } else {
                     log.error("Error committing", ar.cause());
                 }
-            });
+            }));
+        }
+    }
+
+    /**
+     * Wrap the handler of a commit for recording the commit as a Flight Recorder event, if enabled
+     *
+     * @param partitions partitions of the committed offsets, null if all the consumed offsets are committed
+     * @param commitHandler handler of the commit result
+     * @return the handler recording the event and then calling the commit handler
+     */
+    private <T> Handler<AsyncResult<T>> recordCommit(Set<TopicPartition> partitions, Handler<AsyncResult<T>> commitHandler) {
+        CommitEvent commitEvent = BridgeEvents.commit();
+        if (commitEvent == null) {
+            return commitHandler;
         }
+        return ar -> {
+            commitEvent.complete(this.groupId, this.name, partitions != null ? BridgeEvents.topics(partitions) : null,
+                    partitions != null ? partitions.size() : -1, ar.succeeded());
+            if (commitHandler != null) {
+                commitHandler.handle(ar);
+            }
+        };
     }
 
     /**
@@ -553,6 +595,26 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
         this.consumer.resume();
     }
 
+    /**
+     * Pause fetching records from the provided partitions, without pausing the other ones
+     *
+     * @param partitions topic partitions to pause
+     */
+    protected void pause(Set<TopicPartition> partitions) {
+        this.consumer.pause(partitions)
+                .onFailure(t -> log.warn("Failed to pause partitions {}", partitions, t));
+    }
+
+    /**
+     * Resume fetching records from the provided partitions
+     *
+     * @param partitions topic partitions to resume
+     */
+    protected void resume(Set<TopicPartition> partitions) {
+        this.consumer.resume(partitions)
+                .onFailure(t -> log.warn("Failed to resume partitions {}", partitions, t));
+    }
+
     private boolean endOfBatch() {
         return this.recordIndex == this.batchSize - 1;
     }
@@ -712,11 +774,11 @@ public abstract class SinkBridgeEndpoint<K, V> implements BridgeEndpoint {
 
     protected void commit(Map<TopicPartition, io.vertx.kafka.client.consumer.OffsetAndMetadata> offsetsData, 
         Handler<AsyncResult<Map<TopicPartition, io.vertx.kafka.client.consumer.OffsetAndMetadata>>> commitOffsetsHandler) {
-        this.consumer.commit(offsetsData, commitOffsetsHandler);
+        this.consumer.commit(offsetsData, this.recordCommit(offsetsData.keySet(), commitOffsetsHandler));
     }
 
     protected void commit(Handler<AsyncResult<Void>> commitHandler) {
-        this.consumer.commit(commitHandler);
+        this.consumer.commit(this.recordCommit(null, commitHandler));
     }
 
     protected void seek(TopicPartition topicPartition, long offset, Handler<AsyncResult<Void>> seekHandler) {
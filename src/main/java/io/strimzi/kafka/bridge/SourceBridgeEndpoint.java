@@ -40,6 +40,8 @@ public abstract class SourceBridgeEndpoint<K, V> implements BridgeEndpoint {
 
     private KafkaProducer<K, V> producerUnsettledMode;
     private KafkaProducer<K, V> producerSettledMode;
+    private KafkaClientMeters producerUnsettledModeMeters;
+    private KafkaClientMeters producerSettledModeMeters;
 
     /**
      * Constructor
@@ -108,10 +110,12 @@ public abstract class SourceBridgeEndpoint<K, V> implements BridgeEndpoint {
         }
 
         this.producerUnsettledMode = KafkaProducer.create(this.vertx, props, this.keySerializer, this.valueSerializer);
+        this.producerUnsettledModeMeters = KafkaClientMeters.bind(this.bridgeConfig, this.producerUnsettledMode.unwrap());
 
         // overrides for AMQP - Kafka settled producer mode
         props.put(ProducerConfig.ACKS_CONFIG, "0");
         this.producerSettledMode = KafkaProducer.create(this.vertx, props, this.keySerializer, this.valueSerializer);
+        this.producerSettledModeMeters = KafkaClientMeters.bind(this.bridgeConfig, this.producerSettledMode.unwrap());
     }
 
     @Override
@@ -123,6 +127,12 @@ public abstract class SourceBridgeEndpoint<K, V> implements BridgeEndpoint {
         if (this.producerUnsettledMode != null)
             this.producerUnsettledMode.close();
 
+        if (this.producerSettledModeMeters != null)
+            this.producerSettledModeMeters.close();
+
+        if (this.producerUnsettledModeMeters != null)
+            this.producerUnsettledModeMeters.close();
+
         this.handleClose();
     }
 }
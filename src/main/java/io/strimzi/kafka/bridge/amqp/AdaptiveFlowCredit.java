@@ -0,0 +1,181 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.proton.ProtonReceiver;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.apache.kafka.common.errors.TimeoutException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive flow credit controller for a receiver link with unsettled deliveries.
+ * The credit window tracks the Kafka acknowledgement latency: it grows by about one credit
+ * for each window of acknowledged deliveries while the latency is stable, and it's halved
+ * (at most once per round trip) when the latency rises over the lowest observed one
+ * or the producer buffer is full. The window is always bounded by the configured min and max.
+ * It has to be used from the same event loop handling the receiver link, and closed when the link is closed
+ * for removing its metrics.
+ */
+public class AdaptiveFlowCredit {
+
+    // latency increase over the baseline considered as congestion of the produce path
+    private static final double LATENCY_TOLERANCE = 1.5;
+    // weight of a new sample in the latency moving average
+    private static final double LATENCY_WEIGHT = 0.2;
+    // how fast the baseline latency follows the moving average, for getting out of stale minimums
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final ProtonReceiver receiver;
+    // monotonic clock in nanoseconds
+    private final LongSupplier nanoClock;
+    private final int minCredit;
+    private final int maxCredit;
+
+    private double window;
+    // deliveries received and not acknowledged by Kafka yet
+    private int inFlight;
+    private double latency = -1;
+    private double baselineLatency = -1;
+    private long lastDecrease;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer latencyTimer;
+    private final Gauge creditGauge;
+
+    /**
+     * Constructor
+     *
+     * @param receiver Proton receiver link to give credit to
+     * @param initialCredit initial credit window
+     * @param minCredit minimum credit window
+     * @param maxCredit maximum credit window
+     * @param meterRegistry MeterRegistry instance for exposing credit and latency metrics, null if metrics are not enabled
+     */
+    public AdaptiveFlowCredit(ProtonReceiver receiver, int initialCredit, int minCredit, int maxCredit, MeterRegistry meterRegistry) {
+        this(receiver, initialCredit, minCredit, maxCredit, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param receiver Proton receiver link to give credit to
+     * @param initialCredit initial credit window
+     * @param minCredit minimum credit window
+     * @param maxCredit maximum credit window
+     * @param meterRegistry MeterRegistry instance for exposing credit and latency metrics, null if metrics are not enabled
+     * @param nanoClock monotonic clock in nanoseconds
+     */
+    AdaptiveFlowCredit(ProtonReceiver receiver, int initialCredit, int minCredit, int maxCredit, MeterRegistry meterRegistry,
+                       LongSupplier nanoClock) {
+        this.receiver = receiver;
+        this.nanoClock = nanoClock;
+        this.minCredit = minCredit;
+        this.maxCredit = Math.max(minCredit, maxCredit);
+        this.window = Math.min(this.maxCredit, Math.max(this.minCredit, initialCredit));
+        this.lastDecrease = nanoClock.getAsLong();
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            this.latencyTimer = Timer.builder("strimzi.bridge.amqp.flow.ack.latency")
+                    .description("Latency of the Kafka acknowledgements for the AMQP unsettled deliveries")
+                    .tag("link", receiver.getName())
+                    .register(meterRegistry);
+            this.creditGauge = Gauge.builder("strimzi.bridge.amqp.flow.credit", this, AdaptiveFlowCredit::window)
+                    .description("Credit window of the AMQP receiver links with adaptive flow credit")
+                    .tag("link", receiver.getName())
+                    .register(meterRegistry);
+        } else {
+            this.latencyTimer = null;
+            this.creditGauge = null;
+        }
+    }
+
+    /**
+     * Give the initial credit window to the receiver link
+     */
+    public void start() {
+        this.replenish();
+    }
+
+    /**
+     * Notify a delivery received on the link, waiting for the Kafka acknowledgement
+     */
+    public void received() {
+        this.inFlight++;
+    }
+
+    /**
+     * Notify deliveries acknowledged by Kafka (or settled without waiting for it), adjusting the window
+     * and giving back the credit to the receiver link
+     *
+     * @param count number of acknowledged deliveries
+     * @param latencyNanos acknowledgement latency in nanoseconds, negative if not waiting for Kafka
+     * @param failure failure sending to Kafka, null if none
+     */
+    public void acknowledged(int count, long latencyNanos, Throwable failure) {
+        this.inFlight = Math.max(0, this.inFlight - count);
+
+        if (latencyNanos >= 0) {
+            if (this.latencyTimer != null) {
+                this.latencyTimer.record(latencyNanos, TimeUnit.NANOSECONDS);
+            }
+            this.latency = this.latency < 0 ? latencyNanos : this.latency + LATENCY_WEIGHT * (latencyNanos - this.latency);
+            this.baselineLatency = this.baselineLatency < 0 ? latencyNanos :
+                    Math.min(latencyNanos, this.baselineLatency + BASELINE_DRIFT * (this.latency - this.baselineLatency));
+
+            if (this.isBufferFull(failure) || this.latency > this.baselineLatency * LATENCY_TOLERANCE) {
+                this.decrease();
+            } else {
+                this.window = Math.min(this.maxCredit, this.window + count / this.window);
+            }
+        }
+
+        if (this.receiver.isOpen()) {
+            this.replenish();
+        }
+    }
+
+    /**
+     * @return the current credit window
+     */
+    public int window() {
+        return (int) this.window;
+    }
+
+    /**
+     * Remove the metrics of the receiver link, when the link is closed
+     */
+    public void close() {
+        if (this.meterRegistry != null) {
+            this.meterRegistry.remove(this.latencyTimer);
+            this.meterRegistry.remove(this.creditGauge);
+        }
+    }
+
+    private void decrease() {
+        long now = this.nanoClock.getAsLong();
+        // at most once per round trip, the deliveries already in flight don't reflect the previous decrease
+        if (now - this.lastDecrease > this.latency) {
+            this.window = Math.max(this.minCredit, this.window / 2);
+            this.lastDecrease = now;
+        }
+    }
+
+    private boolean isBufferFull(Throwable failure) {
+        return failure instanceof BufferExhaustedException || failure instanceof TimeoutException;
+    }
+
+    private void replenish() {
+        int credit = (int) this.window - this.receiver.getCredit() - this.inFlight;
+        if (credit > 0) {
+            this.receiver.flow(credit);
+        }
+    }
+}
@@ -11,14 +11,13 @@ import io.strimzi.kafka.bridge.HealthCheckable;
 import io.strimzi.kafka.bridge.MetricsReporter;
 import io.strimzi.kafka.bridge.SinkBridgeEndpoint;
 import io.strimzi.kafka.bridge.SourceBridgeEndpoint;
-import io.strimzi.kafka.bridge.amqp.converter.AmqpDefaultMessageConverter;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
-import io.strimzi.kafka.bridge.converter.MessageConverter;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Promise;
 import io.vertx.core.net.PemKeyCertOptions;
 import io.vertx.core.net.PemTrustOptions;
+import io.vertx.core.net.SocketAddress;
 import io.vertx.proton.ProtonClient;
 import io.vertx.proton.ProtonClientOptions;
 import io.vertx.proton.ProtonConnection;
@@ -40,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -57,6 +57,12 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
     public static final String AMQP_OFFSET_ANNOTATION = "x-opt-bridge.offset";
     public static final String AMQP_TOPIC_ANNOTATION = "x-opt-bridge.topic";
 
+    // precomputed symbols for the AMQP message annotations
+    public static final Symbol AMQP_PARTITION_ANNOTATION_SYMBOL = Symbol.valueOf(AMQP_PARTITION_ANNOTATION);
+    public static final Symbol AMQP_KEY_ANNOTATION_SYMBOL = Symbol.valueOf(AMQP_KEY_ANNOTATION);
+    public static final Symbol AMQP_OFFSET_ANNOTATION_SYMBOL = Symbol.valueOf(AMQP_OFFSET_ANNOTATION);
+    public static final Symbol AMQP_TOPIC_ANNOTATION_SYMBOL = Symbol.valueOf(AMQP_TOPIC_ANNOTATION);
+
     // AMQP errors
     public static final String AMQP_ERROR_NO_PARTITIONS = "io.strimzi:no-free-partitions";
     public static final String AMQP_ERROR_NO_GROUPID = "io.strimzi:no-group-id";
@@ -74,6 +80,10 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
     public static final String AMQP_PARTITION_FILTER = "io.strimzi:partition-filter:int";
     public static final String AMQP_OFFSET_FILTER = "io.strimzi:offset-filter:long";
 
+    // precomputed symbols for the AMQP filters
+    public static final Symbol AMQP_PARTITION_FILTER_SYMBOL = Symbol.valueOf(AMQP_PARTITION_FILTER);
+    public static final Symbol AMQP_OFFSET_FILTER_SYMBOL = Symbol.valueOf(AMQP_OFFSET_FILTER);
+
     private final BridgeConfig bridgeConfig;
 
     // container-id needed for working in "client" mode
@@ -84,6 +94,7 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
     // AMQP client/server related stuff
     private ProtonServer server;
     private ProtonClient client;
+    private AmqpClientConnections clientConnections;
 
     // endpoints for handling incoming and outcoming messages
     private Map<ProtonConnection, ConnectionEndpoint> endpoints;
@@ -136,7 +147,7 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
     }
 
     /**
-     * Connect to an AMQP server/router
+     * Connect to the AMQP servers/routers
      *
      * @param startPromise
      */
@@ -144,21 +155,17 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
 
         this.client = ProtonClient.create(this.vertx);
 
-        String host = this.bridgeConfig.getAmqpConfig().getHost();
-        int port = this.bridgeConfig.getAmqpConfig().getPort();
+        AmqpConfig amqpConfig = this.bridgeConfig.getAmqpConfig();
+        List<SocketAddress> endpoints = amqpConfig.getEndpoints();
 
-        ProtonClientOptions options = this.createClientOptions();
+        this.clientConnections = new AmqpClientConnections(this.vertx, this.client, this.createClientOptions(), CONTAINER_ID,
+                amqpConfig, this::processConnection);
 
-        this.client.connect(options, host, port, ar -> {
+        this.clientConnections.start().onComplete(ar -> {
 
             if (ar.succeeded()) {
 
-                ProtonConnection connection = ar.result();
-                connection.setContainer(CONTAINER_ID);
-
-                this.processConnection(connection);
-
-                log.info("AMQP-Kafka Bridge started and connected in client mode to {}:{}", host, port);
+                log.info("AMQP-Kafka Bridge started and connected in client mode to {}", endpoints);
                 log.info("AMQP-Kafka Bridge bootstrap servers {}",
                         this.bridgeConfig.getKafkaConfig().getConfig()
                                 .get(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG)
@@ -198,6 +205,10 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
 
         this.isReady = false;
 
+        if (this.clientConnections != null) {
+            this.clientConnections.close();
+        }
+
         // for each connection, we have to close the connection itself but before that
         // all the sink/source endpoints (so the related links inside each of them)
         this.endpoints.forEach((connection, endpoint) -> {
@@ -224,6 +235,8 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
                     stopPromise.fail(done.cause());
                 }
             });
+        } else {
+            stopPromise.complete();
         }
     }
 
@@ -262,7 +275,8 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
 
         ProtonClientOptions options = new ProtonClientOptions();
         options.setConnectTimeout(1000);
-        options.setReconnectAttempts(-1).setReconnectInterval(1000); // reconnect forever, every 1000 millisecs
+        // reconnection with backoff handled by the client connections
+        options.setReconnectAttempts(0);
 
         if (this.bridgeConfig.getAmqpConfig().getCertDir() != null && this.bridgeConfig.getAmqpConfig().getCertDir().length() > 0) {
             String certDir = this.bridgeConfig.getAmqpConfig().getCertDir();
@@ -369,6 +383,9 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
             connection.close();
             this.endpoints.remove(connection);
         }
+        if (this.clientConnections != null) {
+            this.clientConnections.disconnected(connection);
+        }
     }
 
     /**
@@ -404,7 +421,8 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
         if (source == null) {
             // TODO: the AMQP client should be able to specify the format during link attachment
             source = new AmqpSourceBridgeEndpoint<>(this.vertx, this.bridgeConfig,
-                    EmbeddedFormat.JSON, new StringSerializer(), new ByteArraySerializer());
+                    EmbeddedFormat.JSON, new StringSerializer(), new ByteArraySerializer(),
+                    this.metricsReporter != null ? this.metricsReporter.getMeterRegistry() : null);
 
             source.closeHandler(s -> {
                 endpoint.setSource(null);
@@ -473,35 +491,6 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
         link.setSource(null).open().setCondition(error).close();
     }
 
-    /**
-     * Instantiate and return an AMQP message converter
-     *
-     * @param className message converter class name to instantiate
-     * @return an AMQP message converter instance
-     * @throws AmqpErrorConditionException
-     */
-    static MessageConverter<?, ?, ?, ?> instantiateConverter(String className) throws AmqpErrorConditionException {
-
-        if (className == null || className.isEmpty()) {
-            return (MessageConverter<?, ?, ?, ?>) new AmqpDefaultMessageConverter();
-        } else {
-            Object instance = null;
-            try {
-                instance = Class.forName(className).newInstance();
-            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException
-                    | RuntimeException e) {
-                log.debug("Could not instantiate message converter {}", className, e);
-                throw new AmqpErrorConditionException(AmqpBridge.AMQP_ERROR_CONFIGURATION, "configured message converter class could not be instantiated: " + className);
-            }
-
-            if (instance instanceof MessageConverter) {
-                return (MessageConverter<?, ?, ?, ?>) instance;
-            } else {
-                throw new AmqpErrorConditionException(AmqpBridge.AMQP_ERROR_CONFIGURATION, "configured message converter class is not an instanceof " + MessageConverter.class.getName() + ": " + className);
-            }
-        }
-    }
-
     @Override
     public boolean isAlive() {
         return this.isReady;
@@ -509,6 +498,7 @@ public class AmqpBridge extends AbstractVerticle implements HealthCheckable {
 
     @Override
     public boolean isReady() {
-        return this.isReady;
+        // in client mode, ready only while connected to at least one endpoint
+        return this.isReady && (this.clientConnections == null || this.clientConnections.connected() > 0);
     }
 }
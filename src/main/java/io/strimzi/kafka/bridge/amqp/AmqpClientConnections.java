@@ -0,0 +1,181 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.proton.ProtonClient;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Connections to a set of AMQP endpoints (i.e. the routers of a mesh) when the bridge works in client mode.
+ * A configured number of parallel connections is opened to each endpoint, all with the same container-id,
+ * so that the routers can distribute the links for the bridge across them.
+ * A connection failing or lost is re-established with an exponential backoff, without restarting the bridge;
+ * the links are attached again by the routers on the new connection.
+ * It has to be used from the same event loop which created it.
+ */
+public class AmqpClientConnections {
+
+    private static final Logger log = LoggerFactory.getLogger(AmqpClientConnections.class);
+
+    private final Vertx vertx;
+    private final ProtonClient client;
+    private final ProtonClientOptions options;
+    private final String containerId;
+    private final List<SocketAddress> endpoints;
+    private final int connectionsPerEndpoint;
+    private final long initialDelayMs;
+    private final long maxDelayMs;
+    private final Handler<ProtonConnection> connectionHandler;
+
+    private final List<Slot> slots = new ArrayList<>();
+    // currently established connections, with the related slot to reconnect on disconnection
+    private final Map<ProtonConnection, Slot> connections = new HashMap<>();
+    // number of established connections, read by the health checks out of the event loop
+    private volatile int connected;
+    private final Promise<Void> started = Promise.promise();
+    private boolean closed;
+
+    /**
+     * Connection to one of the endpoints, re-established when lost
+     */
+    private static class Slot {
+        private final SocketAddress endpoint;
+        private long delayMs;
+        private long timer = -1;
+
+        Slot(SocketAddress endpoint, long delayMs) {
+            this.endpoint = endpoint;
+            this.delayMs = delayMs;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param client Proton client used for connecting
+     * @param options options for the connections
+     * @param containerId container-id to set on each connection
+     * @param amqpConfig AMQP configuration with the endpoints, the connections to each of them and the reconnection delays
+     * @param connectionHandler handler called with each established connection, before opening it
+     */
+    public AmqpClientConnections(Vertx vertx, ProtonClient client, ProtonClientOptions options, String containerId,
+                                 AmqpConfig amqpConfig, Handler<ProtonConnection> connectionHandler) {
+        this.vertx = vertx;
+        this.client = client;
+        this.options = options;
+        this.containerId = containerId;
+        this.endpoints = amqpConfig.getEndpoints();
+        this.connectionsPerEndpoint = Math.max(1, amqpConfig.getConnectionsPerEndpoint());
+        this.initialDelayMs = Math.max(1, amqpConfig.getReconnectInitialDelayMs());
+        this.maxDelayMs = Math.max(this.initialDelayMs, amqpConfig.getReconnectMaxDelayMs());
+        this.connectionHandler = connectionHandler;
+    }
+
+    /**
+     * Start connecting to all the endpoints
+     *
+     * @return future completed when the first connection is established
+     */
+    public Future<Void> start() {
+        for (SocketAddress endpoint : this.endpoints) {
+            for (int i = 0; i < this.connectionsPerEndpoint; i++) {
+                Slot slot = new Slot(endpoint, this.initialDelayMs);
+                this.slots.add(slot);
+                this.connect(slot);
+            }
+        }
+        return this.started.future();
+    }
+
+    /**
+     * Notify that a connection was closed or lost, so that it's re-established
+     *
+     * @param connection the closed connection
+     */
+    public void disconnected(ProtonConnection connection) {
+        Slot slot = this.connections.remove(connection);
+        if (slot != null) {
+            this.connected = this.connections.size();
+            log.warn("AMQP connection to {} lost", slot.endpoint);
+            this.reconnect(slot);
+        }
+    }
+
+    /**
+     * @return the number of currently established connections, it can be called from any thread
+     */
+    public int connected() {
+        return this.connected;
+    }
+
+    /**
+     * Stop re-establishing the connections; closing them is up to the connection handler owner
+     */
+    public void close() {
+        this.closed = true;
+        for (Slot slot : this.slots) {
+            if (slot.timer != -1) {
+                this.vertx.cancelTimer(slot.timer);
+                slot.timer = -1;
+            }
+        }
+        this.connections.clear();
+        this.connected = 0;
+    }
+
+    private void connect(Slot slot) {
+        slot.timer = -1;
+        if (this.closed) {
+            return;
+        }
+        this.client.connect(this.options, slot.endpoint.host(), slot.endpoint.port(), ar -> {
+            if (this.closed) {
+                if (ar.succeeded()) {
+                    ar.result().disconnect();
+                }
+            } else if (ar.succeeded()) {
+                ProtonConnection connection = ar.result();
+                connection.setContainer(this.containerId);
+                slot.delayMs = this.initialDelayMs;
+                this.connections.put(connection, slot);
+                this.connected = this.connections.size();
+                log.info("AMQP connection to {} established", slot.endpoint);
+
+                this.connectionHandler.handle(connection);
+                this.started.tryComplete();
+            } else {
+                log.warn("Error connecting to {}: {}", slot.endpoint, ar.cause().getMessage());
+                this.reconnect(slot);
+            }
+        });
+    }
+
+    private void reconnect(Slot slot) {
+        if (this.closed || slot.timer != -1) {
+            return;
+        }
+        // random jitter, for avoiding all the connections to hit the endpoints at the same time
+        long delayMs = slot.delayMs / 2 + ThreadLocalRandom.current().nextLong(slot.delayMs / 2 + 1);
+        slot.delayMs = Math.min(this.maxDelayMs, slot.delayMs * 2);
+        log.info("Reconnecting to {} in {} ms", slot.endpoint, delayMs);
+        slot.timer = this.vertx.setTimer(Math.max(1, delayMs), t -> this.connect(slot));
+    }
+}
@@ -6,7 +6,11 @@
 package io.strimzi.kafka.bridge.amqp;
 
 import io.strimzi.kafka.bridge.config.AbstractConfig;
+import io.vertx.core.net.SocketAddress;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -21,17 +25,47 @@ public class AmqpConfig extends AbstractConfig {
     public static final String AMQP_MODE = AMQP_CONFIG_PREFIX + "mode";
     public static final String AMQP_HOST = AMQP_CONFIG_PREFIX + "host";
     public static final String AMQP_PORT = AMQP_CONFIG_PREFIX + "port";
+    public static final String AMQP_ENDPOINTS = AMQP_CONFIG_PREFIX + "endpoints";
+    public static final String AMQP_CONNECTIONS_PER_ENDPOINT = AMQP_CONFIG_PREFIX + "connectionsPerEndpoint";
+    public static final String AMQP_RECONNECT = AMQP_CONFIG_PREFIX + "reconnect";
+    public static final String AMQP_RECONNECT_INITIAL_DELAY_MS = AMQP_RECONNECT + ".initialDelayMs";
+    public static final String AMQP_RECONNECT_MAX_DELAY_MS = AMQP_RECONNECT + ".maxDelayMs";
     public static final String AMQP_FLOW_CREDIT = AMQP_CONFIG_PREFIX + "flowCredit";
+    public static final String AMQP_FLOW_CREDIT_ADAPTIVE = AMQP_FLOW_CREDIT + ".adaptive";
+    public static final String AMQP_FLOW_CREDIT_MIN = AMQP_FLOW_CREDIT + ".min";
+    public static final String AMQP_FLOW_CREDIT_MAX = AMQP_FLOW_CREDIT + ".max";
     public static final String AMQP_MESSAGE_CONVERTER = AMQP_CONFIG_PREFIX + "messageConverter";
+    public static final String AMQP_BODY_CODEC = AMQP_CONFIG_PREFIX + "bodyCodec";
     public static final String AMQP_CERT_DIR = AMQP_CONFIG_PREFIX + "certDir";
+    public static final String AMQP_HEADERS = AMQP_CONFIG_PREFIX + "headers";
+    public static final String AMQP_HEADERS_INCLUDE = AMQP_HEADERS + ".include";
+    public static final String AMQP_HEADERS_EXCLUDE = AMQP_HEADERS + ".exclude";
+    public static final String AMQP_SINK_BATCH_SIZE = AMQP_CONFIG_PREFIX + "sinkBatchSize";
+    public static final String AMQP_SINK_PARTITION_MAX_IN_FLIGHT = AMQP_CONFIG_PREFIX + "sinkPartitionMaxInFlight";
+    public static final String AMQP_SOURCE_BATCH_SIZE = AMQP_CONFIG_PREFIX + "sourceBatchSize";
+    public static final String AMQP_SOURCE_BATCH_LINGER_MS = AMQP_CONFIG_PREFIX + "sourceBatchLingerMs";
 
     public static final boolean DEFAULT_AMQP_ENABLED = false;
     public static final String DEFAULT_AMQP_MODE = "SERVER";
     public static final String DEFAULT_HOST = "0.0.0.0";
     public static final int DEFAULT_PORT = 5672;
+    public static final String DEFAULT_ENDPOINTS = "";
+    public static final int DEFAULT_CONNECTIONS_PER_ENDPOINT = 1;
+    public static final long DEFAULT_RECONNECT_INITIAL_DELAY_MS = 500;
+    public static final long DEFAULT_RECONNECT_MAX_DELAY_MS = 30000;
     public static final int DEFAULT_FLOW_CREDIT = 1024;
+    public static final boolean DEFAULT_FLOW_CREDIT_ADAPTIVE = false;
+    public static final int DEFAULT_FLOW_CREDIT_MIN = 10;
+    public static final int DEFAULT_FLOW_CREDIT_MAX = 10000;
     public static final String DEFAULT_MESSAGE_CONVERTER = "io.strimzi.kafka.bridge.amqp.converter.AmqpDefaultMessageConverter";
+    public static final String DEFAULT_BODY_CODEC = "java";
     public static final String DEFAULT_CERT_DIR = null;
+    public static final String DEFAULT_HEADERS_INCLUDE = "";
+    public static final String DEFAULT_HEADERS_EXCLUDE = "";
+    public static final int DEFAULT_SINK_BATCH_SIZE = 0;
+    public static final int DEFAULT_SINK_PARTITION_MAX_IN_FLIGHT = 0;
+    public static final int DEFAULT_SOURCE_BATCH_SIZE = 0;
+    public static final long DEFAULT_SOURCE_BATCH_LINGER_MS = 5;
 
     /**
      * Constructor
@@ -63,6 +97,27 @@ public class AmqpConfig extends AbstractConfig {
         return Integer.parseInt(this.config.getOrDefault(AMQP_FLOW_CREDIT, DEFAULT_FLOW_CREDIT).toString());
     }
 
+    /**
+     * @return if the AMQP receiver flow credit adapts to the Kafka acknowledgement latency (for unsettled senders)
+     */
+    public boolean isFlowCreditAdaptive() {
+        return Boolean.valueOf(this.config.getOrDefault(AMQP_FLOW_CREDIT_ADAPTIVE, DEFAULT_FLOW_CREDIT_ADAPTIVE).toString());
+    }
+
+    /**
+     * @return the minimum AMQP receiver flow credit, when adaptive
+     */
+    public int getFlowCreditMin() {
+        return Integer.parseInt(this.config.getOrDefault(AMQP_FLOW_CREDIT_MIN, DEFAULT_FLOW_CREDIT_MIN).toString());
+    }
+
+    /**
+     * @return the maximum AMQP receiver flow credit, when adaptive
+     */
+    public int getFlowCreditMax() {
+        return Integer.parseInt(this.config.getOrDefault(AMQP_FLOW_CREDIT_MAX, DEFAULT_FLOW_CREDIT_MAX).toString());
+    }
+
     /**
      * @return the host for AMQP client (to connect) or server (to bind)
      */
@@ -77,6 +132,50 @@ public class AmqpConfig extends AbstractConfig {
         return Integer.parseInt(this.config.getOrDefault(AMQP_PORT, DEFAULT_PORT).toString());
     }
 
+    /**
+     * @return the AMQP endpoints to connect to in client mode, from the comma separated list of host:port;
+     * if not set, the single endpoint with the configured host and port
+     */
+    public List<SocketAddress> getEndpoints() {
+        String endpoints = this.config.getOrDefault(AMQP_ENDPOINTS, DEFAULT_ENDPOINTS).toString().trim();
+        if (endpoints.isEmpty()) {
+            return Collections.singletonList(SocketAddress.inetSocketAddress(this.getPort(), this.getHost()));
+        }
+        List<SocketAddress> addresses = new ArrayList<>();
+        for (String endpoint : endpoints.split(",")) {
+            String address = endpoint.trim();
+            int index = address.lastIndexOf(':');
+            if (index <= 0 || index == address.length() - 1) {
+                throw new IllegalArgumentException("Invalid AMQP endpoint " + address + ", it has to be host:port");
+            }
+            // IPv6 address between square brackets
+            String host = address.substring(0, index).replace("[", "").replace("]", "");
+            addresses.add(SocketAddress.inetSocketAddress(Integer.parseInt(address.substring(index + 1)), host));
+        }
+        return addresses;
+    }
+
+    /**
+     * @return the number of parallel connections to each AMQP endpoint in client mode
+     */
+    public int getConnectionsPerEndpoint() {
+        return Integer.parseInt(this.config.getOrDefault(AMQP_CONNECTIONS_PER_ENDPOINT, DEFAULT_CONNECTIONS_PER_ENDPOINT).toString());
+    }
+
+    /**
+     * @return the delay in milliseconds before the first attempt to re-establish a connection in client mode
+     */
+    public long getReconnectInitialDelayMs() {
+        return Long.parseLong(this.config.getOrDefault(AMQP_RECONNECT_INITIAL_DELAY_MS, DEFAULT_RECONNECT_INITIAL_DELAY_MS).toString());
+    }
+
+    /**
+     * @return the maximum delay in milliseconds between the attempts to re-establish a connection in client mode
+     */
+    public long getReconnectMaxDelayMs() {
+        return Long.parseLong(this.config.getOrDefault(AMQP_RECONNECT_MAX_DELAY_MS, DEFAULT_RECONNECT_MAX_DELAY_MS).toString());
+    }
+
     /**
      * @return the AMQP message converter
      */
@@ -95,6 +194,14 @@ public class AmqpConfig extends AbstractConfig {
         return this;
     }
 
+    /**
+     * @return the codec used by the message converter for the AMQP values as lists, maps and arrays,
+     * "java" (default) for the Java serialization or "amqp" for the AMQP type encoding
+     */
+    public String getBodyCodec() {
+        return this.config.getOrDefault(AMQP_BODY_CODEC, DEFAULT_BODY_CODEC).toString();
+    }
+
     /**
      * @return the directory with the TLS certificates files
      */
@@ -102,6 +209,53 @@ public class AmqpConfig extends AbstractConfig {
         return (String) this.config.getOrDefault(AMQP_CERT_DIR, DEFAULT_CERT_DIR);
     }
 
+    /**
+     * @return the comma separated names (or prefixes ending with "*") of the Kafka headers mapped
+     * to and from AMQP application properties, empty (default) for not mapping any header
+     */
+    public String getHeadersInclude() {
+        return this.config.getOrDefault(AMQP_HEADERS_INCLUDE, DEFAULT_HEADERS_INCLUDE).toString();
+    }
+
+    /**
+     * @return the comma separated names (or prefixes ending with "*") of the Kafka headers never mapped
+     * to and from AMQP application properties, even if included
+     */
+    public String getHeadersExclude() {
+        return this.config.getOrDefault(AMQP_HEADERS_EXCLUDE, DEFAULT_HEADERS_EXCLUDE).toString();
+    }
+
+    /**
+     * @return the maximum number of Kafka records packed in a single AMQP message sent to receivers,
+     * 0 (default) for sending one AMQP message per Kafka record
+     */
+    public int getSinkBatchSize() {
+        return Integer.parseInt(this.config.getOrDefault(AMQP_SINK_BATCH_SIZE, DEFAULT_SINK_BATCH_SIZE).toString());
+    }
+
+    /**
+     * @return the maximum number of unsettled Kafka records for each partition sent to receivers,
+     * before pausing only that partition; 0 (default) for pausing the whole consumer when there's no link credit
+     */
+    public int getSinkPartitionMaxInFlight() {
+        return Integer.parseInt(this.config.getOrDefault(AMQP_SINK_PARTITION_MAX_IN_FLIGHT, DEFAULT_SINK_PARTITION_MAX_IN_FLIGHT).toString());
+    }
+
+    /**
+     * @return the maximum number of AMQP messages received from senders and sent to Kafka together,
+     * 0 (default) for sending each AMQP message on its own
+     */
+    public int getSourceBatchSize() {
+        return Integer.parseInt(this.config.getOrDefault(AMQP_SOURCE_BATCH_SIZE, DEFAULT_SOURCE_BATCH_SIZE).toString());
+    }
+
+    /**
+     * @return the maximum time in milliseconds to wait for filling a batch of received AMQP messages before sending it
+     */
+    public long getSourceBatchLingerMs() {
+        return Long.parseLong(this.config.getOrDefault(AMQP_SOURCE_BATCH_LINGER_MS, DEFAULT_SOURCE_BATCH_LINGER_MS).toString());
+    }
+
     /**
      * Loads AMQP related configuration parameters from a related map
      *
@@ -0,0 +1,123 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp;
+
+import io.strimzi.kafka.bridge.amqp.converter.AmqpBodyCodecConverter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpDefaultMessageConverter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpHeadersMapping;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpHeadersMappingConverter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpJsonMessageConverter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpRawMessageConverter;
+import io.strimzi.kafka.bridge.converter.BodyCodec;
+import io.strimzi.kafka.bridge.converter.MessageConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the AMQP message converters, resolving and validating the configured class only once.
+ * The converters provided by the bridge are shared across all the links, while a new instance
+ * of any other converter is created for each link
+ */
+final class AmqpMessageConverters {
+
+    private static final Logger log = LoggerFactory.getLogger(AmqpMessageConverters.class);
+
+    // message converters provided by the bridge, which are thread safe and can be shared across links
+    private static final Set<Class<?>> SHARED_CONVERTERS = new HashSet<>(Arrays.asList(
+            AmqpDefaultMessageConverter.class, AmqpJsonMessageConverter.class, AmqpRawMessageConverter.class));
+
+    // message converters factories, for each configured class name, headers mapping and body codec
+    private static final Map<String, Supplier<MessageConverter<?, ?, ?, ?>>> CONVERTERS = new ConcurrentHashMap<>();
+
+    private AmqpMessageConverters() {
+    }
+
+    /**
+     * Return an AMQP message converter for the configured class name.
+     * The converters supporting it are configured with the headers mapping and the body codec
+     *
+     * @param amqpConfig AMQP configuration with the message converter class name to instantiate
+     * @return an AMQP message converter instance
+     * @throws AmqpErrorConditionException if the converter or the body codec can't be instantiated
+     */
+    static MessageConverter<?, ?, ?, ?> instantiate(AmqpConfig amqpConfig) throws AmqpErrorConditionException {
+
+        String className = amqpConfig.getMessageConverter();
+        String name = className == null || className.isEmpty() ? AmqpDefaultMessageConverter.class.getName() : className;
+        String key = name + "|" + amqpConfig.getHeadersInclude() + "|" + amqpConfig.getHeadersExclude() + "|" + amqpConfig.getBodyCodec();
+
+        Supplier<MessageConverter<?, ?, ?, ?>> factory = CONVERTERS.get(key);
+        if (factory == null) {
+            // not cached on failure, so that the same error is raised on each link
+            factory = converterFactory(name, AmqpHeadersMapping.of(amqpConfig.getHeadersInclude(), amqpConfig.getHeadersExclude()),
+                    bodyCodec(amqpConfig.getBodyCodec()));
+            CONVERTERS.putIfAbsent(key, factory);
+        }
+        try {
+            return factory.get();
+        } catch (RuntimeException e) {
+            log.debug("Could not instantiate message converter {}", name, e);
+            throw new AmqpErrorConditionException(AmqpBridge.AMQP_ERROR_CONFIGURATION, "configured message converter class could not be instantiated: " + name);
+        }
+    }
+
+    private static BodyCodec bodyCodec(String name) throws AmqpErrorConditionException {
+        try {
+            return BodyCodec.create(name);
+        } catch (IllegalArgumentException e) {
+            throw new AmqpErrorConditionException(AmqpBridge.AMQP_ERROR_CONFIGURATION, "configured body codec is not supported: " + name);
+        }
+    }
+
+    private static Supplier<MessageConverter<?, ?, ?, ?>> converterFactory(String className, AmqpHeadersMapping headersMapping,
+                                                                           BodyCodec bodyCodec) throws AmqpErrorConditionException {
+
+        Constructor<?> constructor;
+        Object instance;
+        try {
+            constructor = Class.forName(className).getDeclaredConstructor();
+            instance = constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Could not instantiate message converter {}", className, e);
+            throw new AmqpErrorConditionException(AmqpBridge.AMQP_ERROR_CONFIGURATION, "configured message converter class could not be instantiated: " + className);
+        }
+
+        if (!(instance instanceof MessageConverter)) {
+            throw new AmqpErrorConditionException(AmqpBridge.AMQP_ERROR_CONFIGURATION, "configured message converter class is not an instanceof " + MessageConverter.class.getName() + ": " + className);
+        }
+
+        MessageConverter<?, ?, ?, ?> converter = configure((MessageConverter<?, ?, ?, ?>) instance, headersMapping, bodyCodec);
+        if (SHARED_CONVERTERS.contains(constructor.getDeclaringClass())) {
+            return () -> converter;
+        }
+        return () -> {
+            try {
+                return configure((MessageConverter<?, ?, ?, ?>) constructor.newInstance(), headersMapping, bodyCodec);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    private static MessageConverter<?, ?, ?, ?> configure(MessageConverter<?, ?, ?, ?> converter, AmqpHeadersMapping headersMapping,
+                                                          BodyCodec bodyCodec) {
+        if (converter instanceof AmqpHeadersMappingConverter) {
+            ((AmqpHeadersMappingConverter) converter).setHeadersMapping(headersMapping);
+        }
+        if (converter instanceof AmqpBodyCodecConverter) {
+            ((AmqpBodyCodecConverter) converter).setBodyCodec(bodyCodec);
+        }
+        return converter;
+    }
+}
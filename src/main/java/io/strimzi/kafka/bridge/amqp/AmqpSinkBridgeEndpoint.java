@@ -10,8 +10,11 @@ import io.strimzi.kafka.bridge.Endpoint;
 import io.strimzi.kafka.bridge.QoSEndpoint;
 import io.strimzi.kafka.bridge.SinkBridgeEndpoint;
 import io.strimzi.kafka.bridge.SinkTopicSubscription;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpBatchMessages;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
 import io.strimzi.kafka.bridge.converter.MessageConverter;
+import io.strimzi.kafka.bridge.jfr.AmqpSettleEvent;
+import io.strimzi.kafka.bridge.jfr.BridgeEvents;
 import io.strimzi.kafka.bridge.tracker.SimpleOffsetTracker;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
@@ -25,12 +28,19 @@ import io.vertx.proton.ProtonQoS;
 import io.vertx.proton.ProtonSender;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.Rejected;
 import org.apache.qpid.proton.amqp.messaging.Source;
 import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.message.Message;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -52,6 +62,18 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
     // sender link for handling outgoing message
     private ProtonSender sender;
 
+    // maximum number of records packed in a single AMQP message, 0 for no batching
+    private int sinkBatchSize;
+    // records waiting to be packed and sent in the next batch AMQP message
+    private List<KafkaConsumerRecord<K, V>> batchRecords = new ArrayList<>();
+
+    // maximum number of unsettled records for each partition before pausing it, 0 for no per partition flow control
+    private int partitionMaxInFlight;
+    // unsettled records for each partition
+    private final Map<TopicPartition, Integer> partitionsInFlight = new HashMap<>();
+    // partitions paused for having too many unsettled records
+    private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+
     public AmqpSinkBridgeEndpoint(Vertx vertx, BridgeConfig bridgeConfig,
                                   EmbeddedFormat format, Deserializer<K> keyDeserializer, Deserializer<V> valueDeserializer) {
         super(vertx, bridgeConfig, format, keyDeserializer, valueDeserializer);
@@ -65,15 +87,19 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
     @Override
     public void close() {
 
-        if (this.offsetTracker != null)
-            this.offsetTracker.clear();
-
         if (this.sender != null && this.sender.isOpen()) {
             this.sender.close();
         }
 
-        // close Kafka related stuff
+        // close Kafka related stuff, committing the offsets of the settled records first
         super.close();
+
+        if (this.offsetTracker != null)
+            this.offsetTracker.clear();
+
+        this.batchRecords.clear();
+        this.partitionsInFlight.clear();
+        this.pausedPartitions.clear();
     }
 
     @Override
@@ -89,7 +115,7 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
         try {
 
             if (this.converter == null) {
-                this.converter = (MessageConverter<K, V, Message, Collection<Message>>) AmqpBridge.instantiateConverter(amqpConfig.getMessageConverter());
+                this.converter = (MessageConverter<K, V, Message, Collection<Message>>) AmqpMessageConverters.instantiate(amqpConfig);
             }
 
             this.sender = (ProtonSender) link;
@@ -131,6 +157,8 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
                         });
                 this.sender.open();
 
+                BridgeEvents.amqpLink(this.name, address, BridgeEvents.ROLE_SENDER, true);
+
                 this.groupId = address.substring(groupIdIndex + AmqpSinkBridgeEndpoint.GROUP_ID_MATCH.length());
                 // replace unsupported "/" (in a topic name in Kafka) with "."
                 String topic = address.substring(0, groupIdIndex).replace('/', '.');
@@ -143,8 +171,8 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
                 Map<Symbol, Object> filters = source.getFilter();
 
                 if (filters != null) {
-                    Object partition = filters.get(Symbol.getSymbol(AmqpBridge.AMQP_PARTITION_FILTER));
-                    Object offset = filters.get(Symbol.getSymbol(AmqpBridge.AMQP_OFFSET_FILTER));
+                    Object partition = filters.get(AmqpBridge.AMQP_PARTITION_FILTER_SYMBOL);
+                    Object offset = filters.get(AmqpBridge.AMQP_OFFSET_FILTER_SYMBOL);
                     this.checkFilters(partition, offset);
 
                     log.debug("partition {} offset {}", partition, offset);
@@ -155,6 +183,9 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
                 // creating configuration for Kafka consumer
                 this.offsetTracker = new SimpleOffsetTracker(topicSubscription.getTopic());
                 this.qos = this.mapQoS(this.sender.getQoS());
+                this.sinkBatchSize = amqpConfig.getSinkBatchSize();
+                // only unsettled deliveries can be in flight
+                this.partitionMaxInFlight = this.sender.getQoS() == ProtonQoS.AT_LEAST_ONCE ? amqpConfig.getSinkPartitionMaxInFlight() : 0;
 
                 this.initConsumer(true, null);
                 // Set up flow control
@@ -166,7 +197,11 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
                 this.setPartitionHandler(this::partitionHandler);
                 this.setAssignHandler(this::assignHandler);
                 this.setSeekHandler(this::seekHandler);
-                this.setReceivedHandler(this::sendAmqpMessage);
+                if (this.sinkBatchSize > 0) {
+                    this.setReceivedHandler(this::batchAmqpMessage);
+                } else {
+                    this.setReceivedHandler(this::sendAmqpMessage);
+                }
                 this.setCommitHandler(this::commitHandler);
 
                 this.flowCheck();
@@ -235,14 +270,18 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
 
             // record (converted in AMQP message) is on the way ... ask to tracker to track its delivery
             this.offsetTracker.track(partition, offset, record.record());
+            TopicPartition topicPartition = this.partitionSent(record.topic(), partition, 1);
 
             log.debug("Tracked {} - {} [{}]", record.topic(), record.partition(), record.offset());
 
+            AmqpSettleEvent settleEvent = BridgeEvents.amqpSettle();
             this.sender.send(ProtonHelper.tag(deliveryTag), message, delivery -> {
+                BridgeEvents.amqpSenderSettled(settleEvent, this.name, record, delivery.getRemoteState() instanceof Rejected);
 
                 // a record (converted in AMQP message) is delivered ... communicate it to the tracker
                 String tag = new String(delivery.getTag(), StandardCharsets.UTF_8);
                 this.offsetTracker.delivered(partition, offset);
+                this.partitionDelivered(topicPartition, 1);
 
                 log.debug("Message tag {} delivered {} to {}", tag, delivery.getRemoteState(), this.sender.getSource().getAddress());
             });
@@ -252,6 +291,75 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
         flowCheck();
     }
 
+    /**
+     * Add the received Kafka consumer record to the next batch AMQP message, sending it when full.
+     * The records coming from the same poll are handled in a row, so the batch is sent
+     * after them even if not full.
+     *
+     * @param record Kafka consumer record
+     */
+    private void batchAmqpMessage(KafkaConsumerRecord<K, V> record) {
+        this.batchRecords.add(record);
+        if (this.batchRecords.size() >= this.sinkBatchSize) {
+            this.sendAmqpBatch();
+        } else if (this.batchRecords.size() == 1) {
+            this.vertx.runOnContext(v -> this.sendAmqpBatch());
+        }
+    }
+
+    /**
+     * Send the pending Kafka consumer records packed in a single AMQP message to the AMQP receiver.
+     * Each record is converted on its own by the message converter, then packed in the batch message.
+     * With AT_LEAST_ONCE, the settlement of the message settles all the records it carries.
+     */
+    private void sendAmqpBatch() {
+        if (this.batchRecords.isEmpty() || !this.sender.isOpen()) {
+            return;
+        }
+        List<KafkaConsumerRecord<K, V>> records = this.batchRecords;
+        this.batchRecords = new ArrayList<>();
+
+        boolean atLeastOnce = this.sender.getQoS() == ProtonQoS.AT_LEAST_ONCE;
+        // highest offset for each partition in the batch, to be notified to the tracker on delivery
+        Map<Integer, Long> lastOffsets = new HashMap<>();
+        Map<org.apache.kafka.common.TopicPartition, Integer> partitionRecords = new LinkedHashMap<>();
+        for (KafkaConsumerRecord<K, V> record : records) {
+            lastOffsets.merge(record.partition(), record.offset(), Math::max);
+            partitionRecords.merge(new org.apache.kafka.common.TopicPartition(record.topic(), record.partition()), 1, Integer::sum);
+            if (atLeastOnce) {
+                this.offsetTracker.track(record.partition(), record.offset(), record.record());
+            }
+        }
+
+        // records in the batch for each partition, to be notified as settled on delivery
+        Map<TopicPartition, Integer> partitionCounts = new HashMap<>();
+        if (atLeastOnce) {
+            partitionRecords.forEach((tp, count) -> partitionCounts.put(this.partitionSent(tp.topic(), tp.partition(), count), count));
+        }
+
+        KafkaConsumerRecord<K, V> first = records.get(0);
+        String deliveryTag = first.partition() + "_" + first.offset() + "+" + records.size();
+        for (Message message : AmqpBatchMessages.pack(records, record -> this.converter.toMessage(null, record))) {
+            message.setAddress(this.sender.getSource().getAddress());
+            if (atLeastOnce) {
+                AmqpSettleEvent settleEvent = BridgeEvents.amqpSettle();
+                this.sender.send(ProtonHelper.tag(deliveryTag), message, delivery -> {
+                    BridgeEvents.amqpSenderSettled(settleEvent, this.name, records, delivery.getRemoteState() instanceof Rejected);
+
+                    // the batch is delivered ... communicate the last offset for each partition to the tracker
+                    lastOffsets.forEach(this.offsetTracker::delivered);
+                    partitionCounts.forEach(this::partitionDelivered);
+
+                    log.debug("Batch tag {} delivered {} to {}", deliveryTag, delivery.getRemoteState(), this.sender.getSource().getAddress());
+                });
+            } else {
+                this.sender.send(ProtonHelper.tag(deliveryTag), message);
+            }
+        }
+
+        flowCheck();
+    }
+
     /**
      * Pause the consumer if there's no send credit on the sender.
      */
@@ -264,12 +372,52 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
         }
     }
 
+    /**
+     * Count the records sent to the receiver and waiting for settlement on a partition,
+     * pausing only that partition when it reaches the maximum number of unsettled records
+     *
+     * @param topic topic of the sent records
+     * @param partition partition of the sent records
+     * @param count number of sent records
+     * @return the topic partition of the sent records
+     */
+    private TopicPartition partitionSent(String topic, int partition, int count) {
+        TopicPartition topicPartition = new TopicPartition(topic, partition);
+        if (this.partitionMaxInFlight > 0) {
+            int inFlight = this.partitionsInFlight.merge(topicPartition, count, Integer::sum);
+            if (inFlight >= this.partitionMaxInFlight && this.pausedPartitions.add(topicPartition)) {
+                log.debug("Pausing partition {} with {} unsettled records", topicPartition, inFlight);
+                this.pause(Collections.singleton(topicPartition));
+            }
+        }
+        return topicPartition;
+    }
+
+    /**
+     * Count the records settled by the receiver on a partition, resuming the partition
+     * once it's down to half of the maximum number of unsettled records
+     *
+     * @param topicPartition topic partition of the settled records
+     * @param count number of settled records
+     */
+    private void partitionDelivered(TopicPartition topicPartition, int count) {
+        if (this.partitionMaxInFlight > 0) {
+            Integer inFlight = this.partitionsInFlight.computeIfPresent(topicPartition, (tp, c) -> c > count ? c - count : null);
+            if ((inFlight == null || inFlight <= this.partitionMaxInFlight / 2) && this.pausedPartitions.remove(topicPartition)) {
+                log.debug("Resuming partition {}", topicPartition);
+                this.resume(Collections.singleton(topicPartition));
+            }
+        }
+    }
+
     /**
      * Handle for detached link by the remote receiver
      * @param sender Proton sender instance
      */
     private void processCloseSender(ProtonSender sender) {
         log.info("Remote AMQP receiver detached");
+        BridgeEvents.amqpLink(sender.getName(), sender.getSource() != null ? sender.getSource().getAddress() : null,
+                BridgeEvents.ROLE_SENDER, false);
         this.close();
     }
 
@@ -310,7 +458,11 @@ public class AmqpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
     }
 
     private void partitionsRevokedHandler(Set<TopicPartition> partitions) {
-
+        // on a new assignment the partitions are not paused anymore
+        for (TopicPartition partition : partitions) {
+            this.partitionsInFlight.remove(partition);
+            this.pausedPartitions.remove(partition);
+        }
     }
 
     private void partitionsAssignedHandler(Set<TopicPartition> partitions) {
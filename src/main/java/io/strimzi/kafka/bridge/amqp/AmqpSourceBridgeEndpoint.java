@@ -5,12 +5,18 @@
 
 package io.strimzi.kafka.bridge.amqp;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.strimzi.kafka.bridge.EmbeddedFormat;
 import io.strimzi.kafka.bridge.Endpoint;
 import io.strimzi.kafka.bridge.SourceBridgeEndpoint;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
 import io.strimzi.kafka.bridge.converter.MessageConverter;
+import io.strimzi.kafka.bridge.jfr.AmqpSettleEvent;
+import io.strimzi.kafka.bridge.jfr.BridgeEvents;
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
 import io.vertx.kafka.client.producer.RecordMetadata;
@@ -22,11 +28,15 @@ import org.apache.kafka.common.serialization.Serializer;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Rejected;
+import org.apache.qpid.proton.amqp.messaging.Released;
 import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.message.Message;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,21 +51,50 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
     // receiver link for handling incoming message
     private Map<String, ProtonReceiver> receivers;
 
+    // adaptive flow credit controller for each receiver link with unsettled deliveries, if enabled
+    private Map<String, AdaptiveFlowCredit> flowCredits = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    // maximum number of received messages sent to Kafka together, 0 for no batching
+    private int batchSize;
+    // maximum time to wait for filling a batch
+    private long batchLingerMs;
+    // batch of received messages waiting to be sent, for each receiver link
+    private Map<String, IngestionBatch> batches = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param bridgeConfig bridge configuration
+     * @param format embedded format for the key/value in the Kafka message
+     * @param keySerializer Kafka serializer for the message key
+     * @param valueSerializer Kafka serializer for the message value
+     * @param meterRegistry MeterRegistry instance for exposing the flow credit metrics, null if metrics are not enabled
+     */
     public AmqpSourceBridgeEndpoint(Vertx vertx, BridgeConfig bridgeConfig,
-                                    EmbeddedFormat format, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+                                    EmbeddedFormat format, Serializer<K> keySerializer, Serializer<V> valueSerializer,
+                                    MeterRegistry meterRegistry) {
         super(vertx, bridgeConfig, format, keySerializer, valueSerializer);
         this.receivers = new HashMap<>();
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void close() {
 
+        // the messages not sent to Kafka yet are released before detaching the links
+        this.batches.values().forEach(this::releaseBatch);
+        this.batches.clear();
+
         if (this.receivers != null) {
             this.receivers.forEach((name, receiver) -> {
                 receiver.close();
             });
             this.receivers.clear();
         }
+        this.flowCredits.values().forEach(AdaptiveFlowCredit::close);
+        this.flowCredits.clear();
 
         // close Kafka related stuff
         super.close();
@@ -73,7 +112,7 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
 
         if (this.converter == null) {
             try {
-                this.converter = (MessageConverter<K, V, Message, Collection<Message>>) AmqpBridge.instantiateConverter(amqpConfig.getMessageConverter());
+                this.converter = (MessageConverter<K, V, Message, Collection<Message>>) AmqpMessageConverters.instantiate(amqpConfig);
             } catch (AmqpErrorConditionException e) {
                 AmqpBridge.detachWithError(link, e.toCondition());
                 return;
@@ -82,6 +121,8 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
 
         ProtonReceiver receiver = (ProtonReceiver) link;
         this.name = receiver.getName();
+        this.batchSize = amqpConfig.getSourceBatchSize();
+        this.batchLingerMs = amqpConfig.getSourceBatchLingerMs();
 
         // the delivery state is related to the acknowledgement from Apache Kafka
         receiver.setTarget(receiver.getRemoteTarget())
@@ -95,28 +136,56 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
                     this.processCloseReceiver(receiver);
                 })
                 .handler((delivery, message) -> {
-                    this.processMessage(receiver, delivery, message);
+                    AdaptiveFlowCredit flowCredit = this.flowCredits.get(receiver.getName());
+                    if (flowCredit != null) {
+                        flowCredit.received();
+                    }
+                    if (this.batchSize > 0) {
+                        this.batchMessage(receiver, delivery, message);
+                    } else {
+                        this.processMessage(receiver, delivery, message);
+                    }
                 });
 
+        this.setupFlowCredit(receiver, amqpConfig);
+
+        receiver.open();
+
+        this.receivers.put(receiver.getName(), receiver);
+
+        BridgeEvents.amqpLink(receiver.getName(), receiver.getTarget().getAddress(), BridgeEvents.ROLE_RECEIVER, true);
+    }
+
+    @Override
+    public void handle(Endpoint<?> endpoint, Handler<?> handler) {
+
+    }
+
+    /**
+     * Set up the flow control on the receiver link, depending on the QoS requested by the remote sender
+     *
+     * @param receiver Proton receiver instance
+     * @param amqpConfig AMQP configuration
+     */
+    private void setupFlowCredit(ProtonReceiver receiver, AmqpConfig amqpConfig) {
         if (receiver.getRemoteQoS() == ProtonQoS.AT_MOST_ONCE) {
             // sender settle mode is SETTLED (so AT_MOST_ONCE QoS), we assume Apache Kafka
             // no problem in throughput terms so use prefetch due to no ack from Kafka server
             receiver.setPrefetch(amqpConfig.getFlowCredit());
+        } else if (amqpConfig.isFlowCreditAdaptive()) {
+            // sender settle mode is UNSETTLED (or MIXED) (so AT_LEAST_ONCE QoS).
+            // The credit follows the latency of the acks from Kafka server
+            receiver.setPrefetch(0);
+            AdaptiveFlowCredit flowCredit = new AdaptiveFlowCredit(receiver, amqpConfig.getFlowCredit(),
+                    amqpConfig.getFlowCreditMin(), amqpConfig.getFlowCreditMax(), this.meterRegistry);
+            this.flowCredits.put(receiver.getName(), flowCredit);
+            flowCredit.start();
         } else {
             // sender settle mode is UNSETTLED (or MIXED) (so AT_LEAST_ONCE QoS).
             // Thanks to the ack from Kafka server we can modulate flow control
             receiver.setPrefetch(0)
                     .flow(amqpConfig.getFlowCredit());
         }
-
-        receiver.open();
-
-        this.receivers.put(receiver.getName(), receiver);
-    }
-
-    @Override
-    public void handle(Endpoint<?> endpoint, Handler<?> handler) {
-
     }
 
     /**
@@ -167,11 +236,17 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
 
             // message settled (by sender), no feedback need by Apache Kafka, no disposition to be sent
             this.send(krecord, null);
+            this.acknowledged(receiver, 1, -1, null);
 
         } else {
             // message unsettled (by sender), feedback needed by Apache Kafka, disposition to be sent accordingly
+            long start = System.nanoTime();
+            AmqpSettleEvent settleEvent = BridgeEvents.amqpSettle();
             this.send(krecord, writeResult -> {
 
+                this.acknowledged(receiver, 1, start, writeResult.cause());
+                BridgeEvents.amqpReceiverSettled(settleEvent, receiver.getName(), kafkaTopic, krecord, writeResult.failed());
+
                 if (writeResult.failed()) {
 
                     Throwable exception = writeResult.cause();
@@ -190,6 +265,191 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
         }
     }
 
+    /**
+     * Add the message received on the related receiver link to the current batch,
+     * sending the batch when full or when the linger time expires
+     *
+     * @param receiver Proton receiver instance
+     * @param delivery Proton delivery instance
+     * @param message AMQP message received
+     */
+    private void batchMessage(ProtonReceiver receiver, ProtonDelivery delivery, Message message) {
+
+        IngestionBatch batch = this.batches.computeIfAbsent(receiver.getName(), name -> new IngestionBatch());
+        batch.deliveries.add(delivery);
+        batch.messages.add(message);
+
+        if (batch.messages.size() >= this.batchSize) {
+            this.processBatch(receiver);
+        } else if (batch.messages.size() == 1) {
+            batch.timer = this.vertx.setTimer(this.batchLingerMs, t -> {
+                batch.timer = -1;
+                this.processBatch(receiver);
+            });
+        }
+    }
+
+    /**
+     * Send the current batch of messages received on the related receiver link.
+     * The dispositions for the unsettled deliveries are sent together when all the records are
+     * acknowledged by Kafka, replenishing the credit for the whole batch at once
+     *
+     * @param receiver Proton receiver instance
+     */
+    @SuppressWarnings("rawtypes")
+    private void processBatch(ProtonReceiver receiver) {
+
+        IngestionBatch batch = this.batches.remove(receiver.getName());
+        if (batch == null) {
+            return;
+        }
+        this.cancelBatch(batch);
+
+        // replace unsupported "/" (in a topic name in Kafka) with "."
+        String kafkaTopic = (receiver.getTarget().getAddress() != null) ?
+                receiver.getTarget().getAddress().replace('/', '.') :
+                null;
+
+        long start = System.nanoTime();
+        List<Future> sendHandlers = this.sendBatch(receiver.getName(), kafkaTopic, batch);
+        AmqpSettleEvent settleEvent = BridgeEvents.amqpSettle();
+
+        CompositeFuture.join(sendHandlers).onComplete(done -> {
+
+            int rejected = this.settleBatch(receiver.getName(), batch, sendHandlers);
+            log.debug("Batch of {} deliveries sent on link {} [{} rejected]", sendHandlers.size(), receiver.getName(), Math.max(rejected, 0));
+            if (rejected >= 0) {
+                BridgeEvents.amqpReceiverSettled(settleEvent, receiver.getName(), kafkaTopic, sendHandlers.size(), rejected, batch.records);
+            }
+            this.replenishCredit(receiver, sendHandlers.size(), rejected >= 0 ? start : -1, done.cause());
+        });
+    }
+
+    /**
+     * Convert the messages of a batch and send the records to Kafka
+     *
+     * @param linkName AMQP link name
+     * @param kafkaTopic topic to which the records are sent
+     * @param batch batch of messages to send
+     * @return the futures completed when each record is acknowledged by Kafka, already completed for the settled deliveries
+     */
+    @SuppressWarnings("rawtypes")
+    private List<Future> sendBatch(String linkName, String kafkaTopic, IngestionBatch batch) {
+
+        List<Future> sendHandlers = new ArrayList<>(batch.deliveries.size());
+        try {
+            batch.records = this.converter.toKafkaRecords(kafkaTopic, null, batch.messages);
+            for (int i = 0; i < batch.records.size(); i++) {
+                if (batch.deliveries.get(i).remotelySettled()) {
+                    // message settled (by sender), no feedback need by Apache Kafka
+                    this.send(batch.records.get(i), null);
+                    sendHandlers.add(Future.succeededFuture());
+                } else {
+                    Promise<RecordMetadata> promise = Promise.promise();
+                    this.send(batch.records.get(i), promise);
+                    sendHandlers.add(promise.future());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error converting batch on link {}", linkName, e);
+            sendHandlers.clear();
+            batch.deliveries.forEach(delivery -> sendHandlers.add(Future.failedFuture(e)));
+        }
+        return sendHandlers;
+    }
+
+    /**
+     * Send the dispositions for the unsettled deliveries of a batch, when all the records are acknowledged by Kafka
+     *
+     * @param linkName AMQP link name
+     * @param batch batch of sent messages
+     * @param sendHandlers futures completed when each record was acknowledged by Kafka
+     * @return the number of rejected deliveries, -1 if all the deliveries were settled by the sender
+     */
+    @SuppressWarnings("rawtypes")
+    private int settleBatch(String linkName, IngestionBatch batch, List<Future> sendHandlers) {
+
+        int rejected = -1;
+        for (int i = 0; i < sendHandlers.size(); i++) {
+            ProtonDelivery delivery = batch.deliveries.get(i);
+            if (delivery.remotelySettled()) {
+                continue;
+            }
+            rejected = Math.max(rejected, 0);
+            if (sendHandlers.get(i).succeeded()) {
+                delivery.disposition(Accepted.getInstance(), true);
+            } else {
+                this.rejectedDelivery(linkName, delivery, sendHandlers.get(i).cause());
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Give back the credit for deliveries acknowledged by Kafka, through the adaptive flow credit controller
+     * of the receiver link if any, or directly when not using prefetch
+     *
+     * @param receiver Proton receiver instance
+     * @param count number of acknowledged deliveries
+     * @param start time when the deliveries were sent to Kafka, negative if not waiting for the Kafka acknowledgement
+     * @param failure failure sending to Kafka, null if none
+     */
+    private void replenishCredit(ProtonReceiver receiver, int count, long start, Throwable failure) {
+        if (this.flowCredits.containsKey(receiver.getName())) {
+            this.acknowledged(receiver, count, start, failure);
+        } else if (receiver.isOpen() && receiver.getPrefetch() == 0) {
+            receiver.flow(count);
+        }
+    }
+
+    /**
+     * Notify the adaptive flow credit controller of the receiver link (if any) about acknowledged deliveries
+     *
+     * @param receiver Proton receiver instance
+     * @param count number of acknowledged deliveries
+     * @param start time when the deliveries were sent to Kafka, negative if not waiting for the Kafka acknowledgement
+     * @param failure failure sending to Kafka, null if none
+     */
+    private void acknowledged(ProtonReceiver receiver, int count, long start, Throwable failure) {
+        AdaptiveFlowCredit flowCredit = this.flowCredits.get(receiver.getName());
+        if (flowCredit != null) {
+            flowCredit.acknowledged(count, start < 0 ? -1 : System.nanoTime() - start, failure);
+        }
+    }
+
+    private void cancelBatch(IngestionBatch batch) {
+        if (batch.timer != -1) {
+            this.vertx.cancelTimer(batch.timer);
+            batch.timer = -1;
+        }
+    }
+
+    /**
+     * Release the deliveries of a batch not sent to Kafka, so that the sender can deliver the messages again
+     *
+     * @param batch batch of messages not sent
+     */
+    private void releaseBatch(IngestionBatch batch) {
+        this.cancelBatch(batch);
+        for (ProtonDelivery delivery : batch.deliveries) {
+            if (!delivery.remotelySettled()) {
+                delivery.disposition(Released.getInstance(), true);
+            }
+        }
+    }
+
+    /**
+     * Messages received on a receiver link, waiting to be sent to Kafka together
+     */
+    private class IngestionBatch {
+
+        private final List<ProtonDelivery> deliveries = new ArrayList<>();
+        private final List<Message> messages = new ArrayList<>();
+        private List<KafkaProducerRecord<K, V>> records = Collections.emptyList();
+        private long timer = -1;
+    }
+
     /**
      * Handle for detached link by the remote sender
      * @param receiver Proton receiver instance
@@ -198,9 +458,20 @@ public class AmqpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
 
         log.info("Remote AMQP sender detached");
 
-        // close and remove the receiver link
+        BridgeEvents.amqpLink(receiver.getName(), receiver.getTarget() != null ? receiver.getTarget().getAddress() : null,
+                BridgeEvents.ROLE_RECEIVER, false);
+
+        // release the messages not sent to Kafka yet, then close and remove the receiver link
+        IngestionBatch batch = this.batches.remove(receiver.getName());
+        if (batch != null) {
+            this.releaseBatch(batch);
+        }
         receiver.close();
         this.receivers.remove(receiver.getName());
+        AdaptiveFlowCredit flowCredit = this.flowCredits.remove(receiver.getName());
+        if (flowCredit != null) {
+            flowCredit.close();
+        }
 
         // if the source endpoint has no receiver links, it can be closed
         if (this.receivers.isEmpty()) {
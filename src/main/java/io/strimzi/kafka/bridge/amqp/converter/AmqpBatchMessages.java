@@ -0,0 +1,109 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.AmqpSequence;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
+import org.apache.qpid.proton.amqp.messaging.Section;
+import org.apache.qpid.proton.message.Message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Packs many Kafka records into a single AMQP message (batched delivery).
+ * The body of the batch message is an AMQP sequence with one map entry for each record;
+ * each entry has the same message annotations of the single record message
+ * (partition, offset, key, topic, ...), the application properties (if any) and the body section value.
+ * The batch message has an annotation with the number of records it carries.
+ */
+public final class AmqpBatchMessages {
+
+    public static final String AMQP_BATCH_COUNT_ANNOTATION = "x-opt-bridge.batch-count";
+    public static final String AMQP_BATCH_BODY = "x-opt-bridge.body";
+    public static final String AMQP_BATCH_APPLICATION_PROPERTIES = "x-opt-bridge.application-properties";
+
+    private static final Symbol BATCH_COUNT = Symbol.valueOf(AMQP_BATCH_COUNT_ANNOTATION);
+    private static final Symbol BODY = Symbol.valueOf(AMQP_BATCH_BODY);
+    private static final Symbol APPLICATION_PROPERTIES = Symbol.valueOf(AMQP_BATCH_APPLICATION_PROPERTIES);
+
+    private AmqpBatchMessages() {
+    }
+
+    /**
+     * Pack the records into a single AMQP message
+     *
+     * @param records Kafka records to pack
+     * @param converter converter from a single Kafka record to the related AMQP message
+     * @param <K> type of Kafka record key
+     * @param <V> type of Kafka record value
+     * @return collection with the batch AMQP message
+     */
+    public static <K, V> Collection<Message> pack(KafkaConsumerRecords<K, V> records, Function<KafkaConsumerRecord<K, V>, Message> converter) {
+        List<KafkaConsumerRecord<K, V>> list = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            list.add(records.recordAt(i));
+        }
+        return pack(list, converter);
+    }
+
+    /**
+     * Pack the records into a single AMQP message
+     *
+     * @param records Kafka records to pack
+     * @param converter converter from a single Kafka record to the related AMQP message
+     * @param <K> type of Kafka record key
+     * @param <V> type of Kafka record value
+     * @return collection with the batch AMQP message
+     */
+    public static <K, V> Collection<Message> pack(List<KafkaConsumerRecord<K, V>> records, Function<KafkaConsumerRecord<K, V>, Message> converter) {
+
+        List<Object> entries = new ArrayList<>(records.size());
+        for (KafkaConsumerRecord<K, V> record : records) {
+            Message message = converter.apply(record);
+
+            Map<Symbol, Object> entry = new HashMap<>();
+            if (message.getMessageAnnotations() != null) {
+                entry.putAll(message.getMessageAnnotations().getValue());
+            }
+            if (message.getApplicationProperties() != null) {
+                entry.put(APPLICATION_PROPERTIES, message.getApplicationProperties().getValue());
+            }
+            entry.put(BODY, bodyValue(message.getBody()));
+            entries.add(entry);
+        }
+
+        Map<Symbol, Object> annotations = new HashMap<>();
+        annotations.put(BATCH_COUNT, records.size());
+
+        Message batch = Proton.message();
+        batch.setMessageAnnotations(new MessageAnnotations(annotations));
+        batch.setBody(new AmqpSequence(entries));
+        return Collections.singletonList(batch);
+    }
+
+    private static Object bodyValue(Section body) {
+        if (body instanceof Data) {
+            return ((Data) body).getValue();
+        } else if (body instanceof AmqpValue) {
+            return ((AmqpValue) body).getValue();
+        } else if (body instanceof AmqpSequence) {
+            return ((AmqpSequence) body).getValue();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+import io.strimzi.kafka.bridge.converter.BodyCodec;
+
+/**
+ * Message converter encoding the AMQP values as lists, maps and arrays through a configurable {@link BodyCodec}
+ */
+public interface AmqpBodyCodecConverter {
+
+    /**
+     * Set the codec for the AMQP values as lists, maps and arrays.
+     * It's set once, before the converter is used
+     *
+     * @param bodyCodec the body codec
+     */
+    void setBodyCodec(BodyCodec bodyCodec);
+}
@@ -6,11 +6,13 @@
 package io.strimzi.kafka.bridge.amqp.converter;
 
 import io.strimzi.kafka.bridge.amqp.AmqpBridge;
-import io.strimzi.kafka.bridge.converter.DefaultSerializer;
+import io.strimzi.kafka.bridge.converter.BodyCodec;
+import io.strimzi.kafka.bridge.converter.JavaSerializationBodyCodec;
 import io.strimzi.kafka.bridge.converter.MessageConverter;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import org.apache.kafka.common.header.Header;
 import org.apache.qpid.proton.Proton;
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
@@ -21,6 +23,7 @@ import org.apache.qpid.proton.amqp.messaging.Section;
 import org.apache.qpid.proton.message.Message;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -28,15 +31,28 @@ import java.util.Map;
 
 /**
  * Default implementation class for the message conversion
- * between Kafka record and AMQP message
+ * between Kafka record and AMQP message.
+ * AMQP values as lists, maps and arrays are encoded through a {@link BodyCodec} (Java serialization by default).
+ * Any other codec is carried in a record header, so that the values are decoded back as AMQP values when sent to receivers
  */
-public class AmqpDefaultMessageConverter implements MessageConverter<String, byte[], Message, Collection<Message>> {
+public class AmqpDefaultMessageConverter implements MessageConverter<String, byte[], Message, Collection<Message>>,
+        AmqpHeadersMappingConverter, AmqpBodyCodecConverter {
+
+    private BodyCodec bodyCodec = new JavaSerializationBodyCodec();
+    private AmqpHeadersMapping headersMapping;
 
     @Override
-    public KafkaProducerRecord<String, byte[]> toKafkaRecord(String kafkaTopic, Integer partition, Message message) {
+    public void setHeadersMapping(AmqpHeadersMapping headersMapping) {
+        this.headersMapping = headersMapping;
+    }
 
-        Object partitionFromMessage = null, key = null;
-        byte[] value = null;
+    @Override
+    public void setBodyCodec(BodyCodec bodyCodec) {
+        this.bodyCodec = bodyCodec;
+    }
+
+    @Override
+    public KafkaProducerRecord<String, byte[]> toKafkaRecord(String kafkaTopic, Integer partition, Message message) {
 
         // get topic and body from AMQP message
         String topic = (message.getAddress() == null) ?
@@ -44,61 +60,89 @@ public class AmqpDefaultMessageConverter implements MessageConverter<String, byt
                 message.getAddress().replace('/', '.');
 
         Section body = message.getBody();
-
-        // check body null
-        if (body != null) {
-
-            // section is AMQP value
-            if (body instanceof AmqpValue) {
-
-                Object amqpValue = ((AmqpValue) body).getValue();
-
-                // encoded as String
-                if (amqpValue instanceof String) {
-                    String content = (String) ((AmqpValue) body).getValue();
-                    value = content.getBytes(StandardCharsets.UTF_8);
-                // encoded as a List
-                } else if (amqpValue instanceof List) {
-                    List<?> list = (List<?>) ((AmqpValue) body).getValue();
-                    DefaultSerializer<List<?>> serializer = new DefaultSerializer<>();
-                    value = serializer.serialize(kafkaTopic, list);
-                // encoded as an array
-                } else if (amqpValue.getClass().isArray()) {
-                    DefaultSerializer serializer = new DefaultSerializer();
-                    value = serializer.serialize(kafkaTopic, amqpValue);
-                // encoded as a Map
-                } else if (amqpValue instanceof Map) {
-                    Map<?, ?> map = (Map<?, ?>) ((AmqpValue) body).getValue();
-                    DefaultSerializer<Map<?, ?>> serializer = new DefaultSerializer<>();
-                    value = serializer.serialize(kafkaTopic, map);
-                }
-
-            // section is Data (binary)
-            } else if (body instanceof Data) {
-                Binary binary = ((Data) body).getValue();
-                value = binary.getArray();
-            }
-        }
+        byte[] value = this.toValue(body);
 
         // get partition and key from AMQP message annotations
         // NOTE : they are not mandatory
         MessageAnnotations messageAnnotations = message.getMessageAnnotations();
 
-        if (messageAnnotations != null) {
+        // build the record for the KafkaProducer and then send it
+        KafkaProducerRecord<String, byte[]> record = KafkaProducerRecord.create(topic,
+                keyAnnotation(messageAnnotations), value, partitionAnnotation(messageAnnotations));
+        this.addHeaders(record, message);
+        return record;
+    }
+
+    /**
+     * @param messageAnnotations AMQP message annotations, null if the message has none
+     * @return the partition from the AMQP message annotations, null if not set
+     */
+    private static Integer partitionAnnotation(MessageAnnotations messageAnnotations) {
+        Object partition = messageAnnotations != null ? messageAnnotations.getValue().get(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL) : null;
+        if (partition != null && !(partition instanceof Integer))
+            throw new IllegalArgumentException("The partition annotation must be an Integer");
+        return (Integer) partition;
+    }
 
-            partitionFromMessage = messageAnnotations.getValue().get(Symbol.getSymbol(AmqpBridge.AMQP_PARTITION_ANNOTATION));
-            key = messageAnnotations.getValue().get(Symbol.getSymbol(AmqpBridge.AMQP_KEY_ANNOTATION));
+    /**
+     * @param messageAnnotations AMQP message annotations, null if the message has none
+     * @return the key from the AMQP message annotations, null if not set
+     */
+    private static String keyAnnotation(MessageAnnotations messageAnnotations) {
+        Object key = messageAnnotations != null ? messageAnnotations.getValue().get(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL) : null;
+        if (key != null && !(key instanceof String))
+            throw new IllegalArgumentException("The key annotation must be a String");
+        return (String) key;
+    }
 
-            if (partitionFromMessage != null && !(partitionFromMessage instanceof Integer))
-                throw new IllegalArgumentException("The partition annotation must be an Integer");
+    /**
+     * Add to the Kafka record the body codec header and the headers mapped from the AMQP application properties
+     *
+     * @param record Kafka record to add the headers to
+     * @param message AMQP message
+     */
+    private void addHeaders(KafkaProducerRecord<String, byte[]> record, Message message) {
+        // the Java serialization is not marked, as before the body codecs were introduced
+        if (isStructured(message.getBody()) && !JavaSerializationBodyCodec.NAME.equals(this.bodyCodec.name())) {
+            record.addHeader(BodyCodec.BODY_CODEC_HEADER, this.bodyCodec.name());
+        }
+        if (this.headersMapping != null) {
+            this.headersMapping.toKafkaHeaders(message.getApplicationProperties(), record);
+        }
+    }
 
-            if (key != null && !(key instanceof String))
-                throw new IllegalArgumentException("The key annotation must be a String");
+    /**
+     * @param body AMQP message body
+     * @return the Kafka record value for the AMQP message body
+     */
+    private byte[] toValue(Section body) {
+        if (body instanceof AmqpValue) {
+            Object amqpValue = ((AmqpValue) body).getValue();
+            if (amqpValue instanceof String) {
+                // encoded as String
+                return ((String) amqpValue).getBytes(StandardCharsets.UTF_8);
+            } else if (isStructured(body)) {
+                // encoded as a List, an array or a Map
+                return this.bodyCodec.encode(amqpValue);
+            }
+        } else if (body instanceof Data) {
+            // section is Data (binary)
+            Binary binary = ((Data) body).getValue();
+            return binary.getArray();
         }
+        return null;
+    }
 
-        // build the record for the KafkaProducer and then send it
-        KafkaProducerRecord<String, byte[]> record = KafkaProducerRecord.create(topic, (String) key, value, (Integer) partitionFromMessage);
-        return record;
+    /**
+     * @param body AMQP message body
+     * @return if the AMQP message body is an AMQP value as a list, a map or an array, encoded through the body codec
+     */
+    private static boolean isStructured(Section body) {
+        if (!(body instanceof AmqpValue)) {
+            return false;
+        }
+        Object amqpValue = ((AmqpValue) body).getValue();
+        return amqpValue instanceof List || amqpValue instanceof Map || (amqpValue != null && amqpValue.getClass().isArray());
     }
 
     @Override
@@ -108,27 +152,50 @@ public class AmqpDefaultMessageConverter implements MessageConverter<String, byt
         message.setAddress(address);
 
         // put message annotations about partition, offset and key (if not null)
-        Map<Symbol, Object> map = new HashMap<>();
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_PARTITION_ANNOTATION), record.partition());
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_OFFSET_ANNOTATION), record.offset());
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_KEY_ANNOTATION), record.key());
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_TOPIC_ANNOTATION), record.topic());
+        Map<Symbol, Object> map = new HashMap<>(8);
+        map.put(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL, record.partition());
+        map.put(AmqpBridge.AMQP_OFFSET_ANNOTATION_SYMBOL, record.offset());
+        map.put(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL, record.key());
+        map.put(AmqpBridge.AMQP_TOPIC_ANNOTATION_SYMBOL, record.topic());
 
         MessageAnnotations messageAnnotations = new MessageAnnotations(map);
         message.setMessageAnnotations(messageAnnotations);
 
-        message.setBody(new Data(new Binary(record.value())));
+        if (this.isEncodedBody(record)) {
+            message.setBody(new AmqpValue(this.bodyCodec.decode(record.value())));
+        } else {
+            message.setBody(new Data(new Binary(record.value())));
+        }
+
+        if (this.headersMapping != null) {
+            message.setApplicationProperties(this.headersMapping.fromKafkaHeaders(record.record().headers()));
+        }
 
         return message;
     }
 
+    private boolean isEncodedBody(KafkaConsumerRecord<String, byte[]> record) {
+        // through the Kafka headers, avoiding the copy of all of them as Vert.x headers
+        for (Header header : record.record().headers()) {
+            if (BodyCodec.BODY_CODEC_HEADER.equals(header.key())) {
+                return header.value() != null && this.bodyCodec.name().equals(new String(header.value(), StandardCharsets.UTF_8));
+            }
+        }
+        return false;
+    }
+
     @Override
     public Collection<Message> toMessages(KafkaConsumerRecords<String, byte[]> records) {
-        throw new UnsupportedOperationException();
+        return AmqpBatchMessages.pack(records, record -> this.toMessage(null, record));
     }
 
     @Override
     public List<KafkaProducerRecord<String, byte[]>> toKafkaRecords(String kafkaTopic, Integer partition, Collection<Message> messages) {
-        throw new UnsupportedOperationException();
+
+        List<KafkaProducerRecord<String, byte[]>> records = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            records.add(this.toKafkaRecord(kafkaTopic, partition, message));
+        }
+        return records;
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+import io.strimzi.kafka.bridge.converter.BodyCodec;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mapping between the Kafka record headers and the AMQP message application properties.
+ * The headers (or properties) to map are selected by include and exclude rules, each one being
+ * an exact name or a prefix ending with "*" (a single "*" matches all the names).
+ * From AMQP to Kafka, string values are encoded in UTF-8, binary values are used as they are
+ * and any other simple value is encoded as its string representation.
+ * From Kafka to AMQP, the header values are decoded as UTF-8 strings through a read-only view
+ * over the record headers, without copying them into a new map.
+ * The header carrying the body codec is internal to the bridge and it's never mapped.
+ */
+public final class AmqpHeadersMapping {
+
+    private final Rules include;
+    private final Rules exclude;
+
+    /**
+     * Names and prefixes (from the rules ending with "*") to match
+     */
+    private static final class Rules {
+        private final Set<String> names = new HashSet<>();
+        private final List<String> prefixes = new ArrayList<>();
+
+        Rules(String rules) {
+            if (rules != null) {
+                for (String rule : rules.split(",")) {
+                    String trimmed = rule.trim();
+                    if (trimmed.endsWith("*")) {
+                        this.prefixes.add(trimmed.substring(0, trimmed.length() - 1));
+                    } else if (!trimmed.isEmpty()) {
+                        this.names.add(trimmed);
+                    }
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return this.names.isEmpty() && this.prefixes.isEmpty();
+        }
+
+        boolean matches(String name) {
+            if (this.names.contains(name)) {
+                return true;
+            }
+            for (int i = 0; i < this.prefixes.size(); i++) {
+                if (name.startsWith(this.prefixes.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private AmqpHeadersMapping(Rules include, Rules exclude) {
+        this.include = include;
+        this.exclude = exclude;
+    }
+
+    /**
+     * Create the headers mapping from the comma separated include and exclude rules
+     *
+     * @param include rules for the headers to map, empty or null for disabling the mapping
+     * @param exclude rules for the headers not to map, even if included
+     * @return the headers mapping, null if no header has to be mapped
+     */
+    public static AmqpHeadersMapping of(String include, String exclude) {
+        Rules includeRules = new Rules(include);
+        if (includeRules.isEmpty()) {
+            return null;
+        }
+        return new AmqpHeadersMapping(includeRules, new Rules(exclude));
+    }
+
+    /**
+     * Check if a Kafka header (or AMQP application property) has to be mapped
+     *
+     * @param name header or application property name
+     * @return if it has to be mapped
+     */
+    public boolean matches(String name) {
+        return name != null && !BodyCodec.BODY_CODEC_HEADER.equals(name)
+                && this.include.matches(name) && !this.exclude.matches(name);
+    }
+
+    /**
+     * Add the AMQP application properties to map as headers of the Kafka record
+     *
+     * @param applicationProperties AMQP application properties, null if none
+     * @param record Kafka record to add the headers to
+     */
+    public void toKafkaHeaders(ApplicationProperties applicationProperties, KafkaProducerRecord<?, ?> record) {
+        if (applicationProperties == null || applicationProperties.getValue() == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> property : applicationProperties.getValue().entrySet()) {
+            Object value = property.getValue();
+            if (value != null && this.matches(property.getKey())) {
+                if (value instanceof Binary) {
+                    Binary binary = (Binary) value;
+                    byte[] bytes = binary.getArrayOffset() == 0 && binary.getLength() == binary.getArray().length ?
+                            binary.getArray() :
+                            Arrays.copyOfRange(binary.getArray(), binary.getArrayOffset(), binary.getArrayOffset() + binary.getLength());
+                    record.addHeader(property.getKey(), Buffer.buffer(bytes));
+                } else {
+                    record.addHeader(property.getKey(), value.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the Kafka record headers to map as AMQP application properties
+     *
+     * @param headers Kafka record headers
+     * @return the AMQP application properties as a view over the headers, null if no header has to be mapped
+     */
+    public ApplicationProperties fromKafkaHeaders(Headers headers) {
+        if (headers == null) {
+            return null;
+        }
+        KafkaHeadersView view = new KafkaHeadersView(headers, this);
+        return view.isEmpty() ? null : new ApplicationProperties(view);
+    }
+
+    /**
+     * Decode a Kafka header value as an AMQP application property value
+     *
+     * @param header Kafka header
+     * @return the header value as a string
+     */
+    static Object value(Header header) {
+        return header.value() == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
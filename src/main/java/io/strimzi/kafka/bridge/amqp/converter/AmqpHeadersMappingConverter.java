@@ -0,0 +1,20 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+/**
+ * Message converter supporting the mapping between Kafka record headers and AMQP application properties
+ */
+public interface AmqpHeadersMappingConverter {
+
+    /**
+     * Set the mapping between Kafka record headers and AMQP application properties.
+     * It's set once, before the converter is used
+     *
+     * @param headersMapping the headers mapping, null for not mapping any header
+     */
+    void setHeadersMapping(AmqpHeadersMapping headersMapping);
+}
@@ -5,10 +5,15 @@
 
 package io.strimzi.kafka.bridge.amqp.converter;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import io.strimzi.kafka.bridge.amqp.AmqpBridge;
 import io.strimzi.kafka.bridge.converter.MessageConverter;
-import io.vertx.core.json.JsonArray;
-import io.vertx.core.json.JsonObject;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
@@ -22,18 +27,22 @@ import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
 import org.apache.qpid.proton.amqp.messaging.Section;
 import org.apache.qpid.proton.message.Message;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 /**
  * JSON implementation class for the message conversion
- * between Kafka record and AMQP message
+ * between Kafka record and AMQP message.
+ * The AMQP sections are streamed to and from the JSON bytes, without building intermediate JSON objects
  */
 @SuppressWarnings({"checkstyle:NPathComplexity", "checkstyle:CyclomaticComplexity"})
 public class AmqpJsonMessageConverter implements MessageConverter<String, byte[], Message, Collection<Message>> {
@@ -56,43 +65,20 @@ public class AmqpJsonMessageConverter implements MessageConverter<String, byte[]
     public static final String REPLY_TO = "replyTo";
     public static final String CORRELATION_ID = "correlationId";
 
+    // names of the main AMQP properties, in the order they are written
+    private static final String[] PROPERTIES_NAMES = {MESSAGE_ID, TO, SUBJECT, REPLY_TO, CORRELATION_ID};
+
+    // base64 encoding of the binary values in JSON, the same as the Vert.x JSON encoding
+    private static final Base64.Encoder JSON_BASE64_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder JSON_BASE64_DECODER = Base64.getUrlDecoder();
+
+    // thread safe factory for the JSON generators and parsers, configured as the Vert.x one
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().configure(JsonParser.Feature.ALLOW_COMMENTS, true);
+
     @Override
     public KafkaProducerRecord<String, byte[]> toKafkaRecord(String kafkaTopic, Integer partition, Message message) {
 
         Object partitionFromMessage = null, key = null;
-        byte[] value = null;
-
-        // root JSON
-        JsonObject json = new JsonObject();
-
-        // make JSON with AMQP properties
-        JsonObject jsonProperties = new JsonObject();
-        if (message.getMessageId() != null)
-            jsonProperties.put(AmqpJsonMessageConverter.MESSAGE_ID, message.getMessageId());
-        if (message.getAddress() != null)
-            jsonProperties.put(AmqpJsonMessageConverter.TO, message.getAddress());
-        if (message.getSubject() != null)
-            jsonProperties.put(AmqpJsonMessageConverter.SUBJECT, message.getSubject());
-        if (message.getReplyTo() != null)
-            jsonProperties.put(AmqpJsonMessageConverter.REPLY_TO, message.getReplyTo());
-        if (message.getCorrelationId() != null)
-            jsonProperties.put(AmqpJsonMessageConverter.CORRELATION_ID, message.getCorrelationId());
-        if (!jsonProperties.isEmpty())
-            json.put(AmqpJsonMessageConverter.PROPERTIES, jsonProperties);
-
-        // make JSON with AMQP application properties
-        ApplicationProperties applicationProperties = message.getApplicationProperties();
-
-        if (applicationProperties != null) {
-
-            JsonObject jsonApplicationProperties = new JsonObject();
-            Map<String, Object> applicationPropertiesMap = (Map<String, Object>) applicationProperties.getValue();
-            for (Entry<String, Object> entry : applicationPropertiesMap.entrySet()) {
-
-                jsonApplicationProperties.put(entry.getKey(), entry.getValue());
-            }
-            json.put(AmqpJsonMessageConverter.APPLICATION_PROPERTIES, jsonApplicationProperties);
-        }
 
         // get partition and key from AMQP message annotations
         // NOTE : they are not mandatory
@@ -100,82 +86,168 @@ public class AmqpJsonMessageConverter implements MessageConverter<String, byte[]
 
         if (messageAnnotations != null) {
 
-            partitionFromMessage = messageAnnotations.getValue().get(Symbol.getSymbol(AmqpBridge.AMQP_PARTITION_ANNOTATION));
-            key = messageAnnotations.getValue().get(Symbol.getSymbol(AmqpBridge.AMQP_KEY_ANNOTATION));
+            partitionFromMessage = messageAnnotations.getValue().get(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL);
+            key = messageAnnotations.getValue().get(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL);
 
             if (partitionFromMessage != null && !(partitionFromMessage instanceof Integer))
                 throw new IllegalArgumentException("The partition annotation must be an Integer");
 
             if (key != null && !(key instanceof String))
                 throw new IllegalArgumentException("The key annotation must be a String");
-
-            // make JSON with AMQP message annotations
-            JsonObject jsonMessageAnnotations = new JsonObject();
-            Map<Symbol, Object> messageAnnotationsMap = (Map<Symbol, Object>) messageAnnotations.getValue();
-            for (Entry<Symbol, Object> entry : messageAnnotationsMap.entrySet()) {
-
-                jsonMessageAnnotations.put(entry.getKey().toString(), entry.getValue());
-            }
-            json.put(AmqpJsonMessageConverter.MESSAGE_ANNOTATIONS, jsonMessageAnnotations);
         }
 
-        // get topic and body from AMQP message
+        // get topic from AMQP message
         String topic = (message.getAddress() == null) ?
                 kafkaTopic :
                 message.getAddress().replace('/', '.');
 
-        Section body = message.getBody();
-
-        // check body null
-        if (body != null) {
-
-            JsonObject jsonBody = new JsonObject();
-
-            // section is AMQP value
-            if (body instanceof AmqpValue) {
-
-                jsonBody.put(AmqpJsonMessageConverter.SECTION_TYPE, AmqpJsonMessageConverter.SECTION_AMQP_VALUE_TYPE);
-
-                Object amqpValue = ((AmqpValue) body).getValue();
-
-                // encoded as String
-                if (amqpValue instanceof String) {
-                    String content = (String) ((AmqpValue) body).getValue();
-                    jsonBody.put(AmqpJsonMessageConverter.SECTION, content);
-                // encoded as a List
-                } else if (amqpValue instanceof List) {
-                    List<?> list = (List<?>) ((AmqpValue) body).getValue();
-                    JsonArray jsonArray = new JsonArray(list);
-                    jsonBody.put(AmqpJsonMessageConverter.SECTION, jsonArray);
-                // encoded as an array
-                } else if (amqpValue.getClass().isArray()) {
-                    JsonArray jsonArray = new JsonArray(Arrays.asList(amqpValue));
-                    jsonBody.put(AmqpJsonMessageConverter.SECTION, jsonArray);
-                // encoded as a Map
-                } else if (amqpValue instanceof Map) {
-                    Map<?, ?> map = (Map<?, ?>) ((AmqpValue) body).getValue();
-                    JsonObject jsonMap = new JsonObject((Map<String, Object>) map);
-                    jsonBody.put(AmqpJsonMessageConverter.SECTION, jsonMap);
+        // build the record for the KafkaProducer and then send it
+        KafkaProducerRecord<String, byte[]> record = KafkaProducerRecord.create(topic, (String) key, this.writeJson(message), (Integer) partitionFromMessage);
+        return record;
+    }
+
+    /**
+     * Write the AMQP message sections as JSON, streaming them through a generator
+     *
+     * @param message AMQP message to write
+     * @return the JSON bytes
+     */
+    private byte[] writeJson(Message message) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+
+            // root JSON
+            generator.writeStartObject();
+
+            // AMQP properties
+            writeProperties(generator, message);
+
+            // AMQP application properties
+            ApplicationProperties applicationProperties = message.getApplicationProperties();
+            if (applicationProperties != null) {
+                generator.writeFieldName(AmqpJsonMessageConverter.APPLICATION_PROPERTIES);
+                writeValue(generator, applicationProperties.getValue());
+            }
+
+            // AMQP message annotations
+            MessageAnnotations messageAnnotations = message.getMessageAnnotations();
+            if (messageAnnotations != null) {
+                generator.writeFieldName(AmqpJsonMessageConverter.MESSAGE_ANNOTATIONS);
+                writeValue(generator, messageAnnotations.getValue());
+            }
+
+            Section body = message.getBody();
+            if (body != null) {
+                generator.writeObjectFieldStart(AmqpJsonMessageConverter.BODY);
+                writeBody(generator, body);
+                generator.writeEndObject();
+            }
+
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Write the main AMQP properties as a JSON object, only if at least one of them is set
+     *
+     * @param generator JSON generator
+     * @param message AMQP message with the properties to write
+     */
+    private static void writeProperties(JsonGenerator generator, Message message) throws IOException {
+        Object[] values = {message.getMessageId(), message.getAddress(), message.getSubject(), message.getReplyTo(), message.getCorrelationId()};
+        boolean started = false;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                if (!started) {
+                    generator.writeObjectFieldStart(AmqpJsonMessageConverter.PROPERTIES);
+                    started = true;
                 }
+                writeField(generator, PROPERTIES_NAMES[i], values[i]);
+            }
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+    }
 
-            // section is Data (binary)
-            } else if (body instanceof Data) {
-                Binary binary = (Binary) ((Data) body).getValue();
-                value = binary.getArray();
+    private static void writeBody(JsonGenerator generator, Section body) throws IOException {
 
-                jsonBody.put(AmqpJsonMessageConverter.SECTION_TYPE, AmqpJsonMessageConverter.SECTION_DATA_TYPE);
+        // section is AMQP value
+        if (body instanceof AmqpValue) {
 
-                // put the section bytes as Base64 encoded string
-                jsonBody.put(AmqpJsonMessageConverter.SECTION, Base64.getEncoder().encode(value));
+            generator.writeStringField(AmqpJsonMessageConverter.SECTION_TYPE, AmqpJsonMessageConverter.SECTION_AMQP_VALUE_TYPE);
+
+            Object amqpValue = ((AmqpValue) body).getValue();
+
+            // encoded as String, List or Map
+            if (amqpValue instanceof String || amqpValue instanceof List || amqpValue instanceof Map) {
+                writeField(generator, AmqpJsonMessageConverter.SECTION, amqpValue);
+            // encoded as an array, wrapped into a single element array
+            } else if (amqpValue != null && amqpValue.getClass().isArray()) {
+                generator.writeArrayFieldStart(AmqpJsonMessageConverter.SECTION);
+                writeValue(generator, amqpValue);
+                generator.writeEndArray();
             }
 
-            // put the body into the JSON root
-            json.put(AmqpJsonMessageConverter.BODY, jsonBody);
+        // section is Data (binary)
+        } else if (body instanceof Data) {
+
+            generator.writeStringField(AmqpJsonMessageConverter.SECTION_TYPE, AmqpJsonMessageConverter.SECTION_DATA_TYPE);
+
+            // put the section bytes as Base64 encoded string, then encoded as JSON binary
+            Binary binary = ((Data) body).getValue();
+            byte[] base64 = Base64.getEncoder().encode(binary.getArray());
+            generator.writeStringField(AmqpJsonMessageConverter.SECTION, JSON_BASE64_ENCODER.encodeToString(base64));
         }
+    }
 
-        // build the record for the KafkaProducer and then send it
-        KafkaProducerRecord<String, byte[]> record = KafkaProducerRecord.create(topic, (String) key, json.toString().getBytes(StandardCharsets.UTF_8), (Integer) partitionFromMessage);
-        return record;
+    private static void writeField(JsonGenerator generator, String name, Object value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(name);
+            writeValue(generator, value);
+        }
+    }
+
+    /**
+     * Write a value as JSON, the same way as Vert.x JSON encoding does
+     *
+     * @param generator JSON generator
+     * @param value value to write
+     */
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            generator.writeNumber((Long) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof byte[]) {
+            generator.writeString(JSON_BASE64_ENCODER.encodeToString((byte[]) value));
+        } else if (value instanceof Map) {
+            generator.writeStartObject();
+            for (Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof List) {
+            generator.writeStartArray();
+            for (Object item : (List<?>) value) {
+                writeValue(generator, item);
+            }
+            generator.writeEndArray();
+        } else {
+            // any other type (i.e. floating point numbers, arrays) as encoded by Vert.x
+            generator.writeRawValue(Json.encode(value));
+        }
     }
 
     @Override
@@ -184,112 +256,164 @@ public class AmqpJsonMessageConverter implements MessageConverter<String, byte[]
         Message message = Proton.message();
         message.setAddress(address);
 
-        // get the root JSON
-        JsonObject json = new JsonObject(new String(record.value(), StandardCharsets.UTF_8));
-
-        // get AMQP properties from the JSON
-        JsonObject jsonProperties = json.getJsonObject(AmqpJsonMessageConverter.PROPERTIES);
-        if (jsonProperties != null) {
-
-            for (Entry<String, Object> entry : jsonProperties) {
-
-                if (entry.getValue() != null) {
-
-                    if (entry.getKey().equals(AmqpJsonMessageConverter.MESSAGE_ID)) {
-                        message.setMessageId(entry.getValue());
-                    } else if (entry.getKey().equals(AmqpJsonMessageConverter.TO)) {
-                        message.setAddress(entry.getValue().toString());
-                    } else if (entry.getKey().equals(AmqpJsonMessageConverter.SUBJECT)) {
-                        message.setSubject(entry.getValue().toString());
-                    } else if (entry.getKey().equals(AmqpJsonMessageConverter.REPLY_TO)) {
-                        message.setReplyTo(entry.getValue().toString());
-                    } else if (entry.getKey().equals(AmqpJsonMessageConverter.CORRELATION_ID)) {
-                        message.setCorrelationId(entry.getValue());
+        // put message annotations about partition, offset and key (if not null)
+        Map<Symbol, Object> messageAnnotationsMap = new HashMap<>();
+        messageAnnotationsMap.put(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL, record.partition());
+        messageAnnotationsMap.put(AmqpBridge.AMQP_OFFSET_ANNOTATION_SYMBOL, record.offset());
+        messageAnnotationsMap.put(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL, record.key());
+        messageAnnotationsMap.put(AmqpBridge.AMQP_TOPIC_ANNOTATION_SYMBOL, record.topic());
+
+        // read the root JSON, streaming the sections through a parser
+        try (JsonParser parser = JSON_FACTORY.createParser(record.value())) {
+
+            expect(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.getCurrentName();
+                parser.nextToken();
+
+                if (AmqpJsonMessageConverter.PROPERTIES.equals(section)) {
+                    readProperties(parser, message);
+                } else if (AmqpJsonMessageConverter.APPLICATION_PROPERTIES.equals(section)) {
+                    Map<String, Object> applicationPropertiesMap = readObject(parser);
+                    message.setApplicationProperties(new ApplicationProperties(applicationPropertiesMap));
+                } else if (AmqpJsonMessageConverter.MESSAGE_ANNOTATIONS.equals(section)) {
+                    // get AMQP message annotations from the JSON
+                    for (Entry<String, Object> entry : readObject(parser).entrySet()) {
+                        messageAnnotationsMap.put(Symbol.valueOf(entry.getKey()), entry.getValue());
                     }
+                } else if (AmqpJsonMessageConverter.BODY.equals(section)) {
+                    readBody(parser, message);
+                } else {
+                    parser.skipChildren();
                 }
             }
+        } catch (IOException e) {
+            throw new DecodeException("Failed to decode: " + e.getMessage(), e);
         }
 
-        // get AMQP application properties from the JSON
-        JsonObject jsonApplicationProperties = json.getJsonObject(AmqpJsonMessageConverter.APPLICATION_PROPERTIES);
-        if (jsonApplicationProperties != null) {
-
-            Map<String, Object> applicationPropertiesMap = new HashMap<>();
-
-            for (Entry<String, Object> entry : jsonApplicationProperties) {
-                applicationPropertiesMap.put(entry.getKey(), entry.getValue());
-            }
-
-            ApplicationProperties applicationProperties = new ApplicationProperties(applicationPropertiesMap);
-            message.setApplicationProperties(applicationProperties);
-        }
+        MessageAnnotations messageAnnotations = new MessageAnnotations(messageAnnotationsMap);
+        message.setMessageAnnotations(messageAnnotations);
 
-        // put message annotations about partition, offset and key (if not null)
-        Map<Symbol, Object> messageAnnotationsMap = new HashMap<>();
-        messageAnnotationsMap.put(Symbol.valueOf(AmqpBridge.AMQP_PARTITION_ANNOTATION), record.partition());
-        messageAnnotationsMap.put(Symbol.valueOf(AmqpBridge.AMQP_OFFSET_ANNOTATION), record.offset());
-        messageAnnotationsMap.put(Symbol.valueOf(AmqpBridge.AMQP_KEY_ANNOTATION), record.key());
-        messageAnnotationsMap.put(Symbol.valueOf(AmqpBridge.AMQP_TOPIC_ANNOTATION), record.topic());
+        return message;
+    }
 
-        // get AMQP message annotations from the JSON
-        JsonObject jsonMessageAnnotations = json.getJsonObject(AmqpJsonMessageConverter.MESSAGE_ANNOTATIONS);
-        if (jsonMessageAnnotations != null) {
+    private static void readProperties(JsonParser parser, Message message) throws IOException {
 
-            for (Entry<String, Object> entry : jsonMessageAnnotations) {
-                messageAnnotationsMap.put(Symbol.valueOf(entry.getKey()), entry.getValue());
+        // get AMQP properties from the JSON
+        for (Entry<String, Object> entry : readObject(parser).entrySet()) {
+
+            if (entry.getValue() != null) {
+
+                if (entry.getKey().equals(AmqpJsonMessageConverter.MESSAGE_ID)) {
+                    message.setMessageId(entry.getValue());
+                } else if (entry.getKey().equals(AmqpJsonMessageConverter.TO)) {
+                    message.setAddress(entry.getValue().toString());
+                } else if (entry.getKey().equals(AmqpJsonMessageConverter.SUBJECT)) {
+                    message.setSubject(entry.getValue().toString());
+                } else if (entry.getKey().equals(AmqpJsonMessageConverter.REPLY_TO)) {
+                    message.setReplyTo(entry.getValue().toString());
+                } else if (entry.getKey().equals(AmqpJsonMessageConverter.CORRELATION_ID)) {
+                    message.setCorrelationId(entry.getValue());
+                }
             }
         }
+    }
 
-        MessageAnnotations messageAnnotations = new MessageAnnotations(messageAnnotationsMap);
-        message.setMessageAnnotations(messageAnnotations);
+    private static void readBody(JsonParser parser, Message message) throws IOException {
 
-        // get the AMQP message body from the JSON
-        JsonObject jsonBody = json.getJsonObject(AmqpJsonMessageConverter.BODY);
+        Map<String, Object> jsonBody = readObject(parser);
 
-        if (jsonBody != null) {
+        // type attribute for following section : AMQP value or raw data/binary
+        Object type = jsonBody.get(AmqpJsonMessageConverter.SECTION_TYPE);
+        Object jsonSection = jsonBody.get(AmqpJsonMessageConverter.SECTION);
 
-            // type attribtute for following sectin : AMQP value or raw data/binary
-            String type = jsonBody.getString(AmqpJsonMessageConverter.SECTION_TYPE);
+        if (AmqpJsonMessageConverter.SECTION_AMQP_VALUE_TYPE.equals(type)) {
 
-            if (type.equals(AmqpJsonMessageConverter.SECTION_AMQP_VALUE_TYPE)) {
+            // section is an AMQP value, encoded as String, array/List or Map
+            if (jsonSection instanceof String || jsonSection instanceof List || jsonSection instanceof Map) {
+                message.setBody(new AmqpValue(jsonSection));
+            }
 
-                // section is an AMQP value
-                Object jsonSection = jsonBody.getValue(AmqpJsonMessageConverter.SECTION);
+        } else if (AmqpJsonMessageConverter.SECTION_DATA_TYPE.equals(type)) {
 
-                // encoded as String
-                if (jsonSection instanceof String) {
-                    message.setBody(new AmqpValue(jsonSection));
-                // encoded as an array/List
-                } else if (jsonSection instanceof JsonArray) {
-                    JsonArray jsonArray = (JsonArray) jsonSection;
-                    message.setBody(new AmqpValue(jsonArray.getList()));
-                // encoded as a Map
-                } else if (jsonSection instanceof JsonObject) {
-                    JsonObject jsonObject = (JsonObject) jsonSection;
-                    message.setBody(new AmqpValue(jsonObject.getMap()));
-                }
+            // section is a raw binary data
 
-            } else if (type.equals(AmqpJsonMessageConverter.SECTION_DATA_TYPE)) {
+            // get the section from the JSON (it's base64 encoded)
+            byte[] value = JSON_BASE64_DECODER.decode((String) jsonSection);
 
-                // section is a raw binary data
+            message.setBody(new Data(new Binary(Base64.getDecoder().decode(value))));
+        }
+    }
 
-                // get the section from the JSON (it's base64 encoded)
-                byte[] value = jsonBody.getBinary(AmqpJsonMessageConverter.SECTION);
+    /**
+     * Read a JSON object, with the parser on its start token
+     *
+     * @param parser JSON parser
+     * @return the JSON object as a Map
+     */
+    private static Map<String, Object> readObject(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            map.put(name, readValue(parser));
+        }
+        return map;
+    }
 
-                message.setBody(new Data(new Binary(Base64.getDecoder().decode(value))));
-            }
+    /**
+     * Read a JSON value, with the parser on its first token, the same way as Vert.x JSON decoding does
+     *
+     * @param parser JSON parser
+     * @return the JSON value
+     */
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                return readObject(parser);
+            case START_ARRAY:
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                return list;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new DecodeException("Unexpected token " + parser.currentToken());
         }
+    }
 
-        return message;
+    private static void expect(JsonParser parser, JsonToken token) throws IOException {
+        JsonToken current = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (current != token) {
+            throw new DecodeException("Unexpected token " + current + ", expected " + token);
+        }
     }
 
     @Override
     public Collection<Message> toMessages(KafkaConsumerRecords<String, byte[]> records) {
-        throw new UnsupportedOperationException();
+        return AmqpBatchMessages.pack(records, record -> this.toMessage(null, record));
     }
 
     @Override
     public List<KafkaProducerRecord<String, byte[]>> toKafkaRecords(String kafkaTopic, Integer partition, Collection<Message> messages) {
-        throw new UnsupportedOperationException();
+
+        List<KafkaProducerRecord<String, byte[]>> records = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            records.add(this.toKafkaRecord(kafkaTopic, partition, message));
+        }
+        return records;
     }
 }
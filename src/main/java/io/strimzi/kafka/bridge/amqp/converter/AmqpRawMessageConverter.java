@@ -11,10 +11,17 @@ import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
 import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
+import org.apache.qpid.proton.amqp.messaging.Section;
+import org.apache.qpid.proton.codec.DroppingWritableBuffer;
 import org.apache.qpid.proton.message.Message;
 
+import java.nio.BufferOverflowException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -26,25 +33,37 @@ import java.util.Map;
  * between Kafka record and AMQP message.
  * It passes the AMQP message as is (raw bytes) as Kafka record value and vice versa.
  */
-public class AmqpRawMessageConverter implements MessageConverter<String, byte[], Message, Collection<Message>> {
+public class AmqpRawMessageConverter implements MessageConverter<String, byte[], Message, Collection<Message>>, AmqpHeadersMappingConverter {
 
-    // TODO : should be it configurable or based on max frame size ?
-    private static final int BUFFER_SIZE = 32768;
+    // initial size of the scratch buffer used for encoding the AMQP message
+    private static final int SCRATCH_BUFFER_SIZE = 32768;
+    // maximum size of the scratch buffer kept for reuse, bigger ones used for huge messages are just dropped
+    private static final int SCRATCH_BUFFER_MAX_RETAINED_SIZE = 1024 * 1024;
+    // room for the encoding of the message sections other than the body, used for estimating the encoded size
+    private static final int ENCODED_SECTIONS_SIZE = 4096;
+
+    // scratch buffer for each thread (event loop or conversion worker) running conversions
+    private static final ThreadLocal<byte[]> SCRATCH_BUFFER = ThreadLocal.withInitial(() -> new byte[SCRATCH_BUFFER_SIZE]);
+
+    private AmqpHeadersMapping headersMapping;
+
+    @Override
+    public void setHeadersMapping(AmqpHeadersMapping headersMapping) {
+        this.headersMapping = headersMapping;
+    }
 
     @Override
     public KafkaProducerRecord<String, byte[]> toKafkaRecord(String kafkaTopic, Integer partition, Message message) {
 
         Object partitionFromMessage = null, key = null;
         byte[] value;
-        byte[] buffer = new byte[AmqpRawMessageConverter.BUFFER_SIZE];
 
         // get topic and body from AMQP message
         String topic = (message.getAddress() == null) ?
                 kafkaTopic :
                 message.getAddress().replace('/', '.');
 
-        int encoded = message.encode(buffer, 0, AmqpRawMessageConverter.BUFFER_SIZE);
-        value = Arrays.copyOfRange(buffer, 0, encoded);
+        value = encode(message);
 
         // get partition and key from AMQP message annotations
         // NOTE : they are not mandatory
@@ -52,8 +71,8 @@ public class AmqpRawMessageConverter implements MessageConverter<String, byte[],
 
         if (messageAnnotations != null) {
 
-            partitionFromMessage = messageAnnotations.getValue().get(Symbol.getSymbol(AmqpBridge.AMQP_PARTITION_ANNOTATION));
-            key = messageAnnotations.getValue().get(Symbol.getSymbol(AmqpBridge.AMQP_KEY_ANNOTATION));
+            partitionFromMessage = messageAnnotations.getValue().get(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL);
+            key = messageAnnotations.getValue().get(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL);
 
             if (partitionFromMessage != null && !(partitionFromMessage instanceof Integer))
                 throw new IllegalArgumentException("The partition annotation must be an Integer");
@@ -64,9 +83,57 @@ public class AmqpRawMessageConverter implements MessageConverter<String, byte[],
 
         // build the record for the KafkaProducer and then send it
         KafkaProducerRecord<String, byte[]> record = KafkaProducerRecord.create(topic, (String) key, value, (Integer) partitionFromMessage);
+        if (this.headersMapping != null) {
+            this.headersMapping.toKafkaHeaders(message.getApplicationProperties(), record);
+        }
         return record;
     }
 
+    /**
+     * Encode the AMQP message into an exactly sized byte array.
+     * The message is encoded into a reusable scratch buffer, grown upfront when the estimated size doesn't fit,
+     * and then copied into the returned array. When the estimate is short, the encoded size is measured
+     * and the message encoded again straight into the returned array, so it's never encoded more than twice
+     *
+     * @param message AMQP message to encode
+     * @return the encoded AMQP message
+     */
+    private static byte[] encode(Message message) {
+        byte[] scratch = SCRATCH_BUFFER.get();
+        int estimatedSize = estimateEncodedSize(message);
+        if (estimatedSize > scratch.length) {
+            scratch = new byte[estimatedSize];
+            if (scratch.length <= SCRATCH_BUFFER_MAX_RETAINED_SIZE) {
+                SCRATCH_BUFFER.set(scratch);
+            }
+        }
+        try {
+            int encoded = message.encode(scratch, 0, scratch.length);
+            return Arrays.copyOf(scratch, encoded);
+        } catch (BufferOverflowException e) {
+            DroppingWritableBuffer sizer = new DroppingWritableBuffer();
+            message.encode(sizer);
+            byte[] encoded = new byte[sizer.position()];
+            message.encode(encoded, 0, encoded.length);
+            return encoded;
+        }
+    }
+
+    /**
+     * @param message AMQP message to encode
+     * @return the estimated size of the encoded AMQP message, from the size of a binary body
+     */
+    private static int estimateEncodedSize(Message message) {
+        Section body = message.getBody();
+        Binary binary = null;
+        if (body instanceof Data) {
+            binary = ((Data) body).getValue();
+        } else if (body instanceof AmqpValue && ((AmqpValue) body).getValue() instanceof Binary) {
+            binary = (Binary) ((AmqpValue) body).getValue();
+        }
+        return (binary != null ? binary.getLength() : 0) + ENCODED_SECTIONS_SIZE;
+    }
+
     @Override
     public Message toMessage(String address, KafkaConsumerRecord<String, byte[]> record) {
 
@@ -76,25 +143,35 @@ public class AmqpRawMessageConverter implements MessageConverter<String, byte[],
         message.decode(record.value(), 0, record.value().length);
 
         // put message annotations about partition, offset and key (if not null)
-        Map<Symbol, Object> map = new HashMap<>();
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_PARTITION_ANNOTATION), record.partition());
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_OFFSET_ANNOTATION), record.offset());
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_KEY_ANNOTATION), record.key());
-        map.put(Symbol.valueOf(AmqpBridge.AMQP_TOPIC_ANNOTATION), record.topic());
+        Map<Symbol, Object> map = new HashMap<>(8);
+        map.put(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL, record.partition());
+        map.put(AmqpBridge.AMQP_OFFSET_ANNOTATION_SYMBOL, record.offset());
+        map.put(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL, record.key());
+        map.put(AmqpBridge.AMQP_TOPIC_ANNOTATION_SYMBOL, record.topic());
 
         MessageAnnotations messageAnnotations = new MessageAnnotations(map);
         message.setMessageAnnotations(messageAnnotations);
 
+        // the application properties encoded in the record value take precedence over the headers
+        if (this.headersMapping != null && message.getApplicationProperties() == null) {
+            message.setApplicationProperties(this.headersMapping.fromKafkaHeaders(record.record().headers()));
+        }
+
         return message;
     }
 
     @Override
     public Collection<Message> toMessages(KafkaConsumerRecords<String, byte[]> records) {
-        throw new UnsupportedOperationException();
+        return AmqpBatchMessages.pack(records, record -> this.toMessage(null, record));
     }
 
     @Override
     public List<KafkaProducerRecord<String, byte[]>> toKafkaRecords(String kafkaTopic, Integer partition, Collection<Message> messages) {
-        throw new UnsupportedOperationException();
+
+        List<KafkaProducerRecord<String, byte[]>> records = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            records.add(this.toKafkaRecord(kafkaTopic, partition, message));
+        }
+        return records;
     }
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only map view over the Kafka record headers to map as AMQP application properties.
+ * It only keeps a reference to the mapped headers (the last one for each name, as for {@link Headers#lastHeader(String)})
+ * and the values are decoded on first access
+ */
+final class KafkaHeadersView extends AbstractMap<String, Object> {
+
+    private static final Header[] EMPTY = new Header[0];
+
+    private Header[] headers = EMPTY;
+    private Object[] values;
+    private int size;
+
+    KafkaHeadersView(Headers headers, AmqpHeadersMapping mapping) {
+        for (Header header : headers) {
+            if (mapping.matches(header.key())) {
+                int index = this.indexOf(header.key());
+                if (index >= 0) {
+                    this.headers[index] = header;
+                } else {
+                    if (this.size == this.headers.length) {
+                        this.headers = Arrays.copyOf(this.headers, Math.max(4, this.size * 2));
+                    }
+                    this.headers[this.size++] = header;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && this.indexOf((String) key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = key instanceof String ? this.indexOf((String) key) : -1;
+        return index >= 0 ? this.valueAt(index) : null;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<Entry<String, Object>>() {
+                    private int index;
+
+                    @Override
+                    public boolean hasNext() {
+                        return this.index < KafkaHeadersView.this.size;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!this.hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int current = this.index++;
+                        return new SimpleImmutableEntry<>(KafkaHeadersView.this.headers[current].key(), KafkaHeadersView.this.valueAt(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return KafkaHeadersView.this.size;
+            }
+        };
+    }
+
+    private int indexOf(String key) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.headers[i].key().equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Object valueAt(int index) {
+        if (this.values == null) {
+            this.values = new Object[this.size];
+        }
+        if (this.values[index] == null) {
+            this.values[index] = AmqpHeadersMapping.value(this.headers[index]);
+        }
+        return this.values[index];
+    }
+}
@@ -20,6 +20,19 @@ public class BridgeConfig extends AbstractConfig {
 
     public static final String BRIDGE_ID = BRIDGE_CONFIG_PREFIX + "id";
     public static final String TRACING_TYPE = BRIDGE_CONFIG_PREFIX + "tracing";
+    public static final String CONVERSION_OFFLOAD_THRESHOLD = BRIDGE_CONFIG_PREFIX + "conversion.offloadThresholdBytes";
+    public static final String CONVERSION_POOL_SIZE = BRIDGE_CONFIG_PREFIX + "conversion.poolSize";
+    public static final String METRICS_CACHE_MS = BRIDGE_CONFIG_PREFIX + "metrics.cacheMs";
+    public static final String METRICS_KAFKA_CLIENTS = BRIDGE_CONFIG_PREFIX + "metrics.kafkaClients";
+    public static final String SHUTDOWN_DRAIN_TIMEOUT_MS = BRIDGE_CONFIG_PREFIX + "shutdown.drainTimeoutMs";
+
+    public static final long DEFAULT_CONVERSION_OFFLOAD_THRESHOLD = 1024 * 1024L;
+    public static final int DEFAULT_CONVERSION_POOL_SIZE = 4;
+    public static final long DEFAULT_METRICS_CACHE_MS = 1000;
+    public static final String METRICS_KAFKA_CLIENTS_JMX = "jmx";
+    public static final String METRICS_KAFKA_CLIENTS_MICROMETER = "micrometer";
+    public static final String DEFAULT_METRICS_KAFKA_CLIENTS = METRICS_KAFKA_CLIENTS_JMX;
+    public static final long DEFAULT_SHUTDOWN_DRAIN_TIMEOUT_MS = 10000;
 
     private KafkaConfig kafkaConfig;
     private AmqpConfig amqpConfig;
@@ -103,4 +116,41 @@ public class BridgeConfig extends AbstractConfig {
             return config.get(BridgeConfig.TRACING_TYPE).toString();
         }
     }
+
+    /**
+     * @return the size in bytes above which a conversion is offloaded to the worker pool, negative for never offloading
+     */
+    public long getConversionOffloadThreshold() {
+        return Long.parseLong(this.config.getOrDefault(CONVERSION_OFFLOAD_THRESHOLD, DEFAULT_CONVERSION_OFFLOAD_THRESHOLD).toString());
+    }
+
+    /**
+     * @return the size of the worker pool used for offloading the conversions
+     */
+    public int getConversionPoolSize() {
+        return Integer.parseInt(this.config.getOrDefault(CONVERSION_POOL_SIZE, DEFAULT_CONVERSION_POOL_SIZE).toString());
+    }
+
+    /**
+     * @return the interval in milliseconds for which the scraped metrics are reused, 0 for scraping them on each request
+     */
+    public long getMetricsCacheMs() {
+        return Long.parseLong(this.config.getOrDefault(METRICS_CACHE_MS, DEFAULT_METRICS_CACHE_MS).toString());
+    }
+
+    /**
+     * @return if the Kafka clients metrics are bound directly to the Micrometer registry ("micrometer"),
+     * instead of being scraped from JMX ("jmx", default)
+     */
+    public boolean isKafkaClientsMicrometerMetrics() {
+        return METRICS_KAFKA_CLIENTS_MICROMETER.equals(this.config.getOrDefault(METRICS_KAFKA_CLIENTS, DEFAULT_METRICS_KAFKA_CLIENTS).toString());
+    }
+
+    /**
+     * @return the maximum time in milliseconds for completing the in-flight requests on shutdown,
+     * before closing the Kafka clients
+     */
+    public long getShutdownDrainTimeoutMs() {
+        return Long.parseLong(this.config.getOrDefault(SHUTDOWN_DRAIN_TIMEOUT_MS, DEFAULT_SHUTDOWN_DRAIN_TIMEOUT_MS).toString());
+    }
 }
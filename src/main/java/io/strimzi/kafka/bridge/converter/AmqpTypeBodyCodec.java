@@ -0,0 +1,90 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.qpid.proton.codec.AMQPDefinedTypes;
+import org.apache.qpid.proton.codec.DecoderImpl;
+import org.apache.qpid.proton.codec.EncoderImpl;
+import org.apache.qpid.proton.codec.WritableBuffer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Codec encoding the structured values with the AMQP 1.0 type system encoding,
+ * which is compact and language neutral (any AMQP 1.0 library can decode it)
+ */
+public class AmqpTypeBodyCodec implements BodyCodec {
+
+    public static final String NAME = "amqp";
+
+    // initial size of the scratch buffer used for encoding
+    private static final int SCRATCH_BUFFER_SIZE = 4096;
+    // maximum size of the scratch buffer kept for reuse, bigger ones used for huge values are just dropped
+    private static final int SCRATCH_BUFFER_MAX_RETAINED_SIZE = 1024 * 1024;
+
+    // Proton encoder and decoder are not thread safe, so one for each thread running conversions
+    private static final ThreadLocal<Codec> CODEC = ThreadLocal.withInitial(Codec::new);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value == null)
+            return null;
+
+        Codec codec = CODEC.get();
+        byte[] scratch = codec.scratch;
+        while (true) {
+            try {
+                WritableBuffer.ByteBufferWrapper buffer = WritableBuffer.ByteBufferWrapper.wrap(scratch);
+                codec.encoder.setByteBuffer(buffer);
+                codec.encoder.writeObject(value);
+                return Arrays.copyOf(scratch, buffer.position());
+            } catch (BufferOverflowException e) {
+                scratch = new byte[scratch.length * 2];
+                if (scratch.length <= SCRATCH_BUFFER_MAX_RETAINED_SIZE) {
+                    codec.scratch = scratch;
+                }
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException("Error when encoding", e);
+            }
+        }
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        if (data == null)
+            return null;
+
+        Codec codec = CODEC.get();
+        try {
+            codec.decoder.setByteBuffer(ByteBuffer.wrap(data));
+            return codec.decoder.readObject();
+        } catch (RuntimeException e) {
+            throw new SerializationException("Error when decoding", e);
+        }
+    }
+
+    /**
+     * Proton encoder and decoder, with the scratch buffer for encoding
+     */
+    private static class Codec {
+
+        private final DecoderImpl decoder = new DecoderImpl();
+        private final EncoderImpl encoder = new EncoderImpl(this.decoder);
+        private byte[] scratch = new byte[SCRATCH_BUFFER_SIZE];
+
+        Codec() {
+            AMQPDefinedTypes.registerAllTypes(this.decoder, this.encoder);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+
+/**
+ * Kafka deserializer for the structured values (lists, maps, arrays) encoded by the {@link AmqpTypeBodyCodec},
+ * for Kafka consumers reading the records sent through the AMQP bridge
+ */
+public class AmqpTypeDeserializer<T> implements Deserializer<T> {
+
+    private final AmqpTypeBodyCodec codec = new AmqpTypeBodyCodec();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return (T) this.codec.decode(data);
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+/**
+ * Codec for the structured values (lists, maps, arrays) carried in a message body,
+ * encoding them as the Kafka record value and decoding them back
+ */
+public interface BodyCodec {
+
+    /**
+     * Kafka record header carrying the name of the codec used for encoding the record value,
+     * so that the matching codec can decode it on the consuming side
+     */
+    String BODY_CODEC_HEADER = "x-opt-bridge.body-codec";
+
+    /**
+     * Create a codec
+     *
+     * @param name name of the codec
+     * @return the codec
+     * @throws IllegalArgumentException if there is no codec with that name
+     */
+    static BodyCodec create(String name) {
+        switch (name) {
+            case JavaSerializationBodyCodec.NAME:
+                return new JavaSerializationBodyCodec();
+            case AmqpTypeBodyCodec.NAME:
+                return new AmqpTypeBodyCodec();
+            default:
+                throw new IllegalArgumentException("Unknown body codec " + name);
+        }
+    }
+
+    /**
+     * @return the name of the codec, as carried in the {@link #BODY_CODEC_HEADER} header
+     */
+    String name();
+
+    /**
+     * Encode a structured value
+     *
+     * @param value value to encode
+     * @return the encoded value
+     */
+    byte[] encode(Object value);
+
+    /**
+     * Decode a structured value
+     *
+     * @param data encoded value
+     * @return the decoded value
+     */
+    Object decode(byte[] data);
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the conversion between Kafka records and bridge messages, offloading the CPU-heavy ones
+ * (the ones with a size above a configured threshold) to a dedicated worker pool so that
+ * the event loop is not blocked by them
+ */
+public class ConversionExecutor {
+
+    private final WorkerExecutor workerExecutor;
+    private final long offloadThreshold;
+
+    // number of conversions offloaded to the worker pool, waiting or running
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Timer offloadedTimer;
+
+    private ConversionExecutor(Vertx vertx, BridgeConfig bridgeConfig, MeterRegistry meterRegistry, String protocol) {
+        this.offloadThreshold = bridgeConfig.getConversionOffloadThreshold();
+        this.workerExecutor = vertx.createSharedWorkerExecutor("kafka-bridge-" + protocol + "-conversion",
+                bridgeConfig.getConversionPoolSize());
+        if (meterRegistry != null) {
+            Gauge.builder("strimzi.bridge.conversion.queue.depth", this.queueDepth, AtomicInteger::get)
+                    .description("Number of conversions offloaded to the worker pool waiting or running")
+                    .tag("protocol", protocol)
+                    .register(meterRegistry);
+            this.offloadedTimer = Timer.builder("strimzi.bridge.conversion.offloaded")
+                    .description("Time spent on conversions offloaded to the worker pool")
+                    .tag("protocol", protocol)
+                    .register(meterRegistry);
+        } else {
+            this.offloadedTimer = null;
+        }
+    }
+
+    /**
+     * Create the conversion executor from the bridge configuration
+     *
+     * @param vertx Vert.x instance
+     * @param bridgeConfig bridge configuration
+     * @param meterRegistry MeterRegistry instance for exposing the conversion metrics, null if metrics are not enabled
+     * @param protocol protocol head (i.e. http, amqp) using the executor, used for naming the pool and tagging the metrics
+     * @return the conversion executor
+     */
+    public static ConversionExecutor create(Vertx vertx, BridgeConfig bridgeConfig, MeterRegistry meterRegistry, String protocol) {
+        return new ConversionExecutor(vertx, bridgeConfig, meterRegistry, protocol);
+    }
+
+    /**
+     * @return a new queue of conversions, to be used by a single endpoint for keeping the ordering
+     */
+    public Queue createQueue() {
+        return new Queue();
+    }
+
+    /**
+     * Close the executor releasing the worker pool
+     */
+    public void close() {
+        this.workerExecutor.close();
+    }
+
+    private boolean offload(long size) {
+        return this.offloadThreshold >= 0 && size >= this.offloadThreshold;
+    }
+
+    private <T> void convert(Callable<T> conversion, Promise<T> promise) {
+        try {
+            promise.complete(this.offloadedTimer != null ? this.offloadedTimer.recordCallable(conversion) : conversion.call());
+        } catch (Exception e) {
+            promise.fail(e);
+        }
+    }
+
+    /**
+     * Queue of conversions executed in the same order they are submitted.
+     * A conversion is executed in place, on the caller thread, when it is below the size threshold
+     * and there are no offloaded conversions still pending; otherwise it is offloaded to the worker pool
+     * after the previous ones complete.
+     * It has to be used from the same event loop which created it.
+     */
+    public class Queue {
+
+        private Future<?> tail = Future.succeededFuture();
+        private int pending;
+
+        private Queue() {
+        }
+
+        /**
+         * Submit a conversion
+         *
+         * @param size size in bytes of the data to convert
+         * @param conversion conversion to run
+         * @param <T> type of the conversion result
+         * @return future completed with the conversion result, on the caller event loop
+         */
+        public <T> Future<T> submit(long size, Callable<T> conversion) {
+            if (this.pending == 0 && !offload(size)) {
+                try {
+                    return Future.succeededFuture(conversion.call());
+                } catch (Exception e) {
+                    return Future.failedFuture(e);
+                }
+            }
+
+            this.pending++;
+            queueDepth.incrementAndGet();
+            Promise<T> promise = Promise.promise();
+            this.tail.onComplete(previous -> this.execute(conversion, promise));
+            this.tail = promise.future();
+            return promise.future();
+        }
+
+        private <T> void execute(Callable<T> conversion, Promise<T> promise) {
+            workerExecutor.<T>executeBlocking(p -> convert(conversion, p), false, done -> {
+                this.pending--;
+                queueDepth.decrementAndGet();
+                promise.handle(done);
+            });
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+/**
+ * Codec encoding the structured values with the Java serialization, as done by the
+ * {@link DefaultSerializer} and {@link DefaultDeserializer}.
+ * It's Java only and slower than {@link AmqpTypeBodyCodec}, available for compatibility with existing consumers
+ */
+public class JavaSerializationBodyCodec implements BodyCodec {
+
+    public static final String NAME = "java";
+
+    private final DefaultSerializer<Object> serializer = new DefaultSerializer<>();
+    private final DefaultDeserializer<Object> deserializer = new DefaultDeserializer<>();
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return this.serializer.serialize(null, value);
+    }
+
+    @Override
+    public Object decode(byte[] data) {
+        return this.deserializer.deserialize(null, data);
+    }
+}
@@ -19,9 +19,13 @@ import io.strimzi.kafka.bridge.MetricsReporter;
 import io.strimzi.kafka.bridge.SinkBridgeEndpoint;
 import io.strimzi.kafka.bridge.SourceBridgeEndpoint;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.strimzi.kafka.bridge.converter.ConversionExecutor;
 import io.strimzi.kafka.bridge.http.model.HttpBridgeError;
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
@@ -30,11 +34,13 @@ import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpConnection;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.api.contract.openapi3.OpenAPI3RouterFactory;
 import io.vertx.ext.web.api.validation.ValidationException;
 
+import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.common.config.ConfigException;
@@ -43,11 +49,13 @@ import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.Iterator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
@@ -64,6 +72,9 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
 
     private static final Logger log = LoggerFactory.getLogger(HttpBridge.class);
 
+    // paths still served while the bridge is shutting down, and not rate limited
+    private static final Set<String> SERVICE_PATHS = new HashSet<>(Arrays.asList("/healthy", "/ready", "/metrics"));
+
     private final BridgeConfig bridgeConfig;
 
     private HttpServer httpServer;
@@ -73,6 +84,18 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
     // if the bridge is ready to handle requests
     private boolean isReady = false;
 
+    // if the bridge is shutting down, rejecting new requests and waiting for the in-flight ones
+    private boolean draining = false;
+    private int inFlightRequests;
+    private Promise<Void> drained;
+
+    // maximum request body sizes, for the operations sending records and for the other ones
+    private long producerMaxBodyBytes;
+    private long maxBodyBytes;
+
+    // recorder of the phases timing of the requests, null if the timing is not enabled
+    private HttpRequestTiming.Recorder timingRecorder;
+
     private Router router;
 
     private HealthChecker healthChecker;
@@ -81,6 +104,9 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
 
     private MetricsReporter metricsReporter;
 
+    // OpenAPI router factory, loaded in advance or on start
+    private Future<OpenAPI3RouterFactory> routerFactory;
+
     /**
      * Constructor
      *
@@ -88,8 +114,41 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
      * @param metricsReporter MetricsReporter instance for scraping metrics from different registries
      */
     public HttpBridge(BridgeConfig bridgeConfig, MetricsReporter metricsReporter) {
+        this(bridgeConfig, metricsReporter, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param bridgeConfig bridge configuration
+     * @param metricsReporter MetricsReporter instance for scraping metrics from different registries
+     * @param routerFactory OpenAPI router factory loaded in advance through {@link #loadRouterFactory(Vertx)},
+     *                      null for loading it on start
+     */
+    public HttpBridge(BridgeConfig bridgeConfig, MetricsReporter metricsReporter, Future<OpenAPI3RouterFactory> routerFactory) {
         this.bridgeConfig = bridgeConfig;
         this.metricsReporter = metricsReporter;
+        this.routerFactory = routerFactory;
+    }
+
+    /**
+     * Load the OpenAPI contract and create the related router factory.
+     * Parsing and resolving the contract takes a significant part of the startup, so it can be started
+     * in advance, while the rest of the bridge is starting, and the result passed to the HTTP bridge
+     *
+     * @param vertx Vert.x instance
+     * @return future completed with the router factory for the OpenAPI contract
+     */
+    public static Future<OpenAPI3RouterFactory> loadRouterFactory(Vertx vertx) {
+        long start = System.nanoTime();
+        Promise<OpenAPI3RouterFactory> promise = Promise.promise();
+        OpenAPI3RouterFactory.create(vertx, "openapi.json", ar -> {
+            if (ar.succeeded()) {
+                log.info("OpenAPI contract loaded in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            promise.handle(ar);
+        });
+        return promise.future();
     }
 
     private void bindHttpServer(Promise<Void> startPromise) {
@@ -97,7 +156,7 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
 
         this.httpServer = this.vertx.createHttpServer(httpServerOptions)
                 .connectionHandler(this::processConnection)
-                .requestHandler(this.router)
+                .requestHandler(this::processRequest)
                 .listen(httpServerAsyncResult -> {
                     if (httpServerAsyncResult.succeeded()) {
                         log.info("HTTP-Kafka Bridge started and listening on port {}", httpServerAsyncResult.result().actualPort());
@@ -142,11 +201,15 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
     @Override
     public void start(Promise<Void> startPromise) {
 
-        OpenAPI3RouterFactory.create(vertx, "openapi.json", ar -> {
+        long start = System.nanoTime();
+        Future<OpenAPI3RouterFactory> routerFactoryFuture = this.routerFactory != null ? this.routerFactory : loadRouterFactory(this.vertx);
+        // the router factory could be loaded on another context, the bridge has to be started on its own
+        routerFactoryFuture.onComplete(ar -> this.context.runOnContext(v -> {
             if (ar.succeeded()) {
                 OpenAPI3RouterFactory routerFactory = ar.result();
                 routerFactory.addHandlerByOperationId(this.SEND.getOperationId().toString(), this.SEND);
                 routerFactory.addHandlerByOperationId(this.SEND_TO_PARTITION.getOperationId().toString(), this.SEND_TO_PARTITION);
+                routerFactory.addHandlerByOperationId(this.SEND_TO_TOPICS.getOperationId().toString(), this.SEND_TO_TOPICS);
                 routerFactory.addHandlerByOperationId(this.CREATE_CONSUMER.getOperationId().toString(), this.CREATE_CONSUMER);
                 routerFactory.addHandlerByOperationId(this.DELETE_CONSUMER.getOperationId().toString(), this.DELETE_CONSUMER);
                 routerFactory.addHandlerByOperationId(this.SUBSCRIBE.getOperationId().toString(), this.SUBSCRIBE);
@@ -167,15 +230,21 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
                 routerFactory.addHandlerByOperationId(this.READY.getOperationId().toString(), this.READY);
                 routerFactory.addHandlerByOperationId(this.OPENAPI.getOperationId().toString(), this.OPENAPI);
                 routerFactory.addHandlerByOperationId(this.INFO.getOperationId().toString(), this.INFO);
-                if (this.bridgeConfig.getHttpConfig().isCorsEnabled()) {
-                    routerFactory.addGlobalHandler(getCorsHandler());
+                CorsHandler corsHandler = this.bridgeConfig.getHttpConfig().isCorsEnabled() ? getCorsHandler() : null;
+                if (corsHandler != null) {
+                    routerFactory.addGlobalHandler(corsHandler);
                 }
+                BodyHandler bodyHandler = this.bodyHandler();
+                routerFactory.setBodyHandler(bodyHandler);
 
                 this.router = routerFactory.getRouter();
+                this.addTrackingRoute();
+                this.addFastValidationRoutes(bodyHandler, corsHandler);
 
                 // handling validation errors and not existing endpoints
                 this.router.errorHandler(HttpResponseStatus.BAD_REQUEST.code(), this::errorHandler);
                 this.router.errorHandler(HttpResponseStatus.NOT_FOUND.code(), this::errorHandler);
+                this.router.errorHandler(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code(), this::errorHandler);
 
                 this.router.route("/metrics").handler(this::metricsHandler);
 
@@ -183,13 +252,106 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
                 this.httpBridgeContext = new HttpBridgeContext<>();
                 AdminClientEndpoint adminClientEndpoint = new HttpAdminClientEndpoint(this.vertx, this.bridgeConfig, this.httpBridgeContext);
                 this.httpBridgeContext.setAdminClientEndpoint(adminClientEndpoint);
+                this.setupHttpBridgeContext();
                 adminClientEndpoint.open();
+                log.info("HTTP-Kafka bridge verticle initialized in {} ms, binding the HTTP server", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
                 this.bindHttpServer(startPromise);
             } else {
                 log.error("Failed to create OpenAPI router factory");
                 startPromise.fail(ar.cause());
             }
-        });
+        }));
+    }
+
+    /**
+     * Create the handler for the request body, shared by all the operation routes.
+     * The body size is checked against the limit for the operation on the Content-Length before routing,
+     * while a body without a length (chunked) is checked as it's received against the highest limit
+     *
+     * @return handler for the request body
+     */
+    private BodyHandler bodyHandler() {
+        this.producerMaxBodyBytes = this.bridgeConfig.getHttpConfig().getProducerMaxBodyBytes();
+        this.maxBodyBytes = this.bridgeConfig.getHttpConfig().getMaxBodyBytes();
+        long bodyLimit = this.producerMaxBodyBytes < 0 || this.maxBodyBytes < 0 ? -1 : Math.max(this.producerMaxBodyBytes, this.maxBodyBytes);
+        return BodyHandler.create().setBodyLimit(bodyLimit);
+    }
+
+    /**
+     * Add the route, before any other, tracking all the in-flight requests and starting their timing
+     */
+    private void addTrackingRoute() {
+        this.timingRecorder = HttpRequestTiming.recorder(this.bridgeConfig.getHttpConfig(),
+                this.metricsReporter != null ? this.metricsReporter.getMeterRegistry() : null);
+        this.router.route().order(-1).handler(this::trackRequest);
+    }
+
+    /**
+     * Set up the services shared by the endpoints through the bridge context:
+     * the conversion executor, the topics metadata cache, the consumer affinity and the rate limiter
+     */
+    private void setupHttpBridgeContext() {
+        this.httpBridgeContext.setConversionExecutor(ConversionExecutor.create(this.vertx, this.bridgeConfig,
+                this.metricsReporter != null ? this.metricsReporter.getMeterRegistry() : null, "http"));
+        if (this.bridgeConfig.getHttpConfig().isProducerMetadataCacheEnabled()) {
+            this.httpBridgeContext.setTopicMetadataCache(TopicMetadataCache.create(this.vertx, this.bridgeConfig,
+                    this.bridgeConfig.getHttpConfig().getProducerMetadataCacheRefreshMs()));
+        }
+        this.httpBridgeContext.setConsumerAffinity(HttpConsumerAffinity.create(this.vertx, this.bridgeConfig.getHttpConfig()));
+        this.httpBridgeContext.setRateLimiter(HttpRateLimiter.create(this.vertx, this.bridgeConfig.getHttpConfig(),
+                this.metricsReporter != null ? this.metricsReporter.getMeterRegistry() : null));
+    }
+
+    /**
+     * Add the routes for the hot operations (sending records, polling and committing) validated by hand,
+     * before the routes generated from the OpenAPI contract, if the fast validation is enabled.
+     * The requests not matching these routes (i.e. with other content types) go through the contract validation.
+     *
+     * @param bodyHandler handler for the request body, as used by the routes generated from the contract
+     * @param corsHandler CORS handler, null if CORS is not enabled
+     */
+    private void addFastValidationRoutes(BodyHandler bodyHandler, CorsHandler corsHandler) {
+        if (!this.bridgeConfig.getHttpConfig().isFastValidationEnabled()) {
+            return;
+        }
+        Handler<RoutingContext> sendValidation = this.validationHandler(HttpValidation::validateSendParams);
+        this.fastValidationRoute(HttpMethod.POST, "/topics/:topicname", bodyHandler, corsHandler, sendValidation, this.SEND,
+                BridgeContentType.KAFKA_JSON_JSON, BridgeContentType.KAFKA_JSON_BINARY);
+        this.fastValidationRoute(HttpMethod.POST, "/topics/:topicname/partitions/:partitionid", bodyHandler, corsHandler, sendValidation, this.SEND_TO_PARTITION,
+                BridgeContentType.KAFKA_JSON_JSON, BridgeContentType.KAFKA_JSON_BINARY);
+        this.fastValidationRoute(HttpMethod.GET, "/consumers/:groupid/instances/:name/records", bodyHandler, corsHandler,
+                this.validationHandler(HttpValidation::validatePollParams), this.POLL);
+        this.fastValidationRoute(HttpMethod.POST, "/consumers/:groupid/instances/:name/offsets", bodyHandler, corsHandler,
+                this.validationHandler(routingContext -> routingContext.put(HttpValidation.VALIDATED_BODY,
+                        HttpValidation.validateOffsets(routingContext.getBody()))), this.COMMIT,
+                BridgeContentType.KAFKA_JSON);
+        log.info("Fast validation enabled for the {}, {}, {} and {} operations", this.SEND.getOperationId(),
+                this.SEND_TO_PARTITION.getOperationId(), this.POLL.getOperationId(), this.COMMIT.getOperationId());
+    }
+
+    private void fastValidationRoute(HttpMethod method, String path, BodyHandler bodyHandler, CorsHandler corsHandler,
+                                     Handler<RoutingContext> validation, HttpOpenApiOperation operation, String... contentTypes) {
+        // right after the in-flight requests tracking route
+        Route route = this.router.route(method, path).order(-1);
+        for (String contentType : contentTypes) {
+            route.consumes(contentType);
+        }
+        if (corsHandler != null) {
+            route.handler(corsHandler);
+        }
+        route.handler(bodyHandler).handler(validation).handler(operation);
+    }
+
+    private Handler<RoutingContext> validationHandler(Handler<RoutingContext> validation) {
+        return routingContext -> {
+            try {
+                validation.handle(routingContext);
+            } catch (ValidationException e) {
+                routingContext.fail(HttpResponseStatus.BAD_REQUEST.code(), e);
+                return;
+            }
+            routingContext.next();
+        };
     }
 
     private CorsHandler getCorsHandler() {
@@ -227,7 +389,32 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         log.info("Stopping HTTP-Kafka bridge verticle ...");
 
         this.isReady = false;
+        this.draining = true;
+
+        // the in-flight requests (i.e. sends waiting for the acks, polls and commits) are completed before closing the Kafka clients
+        this.drain().onComplete(v -> this.close(stopPromise));
+    }
+
+    /**
+     * Wait for the in-flight requests to complete, up to the configured drain timeout
+     *
+     * @return future completed when there are no more in-flight requests or when the timeout expires
+     */
+    private Future<Void> drain() {
+        if (this.inFlightRequests == 0) {
+            return Future.succeededFuture();
+        }
+        long drainTimeoutMs = this.bridgeConfig.getShutdownDrainTimeoutMs();
+        log.info("Waiting up to {} ms for {} in-flight requests to complete", drainTimeoutMs, this.inFlightRequests);
+        this.drained = Promise.promise();
+        long timer = this.vertx.setTimer(Math.max(1, drainTimeoutMs), t -> {
+            log.warn("Drain timeout expired with {} in-flight requests", this.inFlightRequests);
+            this.drained.tryComplete();
+        });
+        return this.drained.future().onComplete(v -> this.vertx.cancelTimer(timer));
+    }
 
+    private void close(Promise<Void> stopPromise) {
         // Consumers cleanup
         this.httpBridgeContext.closeAllSinkBridgeEndpoints();
 
@@ -239,6 +426,18 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         // admin client cleanup
         this.httpBridgeContext.closeAdminClientEndpoint();
 
+        // topics metadata cache cleanup
+        this.httpBridgeContext.closeTopicMetadataCache();
+
+        // conversion worker pool cleanup
+        this.httpBridgeContext.closeConversionExecutor();
+
+        // consumer instances affinity cleanup
+        this.httpBridgeContext.closeConsumerAffinity();
+
+        // rate limits cleanup
+        this.httpBridgeContext.closeRateLimiter();
+
         if (this.httpServer != null) {
 
             this.httpServer.close(done -> {
@@ -254,6 +453,70 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         }
     }
 
+    /**
+     * Handle an HTTP request through the router.
+     * While the bridge is shutting down, new requests are rejected, except for the health checks and metrics,
+     * as well as requests with a body bigger than the limit for the operation and requests from a client
+     * over its rate limits, before routing (and so before buffering the body)
+     *
+     * @param request HTTP request
+     */
+    private void processRequest(HttpServerRequest request) {
+        if (SERVICE_PATHS.contains(request.path())) {
+            this.router.handle(request);
+            return;
+        }
+        if (this.draining) {
+            HttpUtils.rejectRequest(request.response(), HttpResponseStatus.SERVICE_UNAVAILABLE, "The bridge is shutting down");
+            return;
+        }
+        long maxBodyBytes = this.isSendRequest(request) ? this.producerMaxBodyBytes : this.maxBodyBytes;
+        // a missing or malformed Content-Length is left to the body handler, cutting the body off as it's received
+        if (maxBodyBytes >= 0 && HttpUtils.contentLength(request) > maxBodyBytes) {
+            HttpUtils.rejectRequest(request.response(), HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE,
+                    "The request body is bigger than the maximum size of " + maxBodyBytes + " bytes");
+            return;
+        }
+        HttpRateLimiter rateLimiter = this.httpBridgeContext.getRateLimiter();
+        if (rateLimiter != null) {
+            long wait = rateLimiter.acquireRequest(request);
+            if (wait > 0) {
+                HttpUtils.sendTooManyRequests(request.response(), wait);
+                return;
+            }
+        }
+
+        this.router.handle(request);
+    }
+
+    /**
+     * @param request HTTP request
+     * @return if the request is for one of the operations sending records (to a topic, a partition or multiple topics)
+     */
+    private boolean isSendRequest(HttpServerRequest request) {
+        return request.method() == HttpMethod.POST && request.path().startsWith("/topics");
+    }
+
+    /**
+     * Track a request as in-flight until its response is completed or the connection is closed,
+     * starting its timing if enabled
+     *
+     * @param routingContext RoutingContext instance
+     */
+    private void trackRequest(RoutingContext routingContext) {
+        if (this.timingRecorder != null) {
+            HttpRequestTiming.start(routingContext, this.timingRecorder);
+        }
+        this.inFlightRequests++;
+        routingContext.addEndHandler(ar -> {
+            this.inFlightRequests--;
+            if (this.inFlightRequests == 0 && this.drained != null) {
+                this.drained.tryComplete();
+            }
+        });
+        routingContext.next();
+    }
+
     private HttpServerOptions httpServerOptions() {
         HttpServerOptions httpServerOptions = new HttpServerOptions();
         httpServerOptions.setHost(this.bridgeConfig.getHttpConfig().getHost());
@@ -271,6 +534,11 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         this.processProducer(routingContext);
     }
 
+    private void sendToTopics(RoutingContext routingContext) {
+        this.httpBridgeContext.setOpenApiOperation(HttpOpenApiOperations.SEND_TO_TOPICS);
+        this.processProducer(routingContext);
+    }
+
     private void createConsumer(RoutingContext routingContext) {
         this.httpBridgeContext.setOpenApiOperation(HttpOpenApiOperations.CREATE_CONSUMER);
 
@@ -278,6 +546,12 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         JsonObject body = routingContext.getBody() != null && routingContext.getBody().length() != 0 ? routingContext.getBodyAsJson() : new JsonObject();
         SinkBridgeEndpoint<byte[], byte[]> sink = null;
 
+        // a consumer instance with a specified name is created on the replica owning it
+        String name = body.getString("name");
+        if (name != null && this.forwardToOwner(routingContext, new ConsumerInstanceId(routingContext.pathParam("groupid"), name))) {
+            return;
+        }
+
         try {
             EmbeddedFormat format = EmbeddedFormat.from(body.getString("format", "binary"));
 
@@ -318,6 +592,10 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         String instanceId = routingContext.pathParam("name");
         ConsumerInstanceId kafkaConsumerInstanceId = new ConsumerInstanceId(groupId, instanceId);
 
+        if (this.forwardToOwner(routingContext, kafkaConsumerInstanceId)) {
+            return;
+        }
+
         SinkBridgeEndpoint<byte[], byte[]> deleteSinkEndpoint = this.httpBridgeContext.getHttpSinkEndpoints().get(kafkaConsumerInstanceId);
 
         if (deleteSinkEndpoint != null) {
@@ -415,6 +693,10 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         String instanceId = routingContext.pathParam("name");
         ConsumerInstanceId kafkaConsumerInstanceId = new ConsumerInstanceId(groupId, instanceId);
 
+        if (this.forwardToOwner(routingContext, kafkaConsumerInstanceId)) {
+            return;
+        }
+
         SinkBridgeEndpoint<byte[], byte[]> sinkEndpoint = this.httpBridgeContext.getHttpSinkEndpoints().get(kafkaConsumerInstanceId);
 
         if (sinkEndpoint != null) {
@@ -430,6 +712,18 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         }
     }
 
+    /**
+     * Forward a request for a consumer instance to the bridge replica owning it, if it's not this one
+     *
+     * @param routingContext RoutingContext instance
+     * @param consumerInstanceId consumer instance
+     * @return if the request was forwarded, false if it has to be handled locally
+     */
+    private boolean forwardToOwner(RoutingContext routingContext, ConsumerInstanceId consumerInstanceId) {
+        HttpConsumerAffinity consumerAffinity = this.httpBridgeContext.getConsumerAffinity();
+        return consumerAffinity != null && consumerAffinity.forward(routingContext, consumerInstanceId);
+    }
+
     /**
      * Process an HTTP request related to the producer
      * 
@@ -444,7 +738,7 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
 
         try {
             if (source == null) {
-                source = new HttpSourceBridgeEndpoint<>(this.vertx, this.bridgeConfig,
+                source = new HttpSourceBridgeEndpoint<>(this.vertx, this.bridgeConfig, this.httpBridgeContext,
                         contentTypeToFormat(contentType), new ByteArraySerializer(), new ByteArraySerializer());
 
                 source.closeHandler(s -> {
@@ -499,7 +793,8 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
                 String xForwardedPath = routingContext.request().getHeader("x-forwarded-path");
                 String xForwardedPrefix = routingContext.request().getHeader("x-forwarded-prefix");
                 if (xForwardedPath == null && xForwardedPrefix == null) {
-                    HttpUtils.sendFile(routingContext, HttpResponseStatus.OK.code(), BridgeContentType.JSON, "openapiv2.json");
+                    // the file content already read, instead of sending the file, so that the response completion is tracked
+                    HttpUtils.sendResponse(routingContext, HttpResponseStatus.OK.code(), BridgeContentType.JSON, readFile.result());
                 } else {
                     String path = "/";
                     if (xForwardedPrefix != null) {
@@ -558,6 +853,8 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
             }
         } else if (routingContext.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
             message = HttpResponseStatus.NOT_FOUND.reasonPhrase();
+        } else if (routingContext.statusCode() == HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()) {
+            message = "The request body is bigger than the maximum size";
         }
 
         HttpBridgeError error = new HttpBridgeError(routingContext.statusCode(), message);
@@ -571,7 +868,7 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
     }
 
     private void metricsHandler(RoutingContext routingContext) {
-        routingContext.response().setStatusCode(HttpResponseStatus.OK.code()).end(metricsReporter.scrape());
+        this.metricsReporter.handle(this.vertx, routingContext.response());
     }
 
     private void processConnection(HttpConnection httpConnection) {
@@ -600,6 +897,7 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
     private EmbeddedFormat contentTypeToFormat(String contentType) {
         switch (contentType) {
             case BridgeContentType.KAFKA_JSON_BINARY:
+            case BridgeContentType.OCTET_STREAM:
                 return EmbeddedFormat.BINARY;
             case BridgeContentType.KAFKA_JSON_JSON:
                 return EmbeddedFormat.JSON;
@@ -609,7 +907,8 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
 
     @Override
     public boolean isAlive() {
-        return this.isReady;
+        // still alive while shutting down, for completing the in-flight requests
+        return this.isReady || this.draining;
     }
 
     @Override
@@ -637,6 +936,14 @@ public class HttpBridge extends AbstractVerticle implements HealthCheckable {
         }
     };
 
+    HttpOpenApiOperation SEND_TO_TOPICS = new HttpOpenApiOperation(HttpOpenApiOperations.SEND_TO_TOPICS) {
+    
+        @Override
+        public void process(RoutingContext routingContext) {
+            sendToTopics(routingContext);
+        }
+    };
+
     HttpOpenApiOperation CREATE_CONSUMER = new HttpOpenApiOperation(HttpOpenApiOperations.CREATE_CONSUMER) {
     
         @Override
@@ -9,8 +9,11 @@ import io.strimzi.kafka.bridge.AdminClientEndpoint;
 import io.strimzi.kafka.bridge.ConsumerInstanceId;
 import io.strimzi.kafka.bridge.SinkBridgeEndpoint;
 import io.strimzi.kafka.bridge.SourceBridgeEndpoint;
+import io.strimzi.kafka.bridge.converter.ConversionExecutor;
+import io.vertx.core.Future;
 import io.vertx.core.http.HttpConnection;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,6 +29,10 @@ public class HttpBridgeContext<K, V> {
     private Map<ConsumerInstanceId, SinkBridgeEndpoint<K, V>> httpSinkEndpoints = new HashMap<>();
     private Map<HttpConnection, SourceBridgeEndpoint<K, V>> httpSourceEndpoints = new HashMap<>();
     private AdminClientEndpoint adminClientEndpoint;
+    private ConversionExecutor conversionExecutor;
+    private TopicMetadataCache topicMetadataCache;
+    private HttpConsumerAffinity consumerAffinity;
+    private HttpRateLimiter rateLimiter;
 
     private HttpOpenApiOperations openApiOperation;
 
@@ -59,6 +66,81 @@ public class HttpBridgeContext<K, V> {
         this.adminClientEndpoint = adminClientEndpoint;
     }
 
+    /**
+     * @return the executor for running the conversions between Kafka records and HTTP messages
+     */
+    public ConversionExecutor getConversionExecutor() {
+        return this.conversionExecutor;
+    }
+
+    /**
+     * Sets the executor for running the conversions between Kafka records and HTTP messages
+     *
+     * @param conversionExecutor the conversion executor
+     */
+    void setConversionExecutor(ConversionExecutor conversionExecutor) {
+        this.conversionExecutor = conversionExecutor;
+    }
+
+    /**
+     * @return the cache for validating topic and partition before sending records, null if not enabled
+     */
+    public TopicMetadataCache getTopicMetadataCache() {
+        return this.topicMetadataCache;
+    }
+
+    /**
+     * Validate that topic and partition exist through the topics metadata cache, if enabled
+     *
+     * @param topic topic to validate
+     * @param partition partition to validate, null for not validating the partition
+     * @return future completed with the validation result, already succeeded if the cache is not enabled
+     */
+    public Future<Void> validateTopicPartition(String topic, Integer partition) {
+        return this.topicMetadataCache != null ? this.topicMetadataCache.validate(topic, partition) : Future.succeededFuture();
+    }
+
+    /**
+     * Sets the cache for validating topic and partition before sending records
+     *
+     * @param topicMetadataCache the topics metadata cache
+     */
+    void setTopicMetadataCache(TopicMetadataCache topicMetadataCache) {
+        this.topicMetadataCache = topicMetadataCache;
+    }
+
+    /**
+     * @return the affinity of the consumer instances to the bridge replicas, null if not enabled
+     */
+    public HttpConsumerAffinity getConsumerAffinity() {
+        return this.consumerAffinity;
+    }
+
+    /**
+     * Sets the affinity of the consumer instances to the bridge replicas
+     *
+     * @param consumerAffinity the consumer instances affinity
+     */
+    void setConsumerAffinity(HttpConsumerAffinity consumerAffinity) {
+        this.consumerAffinity = consumerAffinity;
+    }
+
+    /**
+     * @return the per client rate limits, null if not enabled
+     */
+    public HttpRateLimiter getRateLimiter() {
+        return this.rateLimiter;
+    }
+
+    /**
+     * Sets the per client rate limits
+     *
+     * @param rateLimiter the rate limiter
+     */
+    void setRateLimiter(HttpRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
     /**
      * Set the OpenAPI operation invoked
      *
@@ -76,9 +158,10 @@ public class HttpBridgeContext<K, V> {
     }
 
     public void closeAllSinkBridgeEndpoints() {
-        for (Map.Entry<ConsumerInstanceId, SinkBridgeEndpoint<K, V>> sink: getHttpSinkEndpoints().entrySet()) {
-            if (sink.getValue() != null)
-                sink.getValue().close();
+        // on a copy, because closing a sink endpoint removes it from the map through its close handler
+        for (SinkBridgeEndpoint<K, V> sink: new ArrayList<>(getHttpSinkEndpoints().values())) {
+            if (sink != null)
+                sink.close();
         }
         getHttpSinkEndpoints().clear();
     }
@@ -95,4 +178,24 @@ public class HttpBridgeContext<K, V> {
         if (this.adminClientEndpoint != null)
             this.adminClientEndpoint.close();
     }
+
+    public void closeTopicMetadataCache() {
+        if (this.topicMetadataCache != null)
+            this.topicMetadataCache.close();
+    }
+
+    public void closeConversionExecutor() {
+        if (this.conversionExecutor != null)
+            this.conversionExecutor.close();
+    }
+
+    public void closeConsumerAffinity() {
+        if (this.consumerAffinity != null)
+            this.consumerAffinity.close();
+    }
+
+    public void closeRateLimiter() {
+        if (this.rateLimiter != null)
+            this.rateLimiter.close();
+    }
 }
@@ -7,6 +7,8 @@ package io.strimzi.kafka.bridge.http;
 
 import io.strimzi.kafka.bridge.config.AbstractConfig;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -24,11 +26,37 @@ public class HttpConfig extends AbstractConfig {
     public static final String HTTP_HOST = HTTP_CONFIG_PREFIX + "host";
     public static final String HTTP_PORT = HTTP_CONFIG_PREFIX + "port";
     public static final String HTTP_CONSUMER_TIMEOUT = HTTP_CONFIG_PREFIX + "timeoutSeconds";
+    public static final String HTTP_PRODUCER_METADATA_CACHE_ENABLED = HTTP_CONFIG_PREFIX + "producer.metadataCache.enabled";
+    public static final String HTTP_PRODUCER_METADATA_CACHE_REFRESH_MS = HTTP_CONFIG_PREFIX + "producer.metadataCache.refreshMs";
+    public static final String HTTP_AFFINITY_REPLICAS = HTTP_CONFIG_PREFIX + "affinity.replicas";
+    public static final String HTTP_AFFINITY_REPLICA = HTTP_CONFIG_PREFIX + "affinity.replica";
+    public static final String HTTP_AFFINITY_MODE = HTTP_CONFIG_PREFIX + "affinity.mode";
+    public static final String HTTP_RATE_LIMIT_KEY = HTTP_CONFIG_PREFIX + "rateLimit.key";
+    public static final String HTTP_RATE_LIMIT_REQUESTS_PER_SECOND = HTTP_CONFIG_PREFIX + "rateLimit.requestsPerSecond";
+    public static final String HTTP_RATE_LIMIT_RECORDS_PER_SECOND = HTTP_CONFIG_PREFIX + "rateLimit.recordsPerSecond";
+    public static final String HTTP_RATE_LIMIT_BYTES_PER_SECOND = HTTP_CONFIG_PREFIX + "rateLimit.bytesPerSecond";
+    public static final String HTTP_MAX_BODY_BYTES = HTTP_CONFIG_PREFIX + "maxBodyBytes";
+    public static final String HTTP_PRODUCER_MAX_BODY_BYTES = HTTP_CONFIG_PREFIX + "producer.maxBodyBytes";
+    public static final String HTTP_FAST_VALIDATION_ENABLED = HTTP_CONFIG_PREFIX + "fastValidation.enabled";
+    public static final String HTTP_TIMING_ENABLED = HTTP_CONFIG_PREFIX + "timing.enabled";
 
     public static final boolean DEFAULT_HTTP_ENABLED = true;
     public static final String DEFAULT_HOST = "0.0.0.0";
     public static final int DEFAULT_PORT = 8080;
     public static final long DEFAULT_CONSUMER_TIMEOUT = -1L;
+    public static final boolean DEFAULT_PRODUCER_METADATA_CACHE_ENABLED = false;
+    public static final long DEFAULT_PRODUCER_METADATA_CACHE_REFRESH_MS = 30000L;
+    public static final String AFFINITY_MODE_PROXY = "proxy";
+    public static final String AFFINITY_MODE_REDIRECT = "redirect";
+    public static final String DEFAULT_AFFINITY_MODE = AFFINITY_MODE_PROXY;
+    public static final String RATE_LIMIT_KEY_IP = "ip";
+    public static final String RATE_LIMIT_KEY_GROUP = "group";
+    public static final String RATE_LIMIT_KEY_HEADER_PREFIX = "header:";
+    public static final String DEFAULT_RATE_LIMIT_KEY = RATE_LIMIT_KEY_IP;
+    public static final long DEFAULT_RATE_LIMIT_PER_SECOND = 0L;
+    public static final long DEFAULT_MAX_BODY_BYTES = -1L;
+    public static final boolean DEFAULT_FAST_VALIDATION_ENABLED = false;
+    public static final boolean DEFAULT_TIMING_ENABLED = false;
 
     /**
      * Constructor
@@ -67,6 +95,108 @@ public class HttpConfig extends AbstractConfig {
         return Long.parseLong(this.config.getOrDefault(HTTP_CONSUMER_TIMEOUT, DEFAULT_CONSUMER_TIMEOUT).toString());
     }
 
+    /**
+     * @return if the topics metadata cache, for validating topic and partition before sending records, is enabled
+     */
+    public boolean isProducerMetadataCacheEnabled() {
+        return Boolean.valueOf(this.config.getOrDefault(HTTP_PRODUCER_METADATA_CACHE_ENABLED, DEFAULT_PRODUCER_METADATA_CACHE_ENABLED).toString());
+    }
+
+    /**
+     * @return the interval in milliseconds for refreshing the topics metadata cache
+     */
+    public long getProducerMetadataCacheRefreshMs() {
+        return Long.parseLong(this.config.getOrDefault(HTTP_PRODUCER_METADATA_CACHE_REFRESH_MS, DEFAULT_PRODUCER_METADATA_CACHE_REFRESH_MS).toString());
+    }
+
+    /**
+     * @return the addresses (host:port) of all the bridge replicas sharing the consumer instances,
+     * empty if the consumer instances affinity is disabled
+     */
+    public List<String> getAffinityReplicas() {
+        String replicas = this.config.getOrDefault(HTTP_AFFINITY_REPLICAS, "").toString();
+        return Arrays.stream(replicas.split(","))
+                .map(String::trim)
+                .filter(replica -> !replica.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the address (host:port) of this bridge replica, one of the affinity replicas;
+     * null for matching it against the local host name
+     */
+    public String getAffinityReplica() {
+        Object replica = this.config.get(HTTP_AFFINITY_REPLICA);
+        return replica == null || replica.toString().trim().isEmpty() ? null : replica.toString().trim();
+    }
+
+    /**
+     * @return if the requests for consumer instances owned by another replica are redirected to it,
+     * instead of being proxied (default)
+     */
+    public boolean isAffinityRedirect() {
+        return AFFINITY_MODE_REDIRECT.equals(this.config.getOrDefault(HTTP_AFFINITY_MODE, DEFAULT_AFFINITY_MODE).toString());
+    }
+
+    /**
+     * @return the client identity for the rate limits: the source IP ("ip", default), the consumer group
+     * in the request path ("group") or the value of an HTTP header ("header:name")
+     */
+    public String getRateLimitKey() {
+        return this.config.getOrDefault(HTTP_RATE_LIMIT_KEY, DEFAULT_RATE_LIMIT_KEY).toString();
+    }
+
+    /**
+     * @return the maximum number of requests per second for each client, 0 for no limit
+     */
+    public long getRateLimitRequestsPerSecond() {
+        return Long.parseLong(this.config.getOrDefault(HTTP_RATE_LIMIT_REQUESTS_PER_SECOND, DEFAULT_RATE_LIMIT_PER_SECOND).toString());
+    }
+
+    /**
+     * @return the maximum number of records sent per second for each client, 0 for no limit
+     */
+    public long getRateLimitRecordsPerSecond() {
+        return Long.parseLong(this.config.getOrDefault(HTTP_RATE_LIMIT_RECORDS_PER_SECOND, DEFAULT_RATE_LIMIT_PER_SECOND).toString());
+    }
+
+    /**
+     * @return the maximum number of request body bytes per second for each client, 0 for no limit
+     */
+    public long getRateLimitBytesPerSecond() {
+        return Long.parseLong(this.config.getOrDefault(HTTP_RATE_LIMIT_BYTES_PER_SECOND, DEFAULT_RATE_LIMIT_PER_SECOND).toString());
+    }
+
+    /**
+     * @return the maximum request body size in bytes for the operations other than sending records, -1 for no limit
+     */
+    public long getMaxBodyBytes() {
+        return Long.parseLong(this.config.getOrDefault(HTTP_MAX_BODY_BYTES, DEFAULT_MAX_BODY_BYTES).toString());
+    }
+
+    /**
+     * @return the maximum request body size in bytes for the operations sending records, -1 for no limit
+     */
+    public long getProducerMaxBodyBytes() {
+        return Long.parseLong(this.config.getOrDefault(HTTP_PRODUCER_MAX_BODY_BYTES, DEFAULT_MAX_BODY_BYTES).toString());
+    }
+
+    /**
+     * @return if the send, poll and commit operations are validated by hand, while converting the records
+     * or reading the offsets, instead of against the OpenAPI contract
+     */
+    public boolean isFastValidationEnabled() {
+        return Boolean.valueOf(this.config.getOrDefault(HTTP_FAST_VALIDATION_ENABLED, DEFAULT_FAST_VALIDATION_ENABLED).toString());
+    }
+
+    /**
+     * @return if the phases of the send and poll operations are timed, returning the durations in the Server-Timing
+     * response header and recording them in histograms
+     */
+    public boolean isTimingEnabled() {
+        return Boolean.valueOf(this.config.getOrDefault(HTTP_TIMING_ENABLED, DEFAULT_TIMING_ENABLED).toString());
+    }
+
     /**
      * @return if CORS is enabled
      */
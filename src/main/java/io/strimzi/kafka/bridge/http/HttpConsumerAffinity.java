@@ -0,0 +1,281 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.strimzi.kafka.bridge.BridgeContentType;
+import io.strimzi.kafka.bridge.ConsumerInstanceId;
+import io.strimzi.kafka.bridge.http.model.HttpBridgeError;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.http.RequestOptions;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RoutingContext;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Affinity of the HTTP consumer instances to the bridge replicas, for scaling the consumers horizontally
+ * behind a plain load balancer.
+ * Each consumer instance is owned by one of the configured replicas, through a consistent hashing of its
+ * group and name over a static ring of the replicas.
+ * The names generated by a replica hash to the replica itself, so the consumer instance name, and the base URI
+ * containing it, carries the routing to the owner.
+ * A request for a consumer instance owned by another replica is proxied to the owner (through a pooled HTTP client)
+ * or redirected to it.
+ * It has to be used from the same event loop which created it.
+ */
+public class HttpConsumerAffinity {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpConsumerAffinity.class);
+
+    // header marking a request proxied by another replica, handled locally without proxying it again;
+    // trusted only when it carries one of the other replicas, not to let a client bypass the affinity
+    static final String FORWARDED_BY_HEADER = "x-strimzi-bridge-forwarded-by";
+
+    // points on the ring for each replica, for spreading the consumer instances evenly
+    private static final int VIRTUAL_NODES = 128;
+    // maximum connections to each of the other replicas
+    private static final int MAX_POOL_SIZE = 32;
+
+    // hop-by-hop headers, not forwarded
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(Arrays.asList(
+            "connection", "keep-alive", "proxy-connection", "transfer-encoding", "te", "trailer", "upgrade",
+            "host", "content-length"));
+
+    private final Vertx vertx;
+    private final String self;
+    private final Set<String> replicas;
+    private final boolean redirect;
+    private final TreeMap<Integer, String> ring = new TreeMap<>();
+    private HttpClient client;
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param replicas addresses (host:port) of all the bridge replicas
+     * @param self address of this replica, one of the replicas
+     * @param redirect if the requests for another replica are redirected instead of proxied
+     */
+    HttpConsumerAffinity(Vertx vertx, List<String> replicas, String self, boolean redirect) {
+        if (!replicas.contains(self)) {
+            throw new IllegalArgumentException("The replica " + self + " is not one of the affinity replicas " + replicas);
+        }
+        this.vertx = vertx;
+        this.self = self;
+        this.replicas = new HashSet<>(replicas);
+        this.redirect = redirect;
+        for (String replica : replicas) {
+            // validating the address
+            parse(replica);
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                this.ring.put(hash(replica + "#" + i), replica);
+            }
+        }
+    }
+
+    /**
+     * Create the consumer instances affinity from the HTTP configuration
+     *
+     * @param vertx Vert.x instance
+     * @param httpConfig HTTP configuration
+     * @return the consumer instances affinity, null if not enabled
+     */
+    public static HttpConsumerAffinity create(Vertx vertx, HttpConfig httpConfig) {
+        List<String> replicas = httpConfig.getAffinityReplicas();
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        String self = httpConfig.getAffinityReplica() != null ? httpConfig.getAffinityReplica() : localReplica(replicas);
+        log.info("Consumer instances affinity enabled across {} as {}", replicas, self);
+        return new HttpConsumerAffinity(vertx, replicas, self, httpConfig.isAffinityRedirect());
+    }
+
+    /**
+     * @param id consumer instance
+     * @return address of the replica owning the consumer instance
+     */
+    String owner(ConsumerInstanceId id) {
+        int hash = hash(id.getGroupId() + "/" + id.getInstanceId());
+        Map.Entry<Integer, String> entry = this.ring.ceilingEntry(hash);
+        return entry != null ? entry.getValue() : this.ring.firstEntry().getValue();
+    }
+
+    /**
+     * Generate a name for a new consumer instance owned by this replica
+     *
+     * @param groupId consumer group
+     * @param prefix prefix of the name
+     * @return the consumer instance name
+     */
+    public String generateName(String groupId, String prefix) {
+        // each attempt hashes to this replica with probability 1/replicas
+        String name;
+        do {
+            name = prefix + UUID.randomUUID();
+        } while (!this.self.equals(this.owner(new ConsumerInstanceId(groupId, name))));
+        return name;
+    }
+
+    /**
+     * Forward the request for a consumer instance to the owner replica, if it's not this one
+     *
+     * @param routingContext RoutingContext instance
+     * @param id consumer instance
+     * @return if the request was forwarded, false if it has to be handled locally
+     */
+    public boolean forward(RoutingContext routingContext, ConsumerInstanceId id) {
+        HttpServerRequest request = routingContext.request();
+        if (this.isForwarded(request)) {
+            return false;
+        }
+        String owner = this.owner(id);
+        if (this.self.equals(owner)) {
+            return false;
+        }
+
+        if (this.redirect) {
+            routingContext.response()
+                    .setStatusCode(HttpResponseStatus.TEMPORARY_REDIRECT.code())
+                    .putHeader(HttpHeaderNames.LOCATION, request.scheme() + "://" + owner + request.uri())
+                    .end();
+        } else {
+            this.proxy(routingContext, owner);
+        }
+        return true;
+    }
+
+    /**
+     * @param request HTTP request
+     * @return if the request was proxied by another replica, carrying it in the forwarded by header
+     */
+    boolean isForwarded(HttpServerRequest request) {
+        String forwardedBy = request.getHeader(FORWARDED_BY_HEADER);
+        return forwardedBy != null && !this.self.equals(forwardedBy) && this.replicas.contains(forwardedBy);
+    }
+
+    private void proxy(RoutingContext routingContext, String owner) {
+        HttpServerRequest request = routingContext.request();
+        SocketAddress address = parse(owner);
+
+        MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+        copyHeaders(request.headers(), headers);
+        headers.set(FORWARDED_BY_HEADER, this.self);
+        // the owner builds the consumer base URI from the original host, not from its own address
+        if (request.getHeader("forwarded") == null && request.getHeader("x-forwarded-host") == null) {
+            headers.set("x-forwarded-host", request.host());
+            headers.set("x-forwarded-proto", request.scheme());
+        }
+
+        RequestOptions options = new RequestOptions()
+                .setMethod(request.method())
+                .setHost(address.host())
+                .setPort(address.port())
+                .setURI(request.uri())
+                .setHeaders(headers);
+        Buffer body = routingContext.getBody() != null ? routingContext.getBody() : Buffer.buffer();
+
+        log.debug("Proxying {} {} to {}", request.method(), request.uri(), owner);
+        this.client().request(options)
+                .compose(proxyRequest -> proxyRequest.send(body))
+                .compose(proxyResponse -> proxyResponse.body().map(proxyBody -> {
+                    HttpServerResponse response = routingContext.response();
+                    response.setStatusCode(proxyResponse.statusCode());
+                    copyHeaders(proxyResponse.headers(), response.headers());
+                    response.end(proxyBody);
+                    return null;
+                }))
+                .onFailure(t -> {
+                    log.warn("Failed to proxy {} {} to {}", request.method(), request.uri(), owner, t);
+                    if (!routingContext.response().headWritten()) {
+                        HttpBridgeError error = new HttpBridgeError(
+                                HttpResponseStatus.BAD_GATEWAY.code(),
+                                "The bridge replica owning the consumer instance is not available: " + t.getMessage()
+                        );
+                        HttpUtils.sendResponse(routingContext, HttpResponseStatus.BAD_GATEWAY.code(),
+                                BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
+                    }
+                });
+    }
+
+    /**
+     * Close the client used for proxying the requests
+     */
+    public void close() {
+        if (this.client != null) {
+            this.client.close();
+        }
+    }
+
+    private HttpClient client() {
+        if (this.client == null) {
+            this.client = this.vertx.createHttpClient(new HttpClientOptions()
+                    .setKeepAlive(true)
+                    .setMaxPoolSize(MAX_POOL_SIZE));
+        }
+        return this.client;
+    }
+
+    private static void copyHeaders(MultiMap from, MultiMap to) {
+        for (Map.Entry<String, String> header : from) {
+            if (!HOP_BY_HOP_HEADERS.contains(header.getKey().toLowerCase(Locale.ENGLISH))) {
+                to.add(header.getKey(), header.getValue());
+            }
+        }
+    }
+
+    private static int hash(String value) {
+        return Utils.toPositive(Utils.murmur2(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static SocketAddress parse(String replica) {
+        int separator = replica.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("The replica " + replica + " is not in the host:port format");
+        }
+        return SocketAddress.inetSocketAddress(Integer.parseInt(replica.substring(separator + 1)), replica.substring(0, separator));
+    }
+
+    /**
+     * Find this replica in the replicas, as the one with the host matching the local host name
+     * (i.e. the pod name in a Kubernetes StatefulSet, with replicas like pod-0.service:8080)
+     */
+    private static String localReplica(List<String> replicas) {
+        String hostName;
+        try {
+            hostName = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("The local host name is not available for finding this affinity replica", e);
+        }
+        for (String replica : replicas) {
+            String host = parse(replica).host();
+            if (host.equals(hostName) || host.startsWith(hostName + ".")) {
+                return replica;
+            }
+        }
+        throw new IllegalArgumentException("No affinity replica matching the local host name " + hostName + " in " + replicas);
+    }
+}
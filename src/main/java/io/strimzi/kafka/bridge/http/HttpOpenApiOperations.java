@@ -12,6 +12,7 @@ public enum HttpOpenApiOperations {
 
     SEND("send"),
     SEND_TO_PARTITION("sendToPartition"),
+    SEND_TO_TOPICS("sendToTopics"),
     CREATE_CONSUMER("createConsumer"),
     DELETE_CONSUMER("deleteConsumer"),
     SUBSCRIBE("subscribe"),
@@ -0,0 +1,290 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per client rate limits on the HTTP requests, the records sent and the request body bytes.
+ * Each limit is a token bucket, with a capacity of one second of the rate, implemented as a generic
+ * cell rate algorithm: the state of a bucket is just its theoretical arrival time, updated through
+ * a compare-and-set, so checking a limit is lock-free and doesn't allocate.
+ * The limits of a request are checked together: the units acquired from a bucket are given back
+ * when a later limit rejects the request, so that the rejected requests don't use up the client rates.
+ * The clients are identified by the source IP, the consumer group in the request path or an HTTP header;
+ * the requests without the configured identity are limited by their source IP.
+ * Idle clients are periodically evicted.
+ */
+public class HttpRateLimiter {
+
+    /**
+     * The rate limits for each client
+     */
+    public enum Limit {
+        REQUESTS("requests"),
+        RECORDS("records"),
+        BYTES("bytes");
+
+        private final String tag;
+
+        Limit(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final Limit[] LIMITS = Limit.values();
+    private static final long BURST_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long EVICTION_INTERVAL_MS = 60_000;
+    private static final String CONSUMERS_PATH = "/consumers/";
+
+    private final Vertx vertx;
+    // interval between two units (i.e. requests, records, bytes) at the configured rate, 0 for no limit
+    private final long[] intervalNanos = new long[LIMITS.length];
+    private final boolean groupKey;
+    private final String headerKey;
+    private final Counter[] throttled = new Counter[LIMITS.length];
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private long evictionTimer = -1;
+
+    /**
+     * Buckets of a client, with the theoretical arrival time for each limit
+     */
+    private static final class Client {
+        private final AtomicLongArray tats;
+
+        Client(long now) {
+            this.tats = new AtomicLongArray(LIMITS.length);
+            for (int i = 0; i < LIMITS.length; i++) {
+                this.tats.set(i, now);
+            }
+        }
+
+        boolean isIdle(long now) {
+            for (int i = 0; i < LIMITS.length; i++) {
+                if (this.tats.get(i) - now > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param httpConfig HTTP configuration
+     * @param meterRegistry MeterRegistry instance for exposing the throttling metrics, null if metrics are not enabled
+     */
+    HttpRateLimiter(Vertx vertx, HttpConfig httpConfig, MeterRegistry meterRegistry) {
+        this.vertx = vertx;
+        this.intervalNanos[Limit.REQUESTS.ordinal()] = interval(httpConfig.getRateLimitRequestsPerSecond());
+        this.intervalNanos[Limit.RECORDS.ordinal()] = interval(httpConfig.getRateLimitRecordsPerSecond());
+        this.intervalNanos[Limit.BYTES.ordinal()] = interval(httpConfig.getRateLimitBytesPerSecond());
+
+        String key = httpConfig.getRateLimitKey();
+        this.groupKey = HttpConfig.RATE_LIMIT_KEY_GROUP.equals(key);
+        this.headerKey = key.startsWith(HttpConfig.RATE_LIMIT_KEY_HEADER_PREFIX) ?
+                key.substring(HttpConfig.RATE_LIMIT_KEY_HEADER_PREFIX.length()) : null;
+        if (!this.groupKey && this.headerKey == null && !HttpConfig.RATE_LIMIT_KEY_IP.equals(key)) {
+            throw new IllegalArgumentException("Invalid rate limit key " + key);
+        }
+
+        if (meterRegistry != null) {
+            for (Limit limit : LIMITS) {
+                this.throttled[limit.ordinal()] = Counter.builder("strimzi.bridge.http.throttled")
+                        .description("Number of HTTP requests rejected because of a client over the rate limit")
+                        .tag("limit", limit.tag)
+                        .register(meterRegistry);
+            }
+            Gauge.builder("strimzi.bridge.http.rate.limited.clients", this.clients, Map::size)
+                    .description("Number of clients tracked by the HTTP rate limits")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Create the rate limiter from the HTTP configuration
+     *
+     * @param vertx Vert.x instance
+     * @param httpConfig HTTP configuration
+     * @param meterRegistry MeterRegistry instance for exposing the throttling metrics, null if metrics are not enabled
+     * @return the rate limiter, null if no limit is configured
+     */
+    public static HttpRateLimiter create(Vertx vertx, HttpConfig httpConfig, MeterRegistry meterRegistry) {
+        if (httpConfig.getRateLimitRequestsPerSecond() <= 0 && httpConfig.getRateLimitRecordsPerSecond() <= 0
+                && httpConfig.getRateLimitBytesPerSecond() <= 0) {
+            return null;
+        }
+        HttpRateLimiter rateLimiter = new HttpRateLimiter(vertx, httpConfig, meterRegistry);
+        rateLimiter.evictionTimer = vertx.setPeriodic(EVICTION_INTERVAL_MS, t -> rateLimiter.evictIdleClients());
+        return rateLimiter;
+    }
+
+    /**
+     * Acquire a request, and its body bytes if the length is known, for the client sending it
+     *
+     * @param request HTTP request
+     * @return 0 if the request is within the limits, otherwise the nanoseconds to wait before retrying
+     */
+    public long acquireRequest(HttpServerRequest request) {
+        Client client = this.client(request);
+        return this.acquire(client, 1, 0, this.isLimited(Limit.BYTES) ? HttpUtils.contentLength(request) : 0);
+    }
+
+    /**
+     * Acquire the records to send, and the request body bytes if they were not acquired with the request
+     * (because its length was not known in advance), for the client sending them.
+     * If the records are over the limits, the request and the bytes acquired with it are given back
+     *
+     * @param request HTTP request
+     * @param records number of records to send
+     * @param bodyLength length of the request body
+     * @return 0 if the records are within the limits, otherwise the nanoseconds to wait before retrying
+     */
+    public long acquireRecords(HttpServerRequest request, int records, long bodyLength) {
+        Client client = this.client(request);
+        long contentLength = this.isLimited(Limit.BYTES) ? HttpUtils.contentLength(request) : 0;
+        long wait = this.acquire(client, 0, records, contentLength < 0 ? bodyLength : 0);
+        if (wait != 0) {
+            this.release(client, Limit.REQUESTS, 1);
+            this.release(client, Limit.BYTES, contentLength);
+        }
+        return wait;
+    }
+
+    /**
+     * Stop evicting the idle clients
+     */
+    public void close() {
+        if (this.evictionTimer != -1) {
+            this.vertx.cancelTimer(this.evictionTimer);
+        }
+        this.clients.clear();
+    }
+
+    /**
+     * Acquire units from all the client buckets, or from none of them if any limit is exceeded
+     *
+     * @param client the client
+     * @param requests number of requests to acquire
+     * @param records number of records to acquire
+     * @param bytes number of bytes to acquire
+     * @return 0 if the units were acquired, otherwise the nanoseconds to wait before retrying
+     */
+    private long acquire(Client client, long requests, long records, long bytes) {
+        long wait = this.acquire(client, Limit.REQUESTS, requests);
+        if (wait == 0) {
+            wait = this.acquire(client, Limit.RECORDS, records);
+            if (wait == 0) {
+                wait = this.acquire(client, Limit.BYTES, bytes);
+                if (wait != 0) {
+                    this.release(client, Limit.RECORDS, records);
+                }
+            }
+            if (wait != 0) {
+                this.release(client, Limit.REQUESTS, requests);
+            }
+        }
+        return wait;
+    }
+
+    /**
+     * Acquire units from a client bucket
+     *
+     * @param client the client
+     * @param limit the limit to check
+     * @param units number of units to acquire
+     * @return 0 if the units were acquired, otherwise the nanoseconds to wait before retrying
+     */
+    private long acquire(Client client, Limit limit, long units) {
+        long interval = this.intervalNanos[limit.ordinal()];
+        if (interval == 0 || units <= 0) {
+            return 0;
+        }
+        int i = limit.ordinal();
+        long now = System.nanoTime();
+        for (;;) {
+            long tat = client.tats.get(i);
+            long start = tat - now > 0 ? tat : now;
+            long newTat = start + units * interval;
+            // more units than the bucket capacity are allowed on a full bucket, delaying the next acquisitions
+            if (newTat - now > BURST_NANOS && start != now) {
+                if (this.throttled[i] != null) {
+                    this.throttled[i].increment();
+                }
+                return newTat - now - BURST_NANOS;
+            }
+            if (client.tats.compareAndSet(i, tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Give back units acquired from a client bucket
+     *
+     * @param client the client
+     * @param limit the limit the units were acquired for
+     * @param units number of units to give back
+     */
+    private void release(Client client, Limit limit, long units) {
+        long interval = this.intervalNanos[limit.ordinal()];
+        if (interval != 0 && units > 0) {
+            client.tats.addAndGet(limit.ordinal(), -units * interval);
+        }
+    }
+
+    private boolean isLimited(Limit limit) {
+        return this.intervalNanos[limit.ordinal()] != 0;
+    }
+
+    private Client client(HttpServerRequest request) {
+        String key = this.key(request);
+        Client client = this.clients.get(key);
+        if (client == null) {
+            client = this.clients.computeIfAbsent(key, k -> new Client(System.nanoTime()));
+        }
+        return client;
+    }
+
+    private String key(HttpServerRequest request) {
+        String key = null;
+        if (this.headerKey != null) {
+            key = request.getHeader(this.headerKey);
+        } else if (this.groupKey) {
+            String path = request.path();
+            if (path.startsWith(CONSUMERS_PATH)) {
+                int end = path.indexOf('/', CONSUMERS_PATH.length());
+                key = path.substring(CONSUMERS_PATH.length(), end == -1 ? path.length() : end);
+            }
+        }
+        if (key == null) {
+            SocketAddress address = request.remoteAddress();
+            key = address != null ? address.host() : "";
+        }
+        return key;
+    }
+
+    private void evictIdleClients() {
+        long now = System.nanoTime();
+        this.clients.values().removeIf(client -> client.isIdle(now));
+    }
+
+    private static long interval(long perSecond) {
+        return perSecond > 0 ? Math.max(1, TimeUnit.SECONDS.toNanos(1) / perSecond) : 0;
+    }
+}
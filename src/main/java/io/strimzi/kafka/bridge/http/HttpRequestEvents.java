@@ -0,0 +1,101 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.strimzi.kafka.bridge.jfr.BridgeEvents;
+import io.strimzi.kafka.bridge.jfr.HttpPollEvent;
+import io.strimzi.kafka.bridge.jfr.HttpProduceEvent;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Flight Recorder events of the HTTP requests sending or polling records, kept in the routing context
+ * from the start of the handling, so that they are completed with the status code of the response
+ * on any path, including the errors.
+ * Nothing is put in the routing context when the events are not enabled in a running recording
+ */
+public class HttpRequestEvents {
+
+    static final String CONTEXT_KEY = "request-events";
+
+    private HttpProduceEvent produceEvent;
+    private HttpPollEvent pollEvent;
+    private String consumerGroup;
+    private String consumerName;
+    private int records;
+    private int failedRecords;
+
+    private HttpRequestEvents() {
+    }
+
+    /**
+     * Start the event of a request sending records, it's a no-op if the event is not enabled
+     *
+     * @param routingContext RoutingContext instance
+     */
+    public static void beginProduce(RoutingContext routingContext) {
+        HttpProduceEvent produceEvent = BridgeEvents.httpProduce();
+        if (produceEvent != null) {
+            HttpRequestEvents events = new HttpRequestEvents();
+            events.produceEvent = produceEvent;
+            routingContext.put(CONTEXT_KEY, events);
+        }
+    }
+
+    /**
+     * Start the event of a request polling records, it's a no-op if the event is not enabled
+     *
+     * @param routingContext RoutingContext instance
+     * @param consumerGroup consumer group
+     * @param consumerName consumer instance name
+     */
+    public static void beginPoll(RoutingContext routingContext, String consumerGroup, String consumerName) {
+        HttpPollEvent pollEvent = BridgeEvents.httpPoll();
+        if (pollEvent != null) {
+            HttpRequestEvents events = new HttpRequestEvents();
+            events.pollEvent = pollEvent;
+            events.consumerGroup = consumerGroup;
+            events.consumerName = consumerName;
+            routingContext.put(CONTEXT_KEY, events);
+        }
+    }
+
+    /**
+     * Set the number of records sent or polled by the request, it's a no-op if the request has no event
+     *
+     * @param routingContext RoutingContext instance
+     * @param records number of records sent or polled
+     * @param failedRecords number of records not sent
+     */
+    public static void records(RoutingContext routingContext, int records, int failedRecords) {
+        HttpRequestEvents events = routingContext.get(CONTEXT_KEY);
+        if (events != null) {
+            events.records = records;
+            events.failedRecords = failedRecords;
+        }
+    }
+
+    /**
+     * Complete the event of the request with its response, it's a no-op if the request has no event
+     *
+     * @param routingContext RoutingContext instance
+     * @param statusCode HTTP status code of the response
+     * @param bodyLength size of the response body
+     */
+    public static void complete(RoutingContext routingContext, int statusCode, long bodyLength) {
+        HttpRequestEvents events = routingContext.remove(CONTEXT_KEY);
+        if (events == null) {
+            return;
+        }
+        if (events.produceEvent != null) {
+            Buffer body = routingContext.getBody();
+            events.produceEvent.complete(routingContext.pathParam("topicname"), events.records, events.failedRecords,
+                    body != null ? body.length() : 0, statusCode);
+        } else {
+            events.pollEvent.complete(events.consumerGroup, events.consumerName, events.records, bodyLength, statusCode);
+        }
+    }
+}
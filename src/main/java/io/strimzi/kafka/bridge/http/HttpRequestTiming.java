@@ -0,0 +1,211 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.ext.web.RoutingContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timing of the phases of an HTTP request sending (to a topic, a partition or multiple topics) or polling records, measured with a monotonic clock.
+ * Each phase lasts from the end of the previous one (or the start of the routing for the first one),
+ * so the phases are contiguous and add up to the time spent by the bridge on the request.
+ * The durations are returned to the client in the Server-Timing response header (except for writing the response,
+ * which ends after the headers are sent) and recorded in per operation and phase histograms.
+ */
+public class HttpRequestTiming {
+
+    static final String CONTEXT_KEY = "request-timing";
+    static final String SERVER_TIMING = "Server-Timing";
+
+    /**
+     * Phases of an HTTP request
+     */
+    public enum Phase {
+        // reading the request body and the validation, until the operation is handled
+        PARSE("parse"),
+        // converting the request body to Kafka records, including the wait for a worker thread
+        CONVERSION("conversion"),
+        // waiting for the Kafka acks (sending) or the records (polling)
+        KAFKA("kafka"),
+        // building the response body
+        SERIALIZATION("serialization"),
+        // writing the response to the connection
+        WRITE("write");
+
+        private static final Phase[] PHASES = values();
+
+        private final String text;
+
+        Phase(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    private final Recorder recorder;
+    private final long[] durations = new long[Phase.PHASES.length];
+    private long last;
+    private HttpOpenApiOperations operation;
+
+    private HttpRequestTiming(Recorder recorder) {
+        this.recorder = recorder;
+        this.last = System.nanoTime();
+        for (int i = 0; i < this.durations.length; i++) {
+            this.durations[i] = -1;
+        }
+    }
+
+    /**
+     * Start the timing of a request, at the start of the routing
+     *
+     * @param routingContext RoutingContext instance
+     * @param recorder recorder of the durations
+     */
+    static void start(RoutingContext routingContext, Recorder recorder) {
+        routingContext.put(CONTEXT_KEY, new HttpRequestTiming(recorder));
+    }
+
+    /**
+     * Start handling an operation, ending the parse phase.
+     * Only the requests for which this is called are timed, it's a no-op if the timing is not enabled
+     *
+     * @param routingContext RoutingContext instance
+     * @param operation operation handling the request
+     */
+    public static void begin(RoutingContext routingContext, HttpOpenApiOperations operation) {
+        HttpRequestTiming timing = routingContext.get(CONTEXT_KEY);
+        if (timing != null) {
+            timing.operation = operation;
+            timing.mark(Phase.PARSE);
+        }
+    }
+
+    /**
+     * End a phase of the request, it's a no-op if the request is not timed
+     *
+     * @param routingContext RoutingContext instance
+     * @param phase the phase ended now
+     */
+    public static void mark(RoutingContext routingContext, Phase phase) {
+        HttpRequestTiming timing = get(routingContext);
+        if (timing != null) {
+            timing.mark(phase);
+        }
+    }
+
+    /**
+     * @param routingContext RoutingContext instance
+     * @return the timing of the request, null if the request is not timed
+     */
+    static HttpRequestTiming get(RoutingContext routingContext) {
+        HttpRequestTiming timing = routingContext.get(CONTEXT_KEY);
+        return timing != null && timing.operation != null ? timing : null;
+    }
+
+    /**
+     * End a phase of the request
+     *
+     * @param phase the phase ended now
+     */
+    void mark(Phase phase) {
+        long now = System.nanoTime();
+        this.durations[phase.ordinal()] = now - this.last;
+        this.last = now;
+    }
+
+    /**
+     * @return the value of the Server-Timing header, with the durations of the ended phases in milliseconds
+     */
+    String serverTiming() {
+        StringBuilder sb = new StringBuilder();
+        for (Phase phase : Phase.PHASES) {
+            long duration = this.durations[phase.ordinal()];
+            if (duration >= 0) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                // microseconds precision
+                long micros = TimeUnit.NANOSECONDS.toMicros(duration);
+                sb.append(phase).append(";dur=").append(micros / 1000).append('.');
+                long fraction = micros % 1000;
+                if (fraction < 100) {
+                    sb.append(fraction < 10 ? "00" : "0");
+                }
+                sb.append(fraction);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * End the write phase, when the response is written, and record the durations of the ended phases
+     */
+    void written() {
+        this.mark(Phase.WRITE);
+        this.recorder.record(this.operation, this.durations);
+    }
+
+    /**
+     * Create the recorder of the requests timing
+     *
+     * @param httpConfig HTTP bridge configuration
+     * @param meterRegistry MeterRegistry instance for the phases histograms, null if metrics are not enabled
+     * @return the recorder, null if the timing is not enabled
+     */
+    static Recorder recorder(HttpConfig httpConfig, MeterRegistry meterRegistry) {
+        return httpConfig.isTimingEnabled() ? new Recorder(meterRegistry) : null;
+    }
+
+    /**
+     * Records the durations of the requests phases in histograms, tagged by operation and phase
+     */
+    static class Recorder {
+
+        private final MeterRegistry meterRegistry;
+        private final Map<HttpOpenApiOperations, Timer[]> timers = new ConcurrentHashMap<>();
+
+        Recorder(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        void record(HttpOpenApiOperations operation, long[] durations) {
+            if (this.meterRegistry == null) {
+                return;
+            }
+            Timer[] phaseTimers = this.timers.computeIfAbsent(operation, this::createTimers);
+            for (int i = 0; i < durations.length; i++) {
+                if (durations[i] >= 0) {
+                    phaseTimers[i].record(durations[i], TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private Timer[] createTimers(HttpOpenApiOperations operation) {
+            Timer[] phaseTimers = new Timer[Phase.PHASES.length];
+            for (Phase phase : Phase.PHASES) {
+                phaseTimers[phase.ordinal()] = Timer.builder("strimzi.bridge.http.request.phase")
+                        .description("Time spent on a phase of the HTTP requests")
+                        .tag("operation", operation.toString())
+                        .tag("phase", phase.toString())
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(100)))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(this.meterRegistry);
+            }
+            return phaseTimers;
+        }
+    }
+}
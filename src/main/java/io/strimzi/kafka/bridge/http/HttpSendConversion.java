@@ -0,0 +1,152 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.strimzi.kafka.bridge.BridgeContentType;
+import io.strimzi.kafka.bridge.EmbeddedFormat;
+import io.strimzi.kafka.bridge.converter.ConversionExecutor;
+import io.strimzi.kafka.bridge.converter.MessageConverter;
+import io.strimzi.kafka.bridge.http.converter.HttpBinaryMessageConverter;
+import io.strimzi.kafka.bridge.http.converter.HttpJsonMessageConverter;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.kafka.client.producer.KafkaHeader;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+
+/**
+ * Conversion of the body of the send requests to Kafka records, made through the message converter or,
+ * when the body is the raw value of a single record, getting key, partition and headers from the HTTP headers.
+ * The conversion of big bodies is offloaded to the worker pool, keeping the ordering of the requests
+ * handled by the same producer endpoint.
+ *
+ * @param <K> type of Kafka record key
+ * @param <V> type of Kafka record value
+ */
+class HttpSendConversion<K, V> {
+
+    private final MessageConverter<K, V, Buffer, Buffer> messageConverter;
+    private final ConversionExecutor.Queue conversionQueue;
+
+    private HttpSendConversion(MessageConverter<K, V, Buffer, Buffer> messageConverter, ConversionExecutor.Queue conversionQueue) {
+        this.messageConverter = messageConverter;
+        this.conversionQueue = conversionQueue;
+    }
+
+    /**
+     * Create the conversion for the embedded format of the producer endpoint
+     *
+     * @param format embedded format of the records in the request body
+     * @param httpConfig HTTP configuration
+     * @param conversionQueue queue of the conversions of the producer endpoint
+     * @param <K> type of Kafka record key
+     * @param <V> type of Kafka record value
+     * @return the conversion, null if the embedded format is not supported
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> HttpSendConversion<K, V> create(EmbeddedFormat format, HttpConfig httpConfig, ConversionExecutor.Queue conversionQueue) {
+        switch (format) {
+            case JSON:
+                HttpJsonMessageConverter jsonMessageConverter = new HttpJsonMessageConverter();
+                jsonMessageConverter.setValidation(httpConfig.isFastValidationEnabled());
+                return new HttpSendConversion<>((MessageConverter<K, V, Buffer, Buffer>) jsonMessageConverter, conversionQueue);
+            case BINARY:
+                HttpBinaryMessageConverter binaryMessageConverter = new HttpBinaryMessageConverter();
+                binaryMessageConverter.setValidation(httpConfig.isFastValidationEnabled());
+                return new HttpSendConversion<>((MessageConverter<K, V, Buffer, Buffer>) binaryMessageConverter, conversionQueue);
+        }
+        return null;
+    }
+
+    /**
+     * Convert the body of a send request to Kafka records
+     *
+     * @param routingContext context of the current HTTP request
+     * @param topic topic to which the records are sent, null if specified in the records
+     * @param partition partition to which the records are sent, null if not specified in the request path
+     * @param completion operation on the converted records, run on the same thread as the conversion
+     * @return future completed with the converted records, on the caller event loop
+     */
+    Future<List<KafkaProducerRecord<K, V>>> convert(RoutingContext routingContext, String topic, Integer partition,
+                                                   UnaryOperator<List<KafkaProducerRecord<K, V>>> completion) {
+        // a raw record needs no conversion, its value is just the request body
+        boolean raw = isRawRecord(routingContext);
+        Callable<List<KafkaProducerRecord<K, V>>> conversion = raw ?
+                this.rawRecordConversion(topic, partition, routingContext) :
+                this.recordsConversion(topic, partition, routingContext.getBody());
+        return this.conversionQueue.submit(raw ? 0 : routingContext.getBody().length(), () -> completion.apply(conversion.call()));
+    }
+
+    /**
+     * @param routingContext context of the current HTTP request
+     * @return if the request body is the raw value of a single record
+     */
+    private static boolean isRawRecord(RoutingContext routingContext) {
+        return BridgeContentType.OCTET_STREAM.equals(routingContext.request().getHeader(HttpHeaderNames.CONTENT_TYPE));
+    }
+
+    /**
+     * Build the conversion of the HTTP request body to Kafka records through the message converter
+     *
+     * @param topic topic to which the records are sent
+     * @param partition partition to which the records are sent, null if not specified in the request path
+     * @param body HTTP request body
+     * @return the conversion to run
+     */
+    private Callable<List<KafkaProducerRecord<K, V>>> recordsConversion(String topic, Integer partition, Buffer body) {
+        return () -> this.messageConverter.toKafkaRecords(topic, partition, body);
+    }
+
+    /**
+     * Build the conversion of the HTTP request to a single Kafka record, using the body as the record value
+     * and getting key, partition and headers from the HTTP headers.
+     * The HTTP headers are read here, on the event loop, while the returned conversion can run on a worker thread.
+     *
+     * @param topic topic to which the record is sent
+     * @param partition partition to which the record is sent, null if not specified in the request path
+     * @param routingContext context of the current HTTP request
+     * @return the conversion to run
+     */
+    @SuppressWarnings("unchecked")
+    private Callable<List<KafkaProducerRecord<K, V>>> rawRecordConversion(String topic, Integer partition, RoutingContext routingContext) {
+        MultiMap httpHeaders = routingContext.request().headers();
+        String key = httpHeaders.get(HttpSourceBridgeEndpoint.KAFKA_KEY_HEADER);
+        String partitionHeader = httpHeaders.get(HttpSourceBridgeEndpoint.KAFKA_PARTITION_HEADER);
+        String prefix = HttpSourceBridgeEndpoint.KAFKA_HEADER_PREFIX;
+        List<KafkaHeader> headers = new ArrayList<>();
+        for (Entry<String, String> header : httpHeaders) {
+            if (header.getKey().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                headers.add(KafkaHeader.header(header.getKey().substring(prefix.length()), header.getValue()));
+            }
+        }
+        Buffer body = routingContext.getBody();
+
+        return () -> {
+            Integer recordPartition = partition;
+            if (partitionHeader != null) {
+                if (partition != null) {
+                    throw new IllegalStateException("Partition specified in header and in request path");
+                }
+                recordPartition = Integer.valueOf(partitionHeader);
+            }
+            K recordKey = key != null ? (K) key.getBytes(StandardCharsets.UTF_8) : null;
+            V recordValue = (V) HttpUtils.getBytes(body);
+            KafkaProducerRecord<K, V> record = KafkaProducerRecord.create(topic, recordKey, recordValue, recordPartition);
+            record.addHeaders(headers);
+            return Collections.singletonList(record);
+        };
+    }
+}
@@ -23,6 +23,7 @@ import io.strimzi.kafka.bridge.ConsumerInstanceId;
 import io.strimzi.kafka.bridge.SinkBridgeEndpoint;
 import io.strimzi.kafka.bridge.SinkTopicSubscription;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.strimzi.kafka.bridge.converter.ConversionExecutor;
 import io.strimzi.kafka.bridge.converter.MessageConverter;
 import io.strimzi.kafka.bridge.http.converter.HttpBinaryMessageConverter;
 import io.strimzi.kafka.bridge.http.converter.HttpJsonMessageConverter;
@@ -40,10 +41,12 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.kafka.client.common.TopicPartition;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecords;
 import io.vertx.kafka.client.consumer.OffsetAndMetadata;
 import io.vertx.kafka.client.producer.KafkaHeader;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.serialization.Deserializer;
 
 import java.util.ArrayList;
@@ -69,6 +72,8 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
 
     private MessageConverter<K, V, Buffer, Buffer> messageConverter;
 
+    private ConversionExecutor.Queue conversionQueue;
+
     private HttpBridgeContext<K, V> httpBridgeContext;
 
     HttpSinkBridgeEndpoint(Vertx vertx, BridgeConfig bridgeConfig, HttpBridgeContext<K, V> context,
@@ -80,6 +85,7 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
     @Override
     public void open() {
         this.messageConverter = this.buildMessageConverter();
+        this.conversionQueue = this.httpBridgeContext.getConversionExecutor().createQueue();
     }
 
     @Override
@@ -92,9 +98,13 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
         this.groupId = routingContext.pathParam("groupid");
 
         // if no name, a random one is assigned
-        this.name = bodyAsJson.getString("name", bridgeConfig.getBridgeID() == null
-                ? "kafka-bridge-consumer-" + UUID.randomUUID()
-                : bridgeConfig.getBridgeID() + "-" + UUID.randomUUID());
+        this.name = bodyAsJson.getString("name");
+        if (this.name == null) {
+            String prefix = bridgeConfig.getBridgeID() == null ? "kafka-bridge-consumer-" : bridgeConfig.getBridgeID() + "-";
+            HttpConsumerAffinity consumerAffinity = this.httpBridgeContext.getConsumerAffinity();
+            // with the affinity enabled, the name is generated for being owned by this replica
+            this.name = consumerAffinity == null ? prefix + UUID.randomUUID() : consumerAffinity.generateName(this.groupId, prefix);
+        }
 
         this.consumerInstanceId = new ConsumerInstanceId(this.groupId, this.name);
 
@@ -248,6 +258,8 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
     }
 
     private void doPoll(RoutingContext routingContext) {
+        HttpRequestTiming.begin(routingContext, HttpOpenApiOperations.POLL);
+        HttpRequestEvents.beginPoll(routingContext, this.groupId, this.name);
         if (topicSubscriptionsPattern == null && topicSubscriptions.isEmpty()) {
             HttpBridgeError error = new HttpBridgeError(
                     HttpResponseStatus.INTERNAL_SERVER_ERROR.code(),
@@ -272,6 +284,7 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
             }
 
             this.consume(records -> {
+                HttpRequestTiming.mark(routingContext, HttpRequestTiming.Phase.KAFKA);
                 if (records.succeeded()) {
 
                     Tracer tracer = GlobalTracer.get();
@@ -305,35 +318,15 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
                         }
                     });
 
-                    HttpResponseStatus responseStatus;
-                    try {
-                        Buffer buffer = messageConverter.toMessages(records.result());
-                        if (buffer.getBytes().length > this.maxBytes) {
-                            responseStatus = HttpResponseStatus.UNPROCESSABLE_ENTITY;
-                            HttpBridgeError error = new HttpBridgeError(
-                                    responseStatus.code(),
-                                    "Response exceeds the maximum number of bytes the consumer can receive"
-                            );
-                            HttpUtils.sendResponse(routingContext, responseStatus.code(),
-                                    BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
-                        } else {
-                            responseStatus = HttpResponseStatus.OK;
-                            HttpUtils.sendResponse(routingContext, responseStatus.code(),
-                                    this.format == EmbeddedFormat.BINARY ? BridgeContentType.KAFKA_JSON_BINARY : BridgeContentType.KAFKA_JSON_JSON,
-                                    buffer);
-                        }    
-                    } catch (DecodeException e) {
-                        log.error("Error decoding records as JSON", e);
-                        responseStatus = HttpResponseStatus.NOT_ACCEPTABLE;
-                        HttpBridgeError error = new HttpBridgeError(
-                            responseStatus.code(),
-                            e.getMessage()
-                        );
-                        HttpUtils.sendResponse(routingContext, responseStatus.code(),
-                            BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
-                    }
-                    Tags.HTTP_STATUS.set(span, responseStatus.code());
-                    span.finish();
+                    // conversion of big batches is offloaded to the worker pool, keeping the ordering on this consumer
+                    KafkaConsumerRecords<K, V> consumerRecords = records.result();
+                    this.conversionQueue.submit(recordsSize(consumerRecords), () -> messageConverter.toMessages(consumerRecords))
+                            .onComplete(converted -> {
+                                HttpRequestEvents.records(routingContext, consumerRecords.size(), 0);
+                                HttpResponseStatus responseStatus = this.sendPollResponse(routingContext, converted);
+                                Tags.HTTP_STATUS.set(span, responseStatus.code());
+                                span.finish();
+                            });
 
                 } else {
                     HttpBridgeError error = new HttpBridgeError(
@@ -354,6 +347,61 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
         }
     }
 
+    /**
+     * Reply to a poll request with the records converted to HTTP messages
+     *
+     * @param routingContext context of the current HTTP request
+     * @param converted result of the records conversion
+     * @return the HTTP status code of the response
+     */
+    private HttpResponseStatus sendPollResponse(RoutingContext routingContext, AsyncResult<Buffer> converted) {
+        HttpResponseStatus responseStatus;
+        if (converted.succeeded()) {
+            Buffer buffer = converted.result();
+            if (buffer.length() > this.maxBytes) {
+                responseStatus = HttpResponseStatus.UNPROCESSABLE_ENTITY;
+                HttpBridgeError error = new HttpBridgeError(
+                        responseStatus.code(),
+                        "Response exceeds the maximum number of bytes the consumer can receive"
+                );
+                HttpUtils.sendResponse(routingContext, responseStatus.code(),
+                        BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
+            } else {
+                responseStatus = HttpResponseStatus.OK;
+                HttpUtils.sendResponse(routingContext, responseStatus.code(),
+                        this.format == EmbeddedFormat.BINARY ? BridgeContentType.KAFKA_JSON_BINARY : BridgeContentType.KAFKA_JSON_JSON,
+                        buffer);
+            }
+        } else {
+            if (converted.cause() instanceof DecodeException) {
+                log.error("Error decoding records as JSON", converted.cause());
+                responseStatus = HttpResponseStatus.NOT_ACCEPTABLE;
+            } else {
+                log.error("Error converting records", converted.cause());
+                responseStatus = HttpResponseStatus.INTERNAL_SERVER_ERROR;
+            }
+            HttpBridgeError error = new HttpBridgeError(
+                responseStatus.code(),
+                converted.cause().getMessage()
+            );
+            HttpUtils.sendResponse(routingContext, responseStatus.code(),
+                BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
+        }
+        return responseStatus;
+    }
+
+    /**
+     * @param records records returned by a poll
+     * @return the overall size in bytes of the keys and values of the records
+     */
+    private static long recordsSize(KafkaConsumerRecords<?, ?> records) {
+        long size = 0;
+        for (ConsumerRecord<?, ?> record : records.records()) {
+            size += Math.max(record.serializedKeySize(), 0) + Math.max(record.serializedValueSize(), 0);
+        }
+        return size;
+    }
+
     private void doAssign(RoutingContext routingContext, JsonObject bodyAsJson) {
         if (subscribed) {
             HttpBridgeError error = new HttpBridgeError(
@@ -498,8 +546,10 @@ public class HttpSinkBridgeEndpoint<K, V> extends SinkBridgeEndpoint<K, V> {
 
         JsonObject bodyAsJson = EMPTY_JSON;
         try {
-            // check for an empty body
-            if (routingContext.getBody() != null && routingContext.getBody().length() != 0) {
+            // check for a body already parsed by the validation or an empty body
+            if (routingContext.get(HttpValidation.VALIDATED_BODY) != null) {
+                bodyAsJson = routingContext.get(HttpValidation.VALIDATED_BODY);
+            } else if (routingContext.getBody() != null && routingContext.getBody().length() != 0) {
                 bodyAsJson = routingContext.getBodyAsJson();
             }
             log.debug("[{}] Request: body = {}", routingContext.get("request-id"), bodyAsJson);
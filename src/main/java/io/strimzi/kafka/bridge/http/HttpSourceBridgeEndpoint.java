@@ -20,9 +20,6 @@ import io.strimzi.kafka.bridge.EmbeddedFormat;
 import io.strimzi.kafka.bridge.Endpoint;
 import io.strimzi.kafka.bridge.SourceBridgeEndpoint;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
-import io.strimzi.kafka.bridge.converter.MessageConverter;
-import io.strimzi.kafka.bridge.http.converter.HttpBinaryMessageConverter;
-import io.strimzi.kafka.bridge.http.converter.HttpJsonMessageConverter;
 import io.strimzi.kafka.bridge.http.model.HttpBridgeError;
 import io.strimzi.kafka.bridge.http.model.HttpBridgeResult;
 import io.vertx.core.CompositeFuture;
@@ -31,18 +28,21 @@ import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.validation.ValidationException;
 import io.vertx.kafka.client.producer.KafkaProducerRecord;
 import io.vertx.kafka.client.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
 import org.apache.kafka.common.serialization.Serializer;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -50,19 +50,33 @@ import java.util.Map.Entry;
 
 public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
 
-    private MessageConverter<K, V, Buffer, Buffer> messageConverter;
+    // query parameter for selecting the response mode on a send request
+    static final String RESPONSE_MODE_PARAM = "response_mode";
+    // per-partition summary instead of one offset per record
+    static final String RESPONSE_MODE_SUMMARY = "summary";
+
+    // HTTP headers carrying key, partition and Kafka headers when the body is the raw value of a single record
+    static final String KAFKA_KEY_HEADER = "X-Kafka-Key";
+    static final String KAFKA_PARTITION_HEADER = "X-Kafka-Partition";
+    static final String KAFKA_HEADER_PREFIX = "X-Kafka-Header-";
+
+    private HttpSendConversion<K, V> sendConversion;
     private boolean closing;
 
-    public HttpSourceBridgeEndpoint(Vertx vertx, BridgeConfig bridgeConfig,
+    private HttpBridgeContext<K, V> httpBridgeContext;
+
+    public HttpSourceBridgeEndpoint(Vertx vertx, BridgeConfig bridgeConfig, HttpBridgeContext<K, V> context,
                                     EmbeddedFormat format, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
         super(vertx, bridgeConfig, format, keySerializer, valueSerializer);
+        this.httpBridgeContext = context;
     }
 
     @Override
     public void open() {
         this.name = this.bridgeConfig.getBridgeID() == null ? "kafka-bridge-producer-" + UUID.randomUUID() : this.bridgeConfig.getBridgeID() + "-" + UUID.randomUUID();
         this.closing = false;
-        this.messageConverter = this.buildMessageConverter();
+        this.sendConversion = HttpSendConversion.create(this.format, this.bridgeConfig.getHttpConfig(),
+                this.httpBridgeContext.getConversionExecutor().createQueue());
         super.open();
     }
 
@@ -70,10 +84,11 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
     @SuppressWarnings("checkstyle:NPathComplexity")
     public void handle(Endpoint<?> endpoint) {
         RoutingContext routingContext = (RoutingContext) endpoint.get();
+        HttpRequestTiming.begin(routingContext, this.httpBridgeContext.getOpenApiOperation());
+        HttpRequestEvents.beginProduce(routingContext);
 
         String topic = routingContext.pathParam("topicname");
 
-        List<KafkaProducerRecord<K, V>> records;
         Integer partition = null;
         if (routingContext.pathParam("partitionid") != null) {
             try {
@@ -96,7 +111,7 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
             headers.put(header.getKey(), header.getValue());
         }
 
-        String operationName = partition == null ? HttpOpenApiOperations.SEND.toString() : HttpOpenApiOperations.SEND_TO_PARTITION.toString();
+        String operationName = this.httpBridgeContext.getOpenApiOperation().toString();
         SpanBuilder spanBuilder;
         SpanContext parentSpan = tracer.extract(Format.Builtin.HTTP_HEADERS, new TextMapAdapter(headers));
         if (parentSpan == null) {
@@ -107,43 +122,91 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
         Span span = spanBuilder.withTag(Tags.SPAN_KIND.getKey(), Tags.SPAN_KIND_SERVER).start();
         HttpTracingUtils.setCommonTags(span, routingContext);
 
-        try {
-            if (messageConverter == null) {
-                HttpBridgeError error = new HttpBridgeError(
-                        HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), HttpResponseStatus.INTERNAL_SERVER_ERROR.reasonPhrase());
-                HttpUtils.sendResponse(routingContext, HttpResponseStatus.INTERNAL_SERVER_ERROR.code(),
-                        BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
+        if (this.sendConversion == null) {
+            HttpBridgeError error = new HttpBridgeError(
+                    HttpResponseStatus.INTERNAL_SERVER_ERROR.code(), HttpResponseStatus.INTERNAL_SERVER_ERROR.reasonPhrase());
+            HttpUtils.sendResponse(routingContext, HttpResponseStatus.INTERNAL_SERVER_ERROR.code(),
+                    BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
 
-                Tags.HTTP_STATUS.set(span, HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
-                span.finish();
-                return;
-            }
-            records = messageConverter.toKafkaRecords(topic, partition, routingContext.getBody());
+            Tags.HTTP_STATUS.set(span, HttpResponseStatus.INTERNAL_SERVER_ERROR.code());
+            span.finish();
+            return;
+        }
+
+        // conversion of big payloads is offloaded to the worker pool, keeping the ordering on this connection
+        this.sendConversion.convert(routingContext, topic, partition, records -> this.injectTracingContext(records, tracer, span))
+                .onComplete(converted -> {
+                    HttpRequestTiming.mark(routingContext, HttpRequestTiming.Phase.CONVERSION);
+                    if (converted.failed() && converted.cause() instanceof ValidationException) {
+                        // records not valid against the OpenAPI contract, handled as the contract validation errors
+                        routingContext.fail(HttpResponseStatus.BAD_REQUEST.code(), converted.cause());
+
+                        Tags.HTTP_STATUS.set(span, HttpResponseStatus.BAD_REQUEST.code());
+                        span.finish();
+                        return;
+                    }
+                    if (converted.failed()) {
+                        HttpBridgeError error = new HttpBridgeError(
+                                HttpResponseStatus.UNPROCESSABLE_ENTITY.code(),
+                                converted.cause().getMessage());
+                        HttpUtils.sendResponse(routingContext, HttpResponseStatus.UNPROCESSABLE_ENTITY.code(),
+                                BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
 
-            for (KafkaProducerRecord<K, V> record :records)   {
-                tracer.inject(span.context(), Format.Builtin.TEXT_MAP, new TextMap() {
-                    @Override
-                    public void put(String key, String value) {
-                        record.addHeader(key, value);
+                        Tags.HTTP_STATUS.set(span, HttpResponseStatus.UNPROCESSABLE_ENTITY.code());
+                        span.finish();
+                        return;
                     }
+                    HttpRateLimiter rateLimiter = this.httpBridgeContext.getRateLimiter();
+                    if (rateLimiter != null) {
+                        long wait = rateLimiter.acquireRecords(routingContext.request(), converted.result().size(),
+                                routingContext.getBody().length());
+                        if (wait > 0) {
+                            HttpUtils.sendTooManyRequests(routingContext.response(), wait);
+                            HttpRequestEvents.records(routingContext, converted.result().size(), converted.result().size());
+                            HttpRequestEvents.complete(routingContext, HttpResponseStatus.TOO_MANY_REQUESTS.code(), 0);
 
-                    @Override
-                    public Iterator<Map.Entry<String, String>> iterator() {
-                        throw new UnsupportedOperationException("TextMapInjectAdapter should only be used with Tracer.inject()");
+                            Tags.HTTP_STATUS.set(span, HttpResponseStatus.TOO_MANY_REQUESTS.code());
+                            span.finish();
+                            return;
+                        }
                     }
+                    this.sendRecords(routingContext, converted.result(), span);
                 });
-            }
-        } catch (Exception e) {
-            HttpBridgeError error = new HttpBridgeError(
-                    HttpResponseStatus.UNPROCESSABLE_ENTITY.code(),
-                    e.getMessage());
-            HttpUtils.sendResponse(routingContext, HttpResponseStatus.UNPROCESSABLE_ENTITY.code(),
-                    BridgeContentType.KAFKA_JSON, error.toJson().toBuffer());
+    }
 
-            Tags.HTTP_STATUS.set(span, HttpResponseStatus.UNPROCESSABLE_ENTITY.code());
-            span.finish();
-            return;
+    /**
+     * Inject the tracing context in the headers of the Kafka records
+     *
+     * @param records Kafka records
+     * @param tracer tracer used for injecting the tracing context
+     * @param span span of the current request
+     * @return the same Kafka records
+     */
+    private List<KafkaProducerRecord<K, V>> injectTracingContext(List<KafkaProducerRecord<K, V>> records, Tracer tracer, Span span) {
+        for (KafkaProducerRecord<K, V> record :records)   {
+            tracer.inject(span.context(), Format.Builtin.TEXT_MAP, new TextMap() {
+                @Override
+                public void put(String key, String value) {
+                    record.addHeader(key, value);
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    throw new UnsupportedOperationException("TextMapInjectAdapter should only be used with Tracer.inject()");
+                }
+            });
         }
+        return records;
+    }
+
+    /**
+     * Send the Kafka records, replying to the HTTP request when all the sending operations are completed
+     *
+     * @param routingContext context of the current HTTP request
+     * @param records Kafka records to send
+     * @param span span of the current request
+     */
+    private void sendRecords(RoutingContext routingContext, List<KafkaProducerRecord<K, V>> records, Span span) {
         List<HttpBridgeResult<?>> results = new ArrayList<>(records.size());
 
         // start sending records asynchronously
@@ -151,32 +214,39 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
         for (KafkaProducerRecord<K, V> record : records) {
             Promise<RecordMetadata> promise = Promise.promise();
             sendHandlers.add(promise.future());
-            this.send(record, promise);
+            // fail fast on missing topic or partition, instead of waiting for the producer metadata, if the cache is enabled;
+            // records to the same topic wait for the same validation so they are still sent in order
+            this.httpBridgeContext.validateTopicPartition(record.topic(), record.partition())
+                    .onSuccess(v -> this.send(record, promise))
+                    .onFailure(promise::fail);
         }
 
         // wait for ALL futures completed
-        List<KafkaProducerRecord<K, V>> finalRecords = records;
         CompositeFuture.join(sendHandlers).onComplete(done -> {
+            HttpRequestTiming.mark(routingContext, HttpRequestTiming.Phase.KAFKA);
 
+            int failed = 0;
             for (int i = 0; i < sendHandlers.size(); i++) {
                 // check if, for each future, the sending operation is completed successfully or failed
                 if (sendHandlers.get(i).succeeded() && sendHandlers.get(i).result() != null) {
                     RecordMetadata metadata = (RecordMetadata) sendHandlers.get(i).result();
-                    log.debug("Delivered record {} to Kafka on topic {} at partition {} [{}]", finalRecords.get(i), metadata.getTopic(), metadata.getPartition(), metadata.getOffset());
+                    log.debug("Delivered record {} to Kafka on topic {} at partition {} [{}]", records.get(i), metadata.getTopic(), metadata.getPartition(), metadata.getOffset());
                     results.add(new HttpBridgeResult<>(metadata));
                 } else {
                     String msg = sendHandlers.get(i).cause().getMessage();
                     int code = handleError(sendHandlers.get(i).cause());
-                    log.error("Failed to deliver record {}", finalRecords.get(i), done.cause());
+                    log.error("Failed to deliver record {}", records.get(i), done.cause());
                     results.add(new HttpBridgeResult<>(new HttpBridgeError(code, msg)));
+                    failed++;
                 }
             }
             
             Tags.HTTP_STATUS.set(span, HttpResponseStatus.OK.code());
             span.finish();
+            HttpRequestEvents.records(routingContext, records.size(), failed);
             HttpUtils.sendResponse(routingContext, HttpResponseStatus.OK.code(),
-                    BridgeContentType.KAFKA_JSON, buildOffsets(results).toBuffer());
-            
+                    BridgeContentType.KAFKA_JSON, buildResponse(routingContext, results).toBuffer());
+
             if (this.closing) {
                 this.close();
             }
@@ -188,7 +258,23 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
 
     }
 
-    private JsonObject buildOffsets(List<HttpBridgeResult<?>> results) {
+    /**
+     * Build the response for the sent records, based on the response mode requested by the client
+     *
+     * @param routingContext context of the current HTTP request
+     * @param results results of the sending operations, in the same order as the records in the request
+     * @return JSON response
+     */
+    private JsonObject buildResponse(RoutingContext routingContext, List<HttpBridgeResult<?>> results) {
+        if (RESPONSE_MODE_SUMMARY.equals(routingContext.queryParams().get(RESPONSE_MODE_PARAM))) {
+            return buildOffsetsSummary(results);
+        }
+        // records sent to multiple topics, specified in the body instead of the path
+        boolean withTopic = routingContext.pathParam("topicname") == null;
+        return buildOffsets(results, withTopic);
+    }
+
+    private JsonObject buildOffsets(List<HttpBridgeResult<?>> results, boolean withTopic) {
         JsonObject jsonResponse = new JsonObject();
         JsonArray offsets = new JsonArray();
 
@@ -196,8 +282,11 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
             JsonObject offset = null;
             if (result.getResult() instanceof RecordMetadata) {
                 RecordMetadata metadata = (RecordMetadata) result.getResult();
-                offset = new JsonObject()
-                        .put("partition", metadata.getPartition())
+                offset = new JsonObject();
+                if (withTopic) {
+                    offset.put("topic", metadata.getTopic());
+                }
+                offset.put("partition", metadata.getPartition())
                         .put("offset", metadata.getOffset());
             } else if (result.getResult() instanceof HttpBridgeError) {
                 HttpBridgeError error = (HttpBridgeError) result.getResult();
@@ -209,8 +298,48 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
         return jsonResponse;
     }
 
+    /**
+     * Build a compact response for the sent records, made by a summary for each partition
+     * (first offset, last offset and number of records) and the errors for the failed records only,
+     * identified by their index in the request
+     *
+     * @param results results of the sending operations, in the same order as the records in the request
+     * @return JSON response with the partitions summary and the errors
+     */
+    private JsonObject buildOffsetsSummary(List<HttpBridgeResult<?>> results) {
+        Map<TopicPartition, PartitionOffsetsSummary> summaries = new LinkedHashMap<>();
+        JsonArray errors = new JsonArray();
+
+        for (int i = 0; i < results.size(); i++) {
+            Object result = results.get(i).getResult();
+            if (result instanceof RecordMetadata) {
+                RecordMetadata metadata = (RecordMetadata) result;
+                summaries.computeIfAbsent(new TopicPartition(metadata.getTopic(), metadata.getPartition()),
+                    tp -> new PartitionOffsetsSummary()).add(metadata.getOffset());
+            } else if (result instanceof HttpBridgeError) {
+                errors.add(((HttpBridgeError) result).toJson().put("index", i));
+            }
+        }
+
+        JsonArray partitions = new JsonArray();
+        for (Map.Entry<TopicPartition, PartitionOffsetsSummary> summary : summaries.entrySet()) {
+            partitions.add(new JsonObject()
+                    .put("topic", summary.getKey().topic())
+                    .put("partition", summary.getKey().partition())
+                    .put("first_offset", summary.getValue().firstOffset)
+                    .put("last_offset", summary.getValue().lastOffset)
+                    .put("count", summary.getValue().count));
+        }
+
+        return new JsonObject()
+                .put("partitions", partitions)
+                .put("errors", errors);
+    }
+
     private int handleError(Throwable ex) {
-        if (ex instanceof TimeoutException && ex.getMessage() != null &&
+        if (ex instanceof UnknownTopicOrPartitionException) {
+            return HttpResponseStatus.NOT_FOUND.code();
+        } else if (ex instanceof TimeoutException && ex.getMessage() != null &&
             ex.getMessage().contains("not present in metadata")) {
             this.closing = true;
             return HttpResponseStatus.NOT_FOUND.code();
@@ -219,13 +348,19 @@ public class HttpSourceBridgeEndpoint<K, V> extends SourceBridgeEndpoint<K, V> {
         }
     }
 
-    private MessageConverter<K, V, Buffer, Buffer> buildMessageConverter() {
-        switch (this.format) {
-            case JSON:
-                return (MessageConverter<K, V, Buffer, Buffer>) new HttpJsonMessageConverter();
-            case BINARY:
-                return (MessageConverter<K, V, Buffer, Buffer>) new HttpBinaryMessageConverter();
+    /**
+     * Offsets range and number of records sent to a partition
+     */
+    private static class PartitionOffsetsSummary {
+
+        private long firstOffset = Long.MAX_VALUE;
+        private long lastOffset = Long.MIN_VALUE;
+        private int count;
+
+        void add(long offset) {
+            this.firstOffset = Math.min(this.firstOffset, offset);
+            this.lastOffset = Math.max(this.lastOffset, offset);
+            this.count++;
         }
-        return null;
     }
 }
@@ -5,19 +5,35 @@
 
 package io.strimzi.kafka.bridge.http;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.strimzi.kafka.bridge.BridgeContentType;
+import io.strimzi.kafka.bridge.http.model.HttpBridgeError;
+import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 import io.vertx.ext.web.RoutingContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 public class HttpUtils {
 
     private static final Logger log = LoggerFactory.getLogger(HttpUtils.class);
 
     public static void sendResponse(RoutingContext routingContext, int statusCode, String contentType, Buffer body) {
         if (!routingContext.response().closed() && !routingContext.response().ended()) {
+            // the response body is built, the timing (if any) goes in the headers before writing it
+            HttpRequestTiming timing = HttpRequestTiming.get(routingContext);
+            if (timing != null) {
+                timing.mark(HttpRequestTiming.Phase.SERIALIZATION);
+                routingContext.response().putHeader(HttpRequestTiming.SERVER_TIMING, timing.serverTiming());
+            }
             routingContext.response().setStatusCode(statusCode);
             if (body != null) {
                 log.debug("[{}] Response: body = {}", routingContext.get("request-id"), Json.decodeValue(body));
@@ -25,7 +41,11 @@ public class HttpUtils {
                 routingContext.response().putHeader(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(body.length()));
                 routingContext.response().write(body);
             }
-            routingContext.response().end();
+            Future<Void> end = routingContext.response().end();
+            if (timing != null) {
+                end.onSuccess(v -> timing.written());
+            }
+            HttpRequestEvents.complete(routingContext, statusCode, body != null ? body.length() : 0);
         } else if (routingContext.response().ended()) {
             log.warn("[{}] Response: already ended!", routingContext.get("request-id").toString());
         }
@@ -40,4 +60,76 @@ public class HttpUtils {
             log.warn("[{}] Response: already ended!", routingContext.get("request-id").toString());
         } 
     }
+
+    /**
+     * Reject a request before handling it, closing the connection so that the rest of the request body is not read
+     *
+     * @param response HTTP response
+     * @param status HTTP status of the response
+     * @param message error message
+     */
+    public static void rejectRequest(HttpServerResponse response, HttpResponseStatus status, String message) {
+        if (!response.closed() && !response.ended()) {
+            HttpBridgeError error = new HttpBridgeError(status.code(), message);
+            response.setStatusCode(status.code())
+                    .putHeader(HttpHeaderNames.CONTENT_TYPE, BridgeContentType.KAFKA_JSON)
+                    .putHeader(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE)
+                    .end(error.toJson().toBuffer());
+        }
+    }
+
+    /**
+     * Reject a request from a client over its rate limits, with the time to wait before retrying
+     *
+     * @param response HTTP response
+     * @param waitNanos nanoseconds to wait before the request would be within the rate limits
+     */
+    public static void sendTooManyRequests(HttpServerResponse response, long waitNanos) {
+        if (!response.closed() && !response.ended()) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            response.putHeader(HttpHeaderNames.RETRY_AFTER, String.valueOf(retryAfter));
+            rejectRequest(response, HttpResponseStatus.TOO_MANY_REQUESTS, "Client over the rate limits");
+        }
+    }
+
+    /**
+     * Get the length of the request body from the Content-Length header
+     *
+     * @param request HTTP request
+     * @return the length of the request body, -1 if the header is missing or it isn't a valid length
+     */
+    public static long contentLength(HttpServerRequest request) {
+        String contentLength = request.getHeader(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                long length = Long.parseLong(contentLength.trim());
+                if (length >= 0) {
+                    return length;
+                }
+            } catch (NumberFormatException e) {
+                // not a valid length, as a missing one
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Get the content of the buffer as a byte array.
+     * The backing array is returned only when it holds exactly the buffer content, otherwise the content is copied;
+     * so a request body aggregated by the body handler is copied unless its buffer was allocated with exactly the content length
+     *
+     * @param buffer buffer to get the content from
+     * @return byte array with the buffer content, null if the buffer is null
+     */
+    public static byte[] getBytes(Buffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        ByteBuf byteBuf = buffer.getByteBuf();
+        if (byteBuf.hasArray() && byteBuf.arrayOffset() + byteBuf.readerIndex() == 0 &&
+                byteBuf.readableBytes() == byteBuf.array().length) {
+            return byteBuf.array();
+        }
+        return buffer.getBytes();
+    }
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.api.validation.ValidationException;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written validation of the hot operations (sending records, polling and committing), as an alternative
+ * to the validation generated from the OpenAPI contract.
+ * It checks the same constraints of the contract, while the body is converted (records) or used (offsets),
+ * instead of validating a separate JSON tree of the body, and fails with the same errors of the contract validation.
+ */
+public final class HttpValidation {
+
+    /**
+     * Key of the request body validated in advance, as a JsonObject, in the routing context
+     */
+    public static final String VALIDATED_BODY = "validated-body";
+
+    private static final String OBJECT = "object";
+    private static final String ARRAY = "array";
+    private static final String STRING = "string";
+    private static final String INTEGER = "integer";
+
+    private static final String RESPONSE_MODE_ENUM = "[offsets, summary]";
+    private static final String[] POLL_PARAMS = {"timeout", "max_bytes"};
+    private static final String[] OFFSET_REQUIRED = {"offset", "partition", "topic"};
+    private static final String[] HEADER_REQUIRED = {"value", "key"};
+    private static final List<String> RECORD_FIELDS = Arrays.asList("value", "key", "partition", "headers");
+    private static final List<String> PARTITION_RECORD_FIELDS = Arrays.asList("value", "key");
+
+    private HttpValidation() {
+    }
+
+    /**
+     * Validate the query and path parameters of the send operations, and that the body is not empty
+     *
+     * @param routingContext RoutingContext instance
+     * @throws ValidationException if a parameter is not valid or the body is empty
+     */
+    public static void validateSendParams(RoutingContext routingContext) {
+        String responseMode = singleQueryParam(routingContext, "response_mode");
+        if (responseMode != null && !"offsets".equals(responseMode) && !"summary".equals(responseMode)) {
+            throw paramError("response_mode", "Value " + responseMode + " in not inside enum list " + RESPONSE_MODE_ENUM);
+        }
+        String partition = routingContext.pathParam("partitionid");
+        if (partition != null && !isInteger(partition)) {
+            throw paramError("partitionid", "Value is not a valid number");
+        }
+        if (isEmpty(routingContext.getBody())) {
+            throw emptyBody();
+        }
+    }
+
+    /**
+     * Validate the query parameters of the poll operation
+     *
+     * @param routingContext RoutingContext instance
+     * @throws ValidationException if a parameter is not valid
+     */
+    public static void validatePollParams(RoutingContext routingContext) {
+        for (String name : POLL_PARAMS) {
+            String value = singleQueryParam(routingContext, name);
+            if (value != null && !isInteger(value)) {
+                throw paramError(name, "Value is not a valid number");
+            }
+        }
+    }
+
+    /**
+     * Parse and validate the body of the commit operation
+     *
+     * @param body request body
+     * @return the body as JSON
+     * @throws ValidationException if the body is not valid
+     */
+    public static JsonObject validateOffsets(Buffer body) {
+        JsonObject json = parseObject(body);
+        for (String field : json.fieldNames()) {
+            if (!"offsets".equals(field)) {
+                throw notDefined("$", field);
+            }
+        }
+        Object offsets = json.getValue("offsets");
+        if (json.containsKey("offsets")) {
+            if (!ARRAY.equals(type(offsets))) {
+                throw wrongType("$.offsets", offsets, ARRAY);
+            }
+            JsonArray array = (JsonArray) offsets;
+            for (int i = 0; i < array.size(); i++) {
+                Object offset = array.getValue(i);
+                if (!(offset instanceof JsonObject)) {
+                    throw wrongType("$.offsets[" + i + "]", offset, OBJECT);
+                }
+                validateOffset((JsonObject) offset, i);
+            }
+        }
+        return json;
+    }
+
+    private static void validateOffset(JsonObject offset, int index) {
+        for (String required : OFFSET_REQUIRED) {
+            if (!offset.containsKey(required)) {
+                throw missing("$.offsets[" + index + "]", required);
+            }
+        }
+        checkType(offset, "partition", INTEGER, "$.offsets[" + index + "]");
+        checkType(offset, "offset", INTEGER, "$.offsets[" + index + "]");
+        checkType(offset, "topic", STRING, "$.offsets[" + index + "]");
+        for (String field : offset.fieldNames()) {
+            if (!"offset".equals(field) && !"partition".equals(field) && !"topic".equals(field)) {
+                throw notDefined("$.offsets[" + index + "]", field);
+            }
+        }
+    }
+
+    /**
+     * Parse and validate the body of the send operations, except for each record in the list
+     * which is validated through {@link #validateProducerRecord(Object, int, boolean)} when converted
+     *
+     * @param body request body
+     * @return the body as JSON
+     * @throws ValidationException if the body is not valid
+     */
+    public static JsonObject validateProducerRecords(Buffer body) {
+        JsonObject json = parseObject(body);
+        for (String field : json.fieldNames()) {
+            if (!"records".equals(field)) {
+                throw notDefined("$", field);
+            }
+        }
+        if (json.containsKey("records")) {
+            checkType(json, "records", ARRAY, "$");
+        }
+        return json;
+    }
+
+    /**
+     * Validate a record of the send operations
+     *
+     * @param record record in the records list
+     * @param index index of the record in the list
+     * @param toPartition if the records are sent to the partition in the request path (so without partition and headers)
+     * @throws ValidationException if the record is not valid
+     */
+    public static void validateProducerRecord(Object record, int index, boolean toPartition) {
+        if (!(record instanceof JsonObject)) {
+            throw wrongType(recordPath(index, null), record, OBJECT);
+        }
+        JsonObject json = (JsonObject) record;
+        if (!json.containsKey("value")) {
+            throw missing(recordPath(index, null), "value");
+        }
+        // same order of the checks as the contract validation, for the same error on a record with more errors
+        if (!toPartition) {
+            validatePartition(json, index);
+            if (json.containsKey("headers")) {
+                validateHeaders(json.getValue("headers"), index);
+            }
+        }
+        validateValue(json.getValue("value"), index, toPartition);
+        validateKey(json, index);
+        for (String field : json.fieldNames()) {
+            if (!(toPartition ? PARTITION_RECORD_FIELDS : RECORD_FIELDS).contains(field)) {
+                throw notDefined(recordPath(index, null), field);
+            }
+        }
+    }
+
+    private static void validatePartition(JsonObject record, int index) {
+        if (record.containsKey("partition") && !INTEGER.equals(type(record.getValue("partition")))) {
+            throw wrongType(recordPath(index, "partition"), record.getValue("partition"), INTEGER);
+        }
+    }
+
+    private static void validateValue(Object value, int index, boolean toPartition) {
+        // a null value (tombstone) is allowed only when not sending to the partition in the request path
+        if (!isObjectOrString(value) && (value != null || toPartition)) {
+            throw wrongType(recordPath(index, "value"), value, OBJECT);
+        }
+    }
+
+    private static void validateKey(JsonObject record, int index) {
+        if (record.containsKey("key") && !isObjectOrString(record.getValue("key"))) {
+            throw wrongType(recordPath(index, "key"), record.getValue("key"), OBJECT);
+        }
+    }
+
+    private static boolean isObjectOrString(Object value) {
+        return value instanceof JsonObject || value instanceof String;
+    }
+
+    private static void validateHeaders(Object headers, int index) {
+        if (!ARRAY.equals(type(headers))) {
+            throw wrongType(recordPath(index, "headers"), headers, ARRAY);
+        }
+        JsonArray array = (JsonArray) headers;
+        for (int i = 0; i < array.size(); i++) {
+            Object header = array.getValue(i);
+            if (!(header instanceof JsonObject)) {
+                throw wrongType(recordPath(index, "headers") + "[" + i + "]", header, OBJECT);
+            }
+            JsonObject json = (JsonObject) header;
+            for (String required : HEADER_REQUIRED) {
+                if (!json.containsKey(required)) {
+                    throw missing(recordPath(index, "headers") + "[" + i + "]", required);
+                }
+            }
+            if (!(json.getValue("key") instanceof String)) {
+                throw wrongType(recordPath(index, "headers") + "[" + i + "].key", json.getValue("key"), STRING);
+            }
+            if (!(json.getValue("value") instanceof String)) {
+                throw wrongType(recordPath(index, "headers") + "[" + i + "].value", json.getValue("value"), STRING);
+            }
+        }
+    }
+
+    private static JsonObject parseObject(Buffer body) {
+        if (isEmpty(body)) {
+            throw emptyBody();
+        }
+        Object json;
+        try {
+            json = Json.decodeValue(body);
+        } catch (DecodeException e) {
+            throw ValidationException.ValidationExceptionFactory.generateNotParsableJsonBodyException(parseError(body));
+        }
+        if (!(json instanceof JsonObject)) {
+            throw wrongType("$", json, OBJECT);
+        }
+        return (JsonObject) json;
+    }
+
+    /**
+     * Get the same message of the contract validation for a body which is not valid JSON,
+     * decoding it again as a string, only on the error path
+     */
+    private static String parseError(Buffer body) {
+        try {
+            Json.decodeValue(body.toString());
+            return "Json is not valid";
+        } catch (DecodeException e) {
+            String message = e.getMessage();
+            return message.startsWith("Failed to decode:") ? message.substring("Failed to decode:".length()) : message;
+        }
+    }
+
+    private static boolean isEmpty(Buffer body) {
+        return body == null || body.length() == 0;
+    }
+
+    private static String singleQueryParam(RoutingContext routingContext, String name) {
+        List<String> values = routingContext.queryParam(name);
+        if (values.size() > 1) {
+            throw paramError(name, "Parameter null not expected as an array");
+        }
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    private static boolean isInteger(String value) {
+        if (value.isEmpty() || value.charAt(0) == '+') {
+            return false;
+        }
+        try {
+            Integer.parseInt(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String recordPath(int index, String field) {
+        return "$.records[" + index + "]" + (field != null ? "." + field : "");
+    }
+
+    private static void checkType(JsonObject json, String field, String expected, String path) {
+        Object value = json.getValue(field);
+        if (!expected.equals(type(value))) {
+            throw wrongType(path + "." + field, value, expected);
+        }
+    }
+
+    private static String type(Object value) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof JsonObject || value instanceof Map) {
+            return OBJECT;
+        } else if (value instanceof JsonArray || value instanceof List) {
+            return ARRAY;
+        } else if (value instanceof String) {
+            return STRING;
+        } else if (value instanceof Boolean) {
+            return "boolean";
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof BigInteger) {
+            return INTEGER;
+        }
+        return "number";
+    }
+
+    private static ValidationException wrongType(String path, Object value, String expected) {
+        return bodyError(path, path + ": " + type(value) + " found, " + expected + " expected");
+    }
+
+    private static ValidationException missing(String path, String field) {
+        return bodyError(path, path + "." + field + ": is missing but it is required");
+    }
+
+    private static ValidationException notDefined(String path, String field) {
+        return bodyError(path, path + "." + field + ": is not defined in the schema and the schema does not allow additional properties");
+    }
+
+    private static ValidationException emptyBody() {
+        return ValidationException.ValidationExceptionFactory.generateNotParsableJsonBodyException("Json should not be null");
+    }
+
+    private static ValidationException bodyError(String path, String message) {
+        return ValidationException.ValidationExceptionFactory.generateInvalidJsonBodyException(path, null, message);
+    }
+
+    private static ValidationException paramError(String name, String message) {
+        ValidationException exception = new ValidationException(message, ValidationException.ErrorType.NO_MATCH);
+        exception.setParameterName(name);
+        return exception;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.strimzi.kafka.bridge.KafkaClientMeters;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.strimzi.kafka.bridge.config.KafkaConfig;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.kafka.admin.KafkaAdminClient;
+import io.vertx.kafka.admin.TopicDescription;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Cache of the topics metadata (number of partitions), used for validating topic and partition
+ * before sending records, so that sending to a missing topic or partition fails fast instead of
+ * blocking the producer until the metadata are not available.
+ * The topics are described on first use and refreshed in the background.
+ * It has to be used from the same event loop which created it.
+ */
+public class TopicMetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TopicMetadataCache.class);
+
+    private final Vertx vertx;
+    private final BridgeConfig bridgeConfig;
+    private final long refreshMs;
+
+    private KafkaAdminClient adminClient;
+    private KafkaClientMeters adminClientMeters;
+    private long refreshTimer = -1;
+
+    // number of partitions for each topic, as a pending, succeeded or failed (missing topic) description
+    private final Map<String, Future<Integer>> partitions = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param bridgeConfig Bridge configuration
+     * @param refreshMs interval in milliseconds for refreshing the cached topics metadata
+     */
+    public TopicMetadataCache(Vertx vertx, BridgeConfig bridgeConfig, long refreshMs) {
+        this.vertx = vertx;
+        this.bridgeConfig = bridgeConfig;
+        this.refreshMs = refreshMs;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param vertx Vert.x instance
+     * @param adminClient admin client used for getting the topics metadata
+     * @param refreshMs interval in milliseconds for refreshing the cached topics metadata
+     */
+    TopicMetadataCache(Vertx vertx, KafkaAdminClient adminClient, long refreshMs) {
+        this(vertx, (BridgeConfig) null, refreshMs);
+        this.adminClient = adminClient;
+    }
+
+    /**
+     * Create the cache and start its background refresh
+     *
+     * @param vertx Vert.x instance
+     * @param bridgeConfig Bridge configuration
+     * @param refreshMs interval in milliseconds for refreshing the cached topics metadata
+     * @return the started cache
+     */
+    public static TopicMetadataCache create(Vertx vertx, BridgeConfig bridgeConfig, long refreshMs) {
+        TopicMetadataCache topicMetadataCache = new TopicMetadataCache(vertx, bridgeConfig, refreshMs);
+        topicMetadataCache.start();
+        return topicMetadataCache;
+    }
+
+    /**
+     * Start the cache background refresh; the admin client is created on first use
+     */
+    public void start() {
+        this.refreshTimer = this.vertx.setPeriodic(this.refreshMs, t -> this.refresh());
+    }
+
+    /**
+     * Stop the cache, closing the admin client and the background refresh
+     */
+    public void close() {
+        if (this.refreshTimer != -1) {
+            this.vertx.cancelTimer(this.refreshTimer);
+        }
+        if (this.adminClient != null) {
+            this.adminClient.close();
+        }
+        if (this.adminClientMeters != null) {
+            this.adminClientMeters.close();
+        }
+        this.partitions.clear();
+    }
+
+    /**
+     * Validate that the topic and the partition exist.
+     * The returned future fails with an {@link UnknownTopicOrPartitionException} if they don't exist;
+     * it succeeds if they exist or if it is not possible to get the metadata, leaving the check to the producer
+     *
+     * @param topic topic to validate
+     * @param partition partition to validate, null for not validating the partition
+     * @return future completed with the validation result
+     */
+    public Future<Void> validate(String topic, Integer partition) {
+        return this.partitionsFor(topic)
+                .recover(t -> t instanceof UnknownTopicOrPartitionException ? Future.failedFuture(t) : Future.succeededFuture(null))
+                .compose(count -> {
+                    if (count != null && partition != null && (partition < 0 || partition >= count)) {
+                        return Future.failedFuture(new UnknownTopicOrPartitionException("Partition " + partition + " of topic " + topic + " not found"));
+                    }
+                    return Future.succeededFuture();
+                });
+    }
+
+    private Future<Integer> partitionsFor(String topic) {
+        Future<Integer> cached = this.partitions.get(topic);
+        if (cached != null) {
+            return cached;
+        }
+
+        Promise<Integer> description = Promise.promise();
+        this.partitions.put(topic, description.future());
+        this.adminClient().describeTopics(Collections.singletonList(topic)).onComplete(ar -> {
+            if (ar.succeeded()) {
+                description.complete(ar.result().get(topic).getPartitions().size());
+            } else if (ar.cause() instanceof UnknownTopicOrPartitionException) {
+                description.fail(new UnknownTopicOrPartitionException("Topic " + topic + " not found"));
+            } else {
+                log.warn("Failed to describe topic {}", topic, ar.cause());
+                // not cached, it will be described again on next use
+                this.partitions.remove(topic, description.future());
+                description.fail(ar.cause());
+            }
+        });
+        return description.future();
+    }
+
+    private KafkaAdminClient adminClient() {
+        if (this.adminClient == null) {
+            KafkaConfig kafkaConfig = this.bridgeConfig.getKafkaConfig();
+            Properties props = new Properties();
+            props.putAll(kafkaConfig.getConfig());
+            props.putAll(kafkaConfig.getAdminConfig().getConfig());
+
+            AdminClient kafkaAdminClient = AdminClient.create(props);
+            this.adminClientMeters = KafkaClientMeters.bind(this.bridgeConfig, kafkaAdminClient);
+            this.adminClient = KafkaAdminClient.create(this.vertx, kafkaAdminClient);
+        }
+        return this.adminClient;
+    }
+
+    /**
+     * Refresh the metadata of the cached topics, dropping the missing ones from the previous refresh
+     */
+    void refresh() {
+        if (this.partitions.isEmpty()) {
+            return;
+        }
+        this.adminClient().listTopics()
+                .compose(existing -> {
+                    List<String> described = new ArrayList<>();
+                    Iterator<Map.Entry<String, Future<Integer>>> it = this.partitions.entrySet().iterator();
+                    while (it.hasNext()) {
+                        Map.Entry<String, Future<Integer>> entry = it.next();
+                        if (!entry.getValue().isComplete()) {
+                            continue;
+                        }
+                        if (existing.contains(entry.getKey())) {
+                            described.add(entry.getKey());
+                        } else if (entry.getValue().failed()) {
+                            it.remove();
+                        } else {
+                            entry.setValue(Future.failedFuture(new UnknownTopicOrPartitionException("Topic " + entry.getKey() + " not found")));
+                        }
+                    }
+                    return described.isEmpty() ? Future.<Map<String, TopicDescription>>succeededFuture() : this.adminClient().describeTopics(described);
+                })
+                .onSuccess(descriptions -> {
+                    if (descriptions != null) {
+                        for (Map.Entry<String, TopicDescription> description : descriptions.entrySet()) {
+                            this.partitions.put(description.getKey(), Future.succeededFuture(description.getValue().getPartitions().size()));
+                        }
+                    }
+                })
+                .onFailure(t -> log.warn("Failed to refresh topics metadata", t));
+    }
+}
@@ -6,6 +6,7 @@
 package io.strimzi.kafka.bridge.http.converter;
 
 import io.strimzi.kafka.bridge.converter.MessageConverter;
+import io.strimzi.kafka.bridge.http.HttpValidation;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
@@ -22,47 +23,104 @@ import java.util.List;
 
 public class HttpJsonMessageConverter implements MessageConverter<byte[], byte[], Buffer, Buffer> {
 
+    private boolean validation;
+
+    /**
+     * Set the validation of the records against the constraints of the OpenAPI contract, during the conversion
+     *
+     * @param validation if the records are validated during the conversion
+     */
+    public void setValidation(boolean validation) {
+        this.validation = validation;
+    }
+
     @Override
     public KafkaProducerRecord<byte[], byte[]> toKafkaRecord(String kafkaTopic, Integer partition, Buffer message) {
+        return toKafkaRecord(kafkaTopic, partition, message.toJsonObject());
+    }
 
-        Integer partitionFromBody = null;
-        byte[] key = null;
-        byte[] value = null;
-        List<KafkaHeader> headers = new ArrayList<>();
+    /**
+     * Converts a JSON record to a Kafka record
+     *
+     * @param kafkaTopic Kafka topic for sending message, null if it has to be specified in the JSON record
+     * @param partition partition of topic where the messages are sent when partition is specified in the request
+     * @param json JSON record to convert
+     * @return Kafka record
+     */
+    private KafkaProducerRecord<byte[], byte[]> toKafkaRecord(String kafkaTopic, Integer partition, JsonObject json) {
+
+        String topic = topic(kafkaTopic, json);
+        byte[] key = bytes(json, "key");
+        byte[] value = bytes(json, "value");
+        List<KafkaHeader> headers = headers(json);
+        Integer partitionFromBody = partition(partition, json);
+
+        if (topic == null) {
+            throw new IllegalStateException("Topic not specified in body or in request path");
+        }
 
-        JsonObject json = message.toJsonObject();
+        KafkaProducerRecord<byte[], byte[]> record = KafkaProducerRecord.create(topic, key, value, partitionFromBody);
+        record.addHeaders(headers);
 
-        if (!json.isEmpty()) {
-            if (json.containsKey("key")) {
-                key = Json.encodeToBuffer(json.getValue("key")).getBytes();
-            }
-            if (json.containsKey("value")) {
-                value = Json.encodeToBuffer(json.getValue("value")).getBytes();
-            }
-            if (json.containsKey("headers")) {
-                for (Object obj: json.getJsonArray("headers")) {
-                    JsonObject jsonObject = (JsonObject) obj;
-                    headers.add(new KafkaHeaderImpl(
-                        jsonObject.getString("key"),
-                        Buffer.buffer(
-                            DatatypeConverter.parseBase64Binary(jsonObject.getString("value")))));
-                }
-            }
-            if (json.containsKey("partition")) {
-                partitionFromBody = json.getInteger("partition");
-            }
-            if (partition != null && partitionFromBody != null) {
-                throw new IllegalStateException("Partition specified in body and in request path");
-            }
-            if (partition != null) {
-                partitionFromBody = partition;
+        return record;
+    }
+
+    /**
+     * @param kafkaTopic Kafka topic specified in the request path, null if not specified
+     * @param json JSON record
+     * @return the topic specified in the request path or in the JSON record, null if not specified
+     */
+    private static String topic(String kafkaTopic, JsonObject json) {
+        if (json.containsKey("topic")) {
+            if (kafkaTopic != null) {
+                throw new IllegalStateException("Topic specified in body and in request path");
             }
+            return json.getString("topic");
         }
+        return kafkaTopic;
+    }
 
-        KafkaProducerRecord<byte[], byte[]> record = KafkaProducerRecord.create(kafkaTopic, key, value, partitionFromBody);
-        record.addHeaders(headers);
+    /**
+     * @param partition partition specified in the request path, null if not specified
+     * @param json JSON record
+     * @return the partition specified in the request path or in the JSON record, null if not specified or the record is empty
+     */
+    private static Integer partition(Integer partition, JsonObject json) {
+        if (json.isEmpty()) {
+            return null;
+        }
+        Integer partitionFromBody = json.getInteger("partition");
+        if (partition != null && partitionFromBody != null) {
+            throw new IllegalStateException("Partition specified in body and in request path");
+        }
+        return partition != null ? partition : partitionFromBody;
+    }
 
-        return record;
+    /**
+     * @param json JSON record
+     * @param field field of the JSON record with the key or the value
+     * @return the key or the value bytes, JSON encoded, null if not specified
+     */
+    private static byte[] bytes(JsonObject json, String field) {
+        return json.containsKey(field) ? Json.encodeToBuffer(json.getValue(field)).getBytes() : null;
+    }
+
+    /**
+     * @param json JSON record
+     * @return the Kafka headers specified in the JSON record, with base64 encoded values
+     */
+    private static List<KafkaHeader> headers(JsonObject json) {
+        List<KafkaHeader> headers = new ArrayList<>();
+        if (json.containsKey("headers")) {
+            for (Object obj: json.getJsonArray("headers")) {
+                JsonObject jsonObject = (JsonObject) obj;
+                headers.add(new KafkaHeaderImpl(
+                    jsonObject.getString("key"),
+                    Buffer.buffer(
+                        DatatypeConverter.parseBase64Binary(jsonObject.getString("value")))));
+            }
+        }
+        return headers;
     }
 
     @Override
@@ -70,12 +128,17 @@ public class HttpJsonMessageConverter implements MessageConverter<byte[], byte[]
 
         List<KafkaProducerRecord<byte[], byte[]>> records = new ArrayList<>();
 
-        JsonObject json = messages.toJsonObject();
+        // the records to a topic in the request path are validated here, if not validated against the OpenAPI contract
+        boolean validate = this.validation && kafkaTopic != null;
+        JsonObject json = validate ? HttpValidation.validateProducerRecords(messages) : messages.toJsonObject();
         JsonArray jsonArray = json.getJsonArray("records");
 
-        for (Object obj : jsonArray) {
-            JsonObject jsonObj = (JsonObject) obj;
-            records.add(toKafkaRecord(kafkaTopic, partition, jsonObj.toBuffer()));
+        for (int i = 0; i < jsonArray.size(); i++) {
+            Object obj = jsonArray.getValue(i);
+            if (validate) {
+                HttpValidation.validateProducerRecord(obj, i, partition != null);
+            }
+            records.add(toKafkaRecord(kafkaTopic, partition, (JsonObject) obj));
         }
 
         return records;
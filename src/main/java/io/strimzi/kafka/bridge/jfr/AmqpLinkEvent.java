@@ -0,0 +1,58 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * AMQP link attached or detached by a remote peer
+ */
+@Name("io.strimzi.bridge.amqp.Link")
+@Label("AMQP Link")
+@Category({"Strimzi Kafka Bridge", "AMQP"})
+@Description("AMQP link attached or detached by a remote peer")
+@Enabled(false)
+@StackTrace(false)
+public class AmqpLinkEvent extends Event {
+
+    @Label("Link Name")
+    String linkName;
+
+    @Label("Address")
+    String address;
+
+    @Label("Role")
+    @Description("Role of the bridge on the link, receiver (producing to Kafka) or sender (consuming from Kafka)")
+    String role;
+
+    @Label("Attached")
+    @Description("If the link is attached, otherwise it is detached")
+    boolean attached;
+
+    /**
+     * Commit the event, if it has to be recorded
+     *
+     * @param linkName link name
+     * @param address link address
+     * @param role role of the bridge on the link, receiver or sender
+     * @param attached if the link is attached, otherwise it is detached
+     */
+    public void complete(String linkName, String address, String role, boolean attached) {
+        if (this.shouldCommit()) {
+            this.linkName = linkName;
+            this.address = address;
+            this.role = role;
+            this.attached = attached;
+            this.commit();
+        }
+    }
+}
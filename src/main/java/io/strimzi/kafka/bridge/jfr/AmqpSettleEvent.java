@@ -0,0 +1,72 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * AMQP deliveries settled, from the delivery to the settlement: by the bridge when Kafka acknowledges the records
+ * received from a remote sender, or by a remote receiver for the records sent by the bridge
+ */
+@Name("io.strimzi.bridge.amqp.Settle")
+@Label("AMQP Delivery Settle")
+@Category({"Strimzi Kafka Bridge", "AMQP"})
+@Description("AMQP deliveries settled, from the delivery to the settlement")
+@Enabled(false)
+@StackTrace(false)
+public class AmqpSettleEvent extends Event {
+
+    @Label("Link Name")
+    String linkName;
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Role")
+    @Description("Role of the bridge on the link, receiver (producing to Kafka) or sender (consuming from Kafka)")
+    String role;
+
+    @Label("Records")
+    int records;
+
+    @Label("Rejected Records")
+    int rejectedRecords;
+
+    @Label("Bytes")
+    @DataAmount
+    @Description("Size of the records values, -1 if not known")
+    long bytes;
+
+    /**
+     * End the event and commit it, if it has to be recorded
+     *
+     * @param linkName link name
+     * @param topic Kafka topic
+     * @param role role of the bridge on the link, receiver or sender
+     * @param records number of records in the settled deliveries
+     * @param rejectedRecords number of records rejected
+     * @param bytes size of the records values, -1 if not known
+     */
+    public void complete(String linkName, String topic, String role, int records, int rejectedRecords, long bytes) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.linkName = linkName;
+            this.topic = topic;
+            this.role = role;
+            this.records = records;
+            this.rejectedRecords = rejectedRecords;
+            this.bytes = bytes;
+            this.commit();
+        }
+    }
+}
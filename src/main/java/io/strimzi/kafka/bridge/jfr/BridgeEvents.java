@@ -0,0 +1,228 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import io.vertx.kafka.client.common.TopicPartition;
+import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import jdk.jfr.EventType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Factory of the Java Flight Recorder events of the bridge.
+ * The events are disabled by default, so they are recorded only when enabled in the settings of a recording.
+ * Each factory method returns null (without creating the event) when the event is not enabled in any running recording,
+ * or when the JVM has no Flight Recorder, so that the events cost nothing when not recording
+ */
+public final class BridgeEvents {
+
+    public static final String ROLE_RECEIVER = "receiver";
+    public static final String ROLE_SENDER = "sender";
+
+    // the event classes are never used as a jdk.jfr.Event here, so they are not loaded when verifying this class
+    private static final boolean AVAILABLE = isAvailable();
+
+    private BridgeEvents() {
+    }
+
+    /**
+     * @return the started HTTP produce event, null if not enabled
+     */
+    public static HttpProduceEvent httpProduce() {
+        if (!AVAILABLE || !Types.HTTP_PRODUCE.isEnabled()) {
+            return null;
+        }
+        HttpProduceEvent event = new HttpProduceEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return the started HTTP poll event, null if not enabled
+     */
+    public static HttpPollEvent httpPoll() {
+        if (!AVAILABLE || !Types.HTTP_POLL.isEnabled()) {
+            return null;
+        }
+        HttpPollEvent event = new HttpPollEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return the started offsets commit event, null if not enabled
+     */
+    public static CommitEvent commit() {
+        if (!AVAILABLE || !Types.COMMIT.isEnabled()) {
+            return null;
+        }
+        CommitEvent event = new CommitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @return the started rebalance event, null if not enabled
+     */
+    public static RebalanceEvent rebalance() {
+        if (!AVAILABLE || !Types.REBALANCE.isEnabled()) {
+            return null;
+        }
+        RebalanceEvent event = new RebalanceEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Record an AMQP link attached or detached, if the event is enabled
+     *
+     * @param linkName link name
+     * @param address link address
+     * @param role role of the bridge on the link, receiver or sender
+     * @param attached if the link is attached, otherwise it is detached
+     */
+    public static void amqpLink(String linkName, String address, String role, boolean attached) {
+        if (AVAILABLE && Types.AMQP_LINK.isEnabled()) {
+            new AmqpLinkEvent().complete(linkName, address, role, attached);
+        }
+    }
+
+    /**
+     * @return the started AMQP delivery settle event, null if not enabled
+     */
+    public static AmqpSettleEvent amqpSettle() {
+        if (!AVAILABLE || !Types.AMQP_SETTLE.isEnabled()) {
+            return null;
+        }
+        AmqpSettleEvent event = new AmqpSettleEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Complete the settle event of a record received from a remote sender, if recording
+     *
+     * @param event settle event, null if not recording
+     * @param linkName link name
+     * @param topic Kafka topic
+     * @param record record sent to Kafka
+     * @param rejected if the record was rejected
+     */
+    public static void amqpReceiverSettled(AmqpSettleEvent event, String linkName, String topic,
+                                           KafkaProducerRecord<?, ?> record, boolean rejected) {
+        if (event != null) {
+            event.complete(linkName, topic, ROLE_RECEIVER, 1, rejected ? 1 : 0, valueBytes(record));
+        }
+    }
+
+    /**
+     * Complete the settle event of a batch of records received from a remote sender, if recording
+     *
+     * @param event settle event, null if not recording
+     * @param linkName link name
+     * @param topic Kafka topic
+     * @param deliveries number of deliveries in the batch
+     * @param rejected number of rejected deliveries
+     * @param records records sent to Kafka, empty if the batch was not converted
+     */
+    public static <K, V> void amqpReceiverSettled(AmqpSettleEvent event, String linkName, String topic,
+                                                  int deliveries, int rejected, List<KafkaProducerRecord<K, V>> records) {
+        if (event != null) {
+            long bytes = 0;
+            for (KafkaProducerRecord<K, V> record : records) {
+                long recordBytes = valueBytes(record);
+                if (recordBytes < 0) {
+                    bytes = -1;
+                    break;
+                }
+                bytes += recordBytes;
+            }
+            event.complete(linkName, topic, ROLE_RECEIVER, deliveries, rejected, bytes);
+        }
+    }
+
+    /**
+     * Complete the settle event of records sent to a remote receiver in a single delivery, if recording
+     *
+     * @param event settle event, null if not recording
+     * @param linkName link name
+     * @param records records in the delivery
+     * @param rejected if the delivery was rejected
+     */
+    public static <K, V> void amqpSenderSettled(AmqpSettleEvent event, String linkName,
+                                                List<KafkaConsumerRecord<K, V>> records, boolean rejected) {
+        if (event != null) {
+            long bytes = 0;
+            for (KafkaConsumerRecord<K, V> record : records) {
+                bytes += Math.max(0, record.record().serializedValueSize());
+            }
+            event.complete(linkName, records.get(0).topic(), ROLE_SENDER, records.size(), rejected ? records.size() : 0, bytes);
+        }
+    }
+
+    /**
+     * Complete the settle event of a record sent to a remote receiver, if recording
+     *
+     * @param event settle event, null if not recording
+     * @param linkName link name
+     * @param record record in the delivery
+     * @param rejected if the delivery was rejected
+     */
+    public static void amqpSenderSettled(AmqpSettleEvent event, String linkName, KafkaConsumerRecord<?, ?> record, boolean rejected) {
+        if (event != null) {
+            event.complete(linkName, record.topic(), ROLE_SENDER, 1, rejected ? 1 : 0, Math.max(0, record.record().serializedValueSize()));
+        }
+    }
+
+    /**
+     * @param partitions topic partitions
+     * @return the topics of the partitions, sorted and comma separated
+     */
+    public static String topics(Iterable<TopicPartition> partitions) {
+        Set<String> topics = new TreeSet<>();
+        for (TopicPartition partition : partitions) {
+            topics.add(partition.getTopic());
+        }
+        return String.join(",", topics);
+    }
+
+    /**
+     * @param record Kafka record
+     * @return the size of the record value, -1 if not known (value not as bytes)
+     */
+    private static long valueBytes(KafkaProducerRecord<?, ?> record) {
+        Object value = record.value();
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof byte[] ? ((byte[]) value).length : -1;
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException e) {
+            // JVM without the Flight Recorder (i.e. Java 8 before 8u262)
+            return false;
+        }
+    }
+
+    /**
+     * Types of the events, loaded only if the Flight Recorder is available
+     */
+    private static final class Types {
+        static final EventType HTTP_PRODUCE = EventType.getEventType(HttpProduceEvent.class);
+        static final EventType HTTP_POLL = EventType.getEventType(HttpPollEvent.class);
+        static final EventType COMMIT = EventType.getEventType(CommitEvent.class);
+        static final EventType REBALANCE = EventType.getEventType(RebalanceEvent.class);
+        static final EventType AMQP_LINK = EventType.getEventType(AmqpLinkEvent.class);
+        static final EventType AMQP_SETTLE = EventType.getEventType(AmqpSettleEvent.class);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Offsets commit of a consumer, requested through HTTP or on the AMQP deliveries, until Kafka completes it
+ */
+@Name("io.strimzi.bridge.kafka.Commit")
+@Label("Offsets Commit")
+@Category({"Strimzi Kafka Bridge", "Kafka"})
+@Description("Offsets committed by a consumer")
+@Enabled(false)
+@StackTrace(false)
+public class CommitEvent extends Event {
+
+    @Label("Consumer Group")
+    String consumerGroup;
+
+    @Label("Consumer Name")
+    String consumerName;
+
+    @Label("Topics")
+    @Description("Topics of the committed offsets, null if all the consumed offsets are committed")
+    String topics;
+
+    @Label("Partitions")
+    @Description("Number of committed partitions, -1 if all the consumed offsets are committed")
+    int partitions;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * End the event and commit it, if it has to be recorded
+     *
+     * @param consumerGroup consumer group
+     * @param consumerName consumer name
+     * @param topics topics of the committed offsets, null if all the consumed offsets are committed
+     * @param partitions number of committed partitions, -1 if all the consumed offsets are committed
+     * @param succeeded if the commit succeeded
+     */
+    public void complete(String consumerGroup, String consumerName, String topics, int partitions, boolean succeeded) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.consumerGroup = consumerGroup;
+            this.consumerName = consumerName;
+            this.topics = topics;
+            this.partitions = partitions;
+            this.succeeded = succeeded;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records polled from Kafka by an HTTP request, from the start of the handling to the response
+ */
+@Name("io.strimzi.bridge.http.Poll")
+@Label("HTTP Poll")
+@Category({"Strimzi Kafka Bridge", "HTTP"})
+@Description("Records polled from Kafka by an HTTP request")
+@Enabled(false)
+@StackTrace(false)
+public class HttpPollEvent extends Event {
+
+    @Label("Consumer Group")
+    String consumerGroup;
+
+    @Label("Consumer Name")
+    String consumerName;
+
+    @Label("Records")
+    int records;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Status Code")
+    int statusCode;
+
+    /**
+     * End the event and commit it, if it has to be recorded
+     *
+     * @param consumerGroup consumer group
+     * @param consumerName consumer instance name
+     * @param records number of records polled
+     * @param bytes size of the response body
+     * @param statusCode HTTP status code of the response
+     */
+    public void complete(String consumerGroup, String consumerName, int records, long bytes, int statusCode) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.consumerGroup = consumerGroup;
+            this.consumerName = consumerName;
+            this.records = records;
+            this.bytes = bytes;
+            this.statusCode = statusCode;
+            this.commit();
+        }
+    }
+}
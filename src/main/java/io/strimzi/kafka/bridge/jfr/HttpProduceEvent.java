@@ -0,0 +1,65 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Records sent to Kafka by an HTTP request, from the start of the handling to the response
+ */
+@Name("io.strimzi.bridge.http.Produce")
+@Label("HTTP Produce")
+@Category({"Strimzi Kafka Bridge", "HTTP"})
+@Description("Records sent to Kafka by an HTTP request")
+@Enabled(false)
+@StackTrace(false)
+public class HttpProduceEvent extends Event {
+
+    @Label("Topic")
+    @Description("Topic in the request path, null if the topics are in the records")
+    String topic;
+
+    @Label("Records")
+    int records;
+
+    @Label("Failed Records")
+    int failedRecords;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Status Code")
+    int statusCode;
+
+    /**
+     * End the event and commit it, if it has to be recorded
+     *
+     * @param topic topic in the request path, null if the topics are in the records
+     * @param records number of records in the request
+     * @param failedRecords number of records not sent
+     * @param bytes size of the request body
+     * @param statusCode HTTP status code of the response
+     */
+    public void complete(String topic, int records, int failedRecords, long bytes, int statusCode) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.topic = topic;
+            this.records = records;
+            this.failedRecords = failedRecords;
+            this.bytes = bytes;
+            this.statusCode = statusCode;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Partitions assigned to or revoked from a consumer on a rebalance, for the time spent handling them
+ */
+@Name("io.strimzi.bridge.kafka.Rebalance")
+@Label("Consumer Rebalance")
+@Category({"Strimzi Kafka Bridge", "Kafka"})
+@Description("Partitions assigned to or revoked from a consumer")
+@Enabled(false)
+@StackTrace(false)
+public class RebalanceEvent extends Event {
+
+    @Label("Consumer Group")
+    String consumerGroup;
+
+    @Label("Consumer Name")
+    String consumerName;
+
+    @Label("Assigned")
+    @Description("If the partitions are assigned, otherwise they are revoked")
+    boolean assigned;
+
+    @Label("Topics")
+    String topics;
+
+    @Label("Partitions")
+    int partitions;
+
+    /**
+     * End the event and commit it, if it has to be recorded
+     *
+     * @param consumerGroup consumer group
+     * @param consumerName consumer name
+     * @param assigned if the partitions are assigned, otherwise they are revoked
+     * @param topics topics of the partitions
+     * @param partitions number of partitions
+     */
+    public void complete(String consumerGroup, String consumerName, boolean assigned, String topics, int partitions) {
+        this.end();
+        if (this.shouldCommit()) {
+            this.consumerGroup = consumerGroup;
+            this.consumerName = consumerName;
+            this.assigned = assigned;
+            this.topics = topics;
+            this.partitions = partitions;
+            this.commit();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for the Kafka clients metrics bound to Micrometer, with consumers which are never connected to a cluster
+ */
+public class KafkaClientMetersTest {
+
+    private static KafkaConsumer<byte[], byte[]> consumer(String clientId) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, clientId);
+        return new KafkaConsumer<>(props, new ByteArrayDeserializer(), new ByteArrayDeserializer());
+    }
+
+    private static long meters(MeterRegistry meterRegistry, String clientId) {
+        return meterRegistry.getMeters().stream()
+                .filter(meter -> clientId.equals(meter.getId().getTag("client.id")))
+                .count();
+    }
+
+    @Test
+    void metersRemovedOnClose() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaConsumer<byte[], byte[]> consumer = consumer("my-consumer");
+        KafkaConsumer<byte[], byte[]> other = consumer("other-consumer");
+        KafkaClientMeters consumerMeters = KafkaClientMeters.bind(meterRegistry, consumer);
+        KafkaClientMeters otherMeters = KafkaClientMeters.bind(meterRegistry, other);
+
+        assertThat(meters(meterRegistry, "my-consumer"), greaterThan(0L));
+        long otherCount = meters(meterRegistry, "other-consumer");
+        assertThat(otherCount, greaterThan(0L));
+
+        // as on the sink endpoint closing its consumer
+        consumerMeters.close();
+        consumer.close();
+        assertThat(meters(meterRegistry, "my-consumer"), is(0L));
+        // the meters of the other consumer are left in the registry
+        assertThat(meters(meterRegistry, "other-consumer"), is(otherCount));
+
+        otherMeters.close();
+        other.close();
+        assertThat(meters(meterRegistry, "other-consumer"), is(0L));
+    }
+}
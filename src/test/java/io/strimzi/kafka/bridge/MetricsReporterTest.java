@@ -0,0 +1,115 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.junit5.VertxExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the asynchronous metrics scraping, with a mocked JMX registry counting the scrapings
+ * and a clock moved by hand for the cache interval
+ */
+@ExtendWith(VertxExtension.class)
+public class MetricsReporterTest {
+
+    private static final long CACHE_MS = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger scrapes = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private CountDownLatch released;
+    private MetricsReporter metricsReporter;
+
+    private static Buffer await(Future<Buffer> scraping) throws InterruptedException, ExecutionException, TimeoutException {
+        return scraping.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.released = new CountDownLatch(0);
+        JmxCollectorRegistry jmxCollectorRegistry = mock(JmxCollectorRegistry.class);
+        doAnswer(invocation -> {
+            int scrape = this.scrapes.incrementAndGet();
+            this.released.await(10, TimeUnit.SECONDS);
+            if (this.failing.get()) {
+                throw new IOException("scraping failed");
+            }
+            invocation.<Writer>getArgument(0).write("scrape " + scrape + "\n");
+            return null;
+        }).when(jmxCollectorRegistry).scrape(any(Writer.class));
+        this.metricsReporter = new MetricsReporter(jmxCollectorRegistry, null, CACHE_MS, this.clock::get);
+    }
+
+    @Test
+    void concurrentScrapesShared(Vertx vertx) throws InterruptedException, ExecutionException, TimeoutException {
+        this.released = new CountDownLatch(1);
+
+        Future<Buffer> first = this.metricsReporter.scrape(vertx);
+        Future<Buffer> second = this.metricsReporter.scrape(vertx);
+        // the second request arrives while the first scraping is still in progress
+        assertThat(first.isComplete(), is(false));
+        assertThat(second, sameInstance(first));
+
+        this.released.countDown();
+        assertThat(await(first).toString(), is("scrape 1\n"));
+        assertThat(await(second).toString(), is("scrape 1\n"));
+        assertThat(this.scrapes.get(), is(1));
+    }
+
+    @Test
+    void resultReusedWithinCacheInterval(Vertx vertx) throws InterruptedException, ExecutionException, TimeoutException {
+        Future<Buffer> first = this.metricsReporter.scrape(vertx);
+        assertThat(await(first).toString(), is("scrape 1\n"));
+
+        this.clock.set(CACHE_MS - 1);
+        assertThat(this.metricsReporter.scrape(vertx), sameInstance(first));
+        assertThat(this.scrapes.get(), is(1));
+
+        // expired, scraped again
+        this.clock.set(CACHE_MS);
+        Future<Buffer> second = this.metricsReporter.scrape(vertx);
+        assertThat(second, not(sameInstance(first)));
+        assertThat(await(second).toString(), is("scrape 2\n"));
+        assertThat(this.scrapes.get(), is(2));
+    }
+
+    @Test
+    void failedScrapeNotCached(Vertx vertx) throws InterruptedException, ExecutionException, TimeoutException {
+        this.failing.set(true);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> await(this.metricsReporter.scrape(vertx)));
+        assertThat(e.getCause().getCause(), instanceOf(IOException.class));
+
+        // within the cache interval, but the failure is not reused
+        this.failing.set(false);
+        assertThat(await(this.metricsReporter.scrape(vertx)).toString(), is("scrape 2\n"));
+        assertThat(this.scrapes.get(), is(2));
+    }
+}
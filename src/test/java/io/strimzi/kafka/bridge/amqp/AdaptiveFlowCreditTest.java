@@ -0,0 +1,96 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.proton.ProtonReceiver;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AdaptiveFlowCreditTest {
+
+    private ProtonReceiver mockReceiver() {
+        ProtonReceiver receiver = mock(ProtonReceiver.class);
+        when(receiver.isOpen()).thenReturn(true);
+        when(receiver.getCredit()).thenReturn(0);
+        when(receiver.getName()).thenReturn("my-link");
+        return receiver;
+    }
+
+    @Test
+    public void initialCreditBounded() {
+        ProtonReceiver receiver = mockReceiver();
+        AdaptiveFlowCredit flowCredit = new AdaptiveFlowCredit(receiver, 1000, 10, 100, null);
+        flowCredit.start();
+
+        assertThat(flowCredit.window(), is(100));
+        verify(receiver).flow(100);
+    }
+
+    @Test
+    public void growsWithStableLatency() {
+        ProtonReceiver receiver = mockReceiver();
+        AdaptiveFlowCredit flowCredit = new AdaptiveFlowCredit(receiver, 10, 10, 100, null);
+
+        for (int i = 0; i < 200; i++) {
+            flowCredit.received();
+            flowCredit.acknowledged(1, TimeUnit.MILLISECONDS.toNanos(2), null);
+        }
+        assertThat(flowCredit.window(), greaterThan(10));
+    }
+
+    @Test
+    public void shrinksWhenBufferFull() {
+        ProtonReceiver receiver = mockReceiver();
+        AtomicLong clock = new AtomicLong();
+        AdaptiveFlowCredit flowCredit = new AdaptiveFlowCredit(receiver, 80, 10, 100, null, clock::get);
+
+        // a decrease is allowed a round trip after the creation
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        flowCredit.received();
+        flowCredit.acknowledged(1, TimeUnit.MILLISECONDS.toNanos(1), new BufferExhaustedException("full"));
+        assertThat(flowCredit.window(), is(40));
+
+        // but not again within the same round trip
+        flowCredit.received();
+        flowCredit.acknowledged(1, TimeUnit.MILLISECONDS.toNanos(1), new BufferExhaustedException("full"));
+        assertThat(flowCredit.window(), is(40));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        flowCredit.received();
+        flowCredit.acknowledged(1, TimeUnit.MILLISECONDS.toNanos(1), new BufferExhaustedException("full"));
+        assertThat(flowCredit.window(), lessThan(40));
+    }
+
+    @Test
+    public void metricsRemovedOnClose() {
+        ProtonReceiver receiver = mockReceiver();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveFlowCredit flowCredit = new AdaptiveFlowCredit(receiver, 50, 10, 100, meterRegistry);
+
+        flowCredit.received();
+        flowCredit.acknowledged(1, TimeUnit.MILLISECONDS.toNanos(1), null);
+        assertThat(meterRegistry.get("strimzi.bridge.amqp.flow.credit").tag("link", "my-link").gauge().value(), is(50.0));
+        assertThat(meterRegistry.get("strimzi.bridge.amqp.flow.ack.latency").tag("link", "my-link").timer().count(), is(1L));
+
+        flowCredit.close();
+        assertThat(meterRegistry.find("strimzi.bridge.amqp.flow.credit").gauge(), is(nullValue()));
+        assertThat(meterRegistry.find("strimzi.bridge.amqp.flow.ack.latency").timer(), is(nullValue()));
+    }
+}
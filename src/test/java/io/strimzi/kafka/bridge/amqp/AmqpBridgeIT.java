@@ -7,15 +7,20 @@ package io.strimzi.kafka.bridge.amqp;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.strimzi.kafka.bridge.MetricsReporter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpBatchMessages;
 import io.strimzi.kafka.bridge.amqp.converter.AmqpDefaultMessageConverter;
 import io.strimzi.kafka.bridge.amqp.converter.AmqpJsonMessageConverter;
 import io.strimzi.kafka.bridge.amqp.converter.AmqpRawMessageConverter;
 import io.strimzi.kafka.bridge.config.BridgeConfig;
 import io.strimzi.kafka.bridge.config.KafkaConfig;
 import io.strimzi.kafka.bridge.config.KafkaConsumerConfig;
+import io.strimzi.kafka.bridge.converter.AmqpTypeDeserializer;
+import io.strimzi.kafka.bridge.converter.BodyCodec;
 import io.strimzi.kafka.bridge.converter.DefaultDeserializer;
 import io.strimzi.kafka.bridge.converter.MessageConverter;
 import io.strimzi.kafka.bridge.facades.KafkaFacade;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.junit5.Checkpoint;
 import io.vertx.junit5.VertxExtension;
@@ -23,20 +28,25 @@ import io.vertx.junit5.VertxTestContext;
 import io.vertx.kafka.client.consumer.KafkaConsumer;
 import io.vertx.kafka.client.consumer.KafkaConsumerRecord;
 import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordsImpl;
 import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.proton.ProtonClient;
 import io.vertx.proton.ProtonConnection;
+import io.vertx.proton.ProtonDelivery;
 import io.vertx.proton.ProtonHelper;
 import io.vertx.proton.ProtonReceiver;
 import io.vertx.proton.ProtonSender;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.qpid.proton.Proton;
 import org.apache.qpid.proton.amqp.Binary;
 import org.apache.qpid.proton.amqp.Symbol;
 import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.AmqpSequence;
 import org.apache.qpid.proton.amqp.messaging.AmqpValue;
 import org.apache.qpid.proton.amqp.messaging.Data;
 import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
@@ -54,6 +64,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -61,10 +74,14 @@ import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.strimzi.kafka.bridge.Constants.AMQP_BRIDGE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -90,6 +107,8 @@ class AmqpBridgeIT {
 
     private static final String BRIDGE_HOST = "localhost";
     private static final int BRIDGE_PORT = 5672;
+    // base port for the bridges deployed with a specific configuration by the single tests
+    private static final int CONFIGURED_BRIDGE_PORT = 5680;
     private static final String BRIDGE_EXTERNAL_ENV = System.getenv().getOrDefault("EXTERNAL_BRIDGE", "FALSE");
 
     // for periodic test
@@ -128,6 +147,73 @@ class AmqpBridgeIT {
         KAFKA_FACADE.stop();
     }
 
+    /**
+     * Deploy another in-memory bridge, listening on its own port, with some additional AMQP configuration
+     *
+     * @param port port on which the bridge listens
+     * @param amqpConfig additional AMQP configuration
+     * @return future completed with the deployment ID
+     */
+    private static Future<String> deployBridge(int port, Map<String, Object> amqpConfig) {
+        Map<String, Object> map = new HashMap<>(config);
+        map.putAll(amqpConfig);
+        map.put(AmqpConfig.AMQP_PORT, port);
+        return vertx.deployVerticle(new AmqpBridge(BridgeConfig.fromMap(map), null));
+    }
+
+    /**
+     * Connect to a bridge, opening a sender with no address (so the address is in the messages)
+     *
+     * @param context test context, failed if the connection fails
+     * @param port port on which the bridge listens
+     * @param handler handler of the opened sender
+     */
+    private static void openSender(VertxTestContext context, int port, Handler<ProtonSender> handler) {
+        ProtonClient client = ProtonClient.create(vertx);
+        client.connect(AmqpBridgeIT.BRIDGE_HOST, port, ar -> {
+            if (ar.succeeded()) {
+                ProtonConnection connection = ar.result();
+                connection.open();
+
+                ProtonSender sender = connection.createSender(null);
+                sender.open();
+                handler.handle(sender);
+            } else {
+                context.failNow(ar.cause());
+            }
+        });
+    }
+
+    /**
+     * Consume the expected number of string records from a topic, checking their values in order
+     *
+     * @param context test context
+     * @param topic topic to consume from
+     * @param values expected values of the records
+     * @param consume checkpoint flagged when all the records are consumed
+     */
+    private static void consumeValues(VertxTestContext context, String topic, List<String> values, Checkpoint consume) {
+        Properties config = KAFKA_FACADE.getConsumerProperties();
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        List<String> consumed = new ArrayList<>();
+        KafkaConsumer<String, String> consumer = KafkaConsumer.create(vertx, config);
+        consumer.handler(record -> {
+            consumed.add(record.value());
+            if (consumed.size() == values.size()) {
+                context.verify(() -> assertThat(consumed, is(values)));
+                consumer.close();
+                consume.flag();
+            }
+        });
+        consumer.subscribe(topic, done -> {
+            if (!done.succeeded()) {
+                context.failNow(done.cause());
+            }
+        });
+    }
+
     @Test
     void sendSimpleMessages(VertxTestContext context) throws InterruptedException {
         String topic = "sendSimpleMessages";
@@ -524,6 +610,54 @@ class AmqpBridgeIT {
         assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
     }
 
+    @Test
+    void sendMapMessageAmqpBodyCodec(VertxTestContext context) throws InterruptedException {
+        String topic = "sendMapMessageAmqpBodyCodec";
+        KAFKA_FACADE.createTopic(topic, 1, 1);
+
+        Map<String, Object> amqpConfig = new HashMap<>();
+        amqpConfig.put(AmqpConfig.AMQP_BODY_CODEC, "amqp");
+
+        Checkpoint consume = context.checkpoint();
+        deployBridge(CONFIGURED_BRIDGE_PORT + 4, amqpConfig).onComplete(context.succeeding(id -> {
+            openSender(context, CONFIGURED_BRIDGE_PORT + 4, sender -> {
+                Map<Object, Object> map = new HashMap<>();
+                map.put("1", 10);
+                map.put(2, "Hello");
+
+                Properties config = KAFKA_FACADE.getConsumerProperties();
+                config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+                config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, AmqpTypeDeserializer.class);
+
+                KafkaConsumer<String, Map<Object, Object>> consumer = KafkaConsumer.create(vertx, config);
+                consumer.handler(record -> {
+                    context.verify(() -> {
+                        assertThat(record.value(), is(map));
+                        assertThat(record.headers().size(), is(1));
+                        assertThat(record.headers().get(0).key(), is(BodyCodec.BODY_CODEC_HEADER));
+                        assertThat(record.headers().get(0).value().toString(), is("amqp"));
+                    });
+                    consumer.close();
+                    consume.flag();
+                });
+                consumer.subscribe(topic, done -> {
+                    if (!done.succeeded()) {
+                        context.failNow(done.cause());
+                    }
+                });
+
+                Message message = Proton.message();
+                message.setAddress(topic);
+                message.setBody(new AmqpValue(map));
+
+                sender.send(ProtonHelper.tag("my_tag"), message, delivery -> {
+                    context.verify(() -> assertThat(delivery.getRemoteState(), is(Accepted.getInstance())));
+                });
+            });
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
     @Test
     void sendPeriodicMessage(VertxTestContext context) throws InterruptedException {
         String topic = "sendPeriodicMessage";
@@ -659,6 +793,137 @@ class AmqpBridgeIT {
         assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
     }
 
+    @Test
+    void sendBatchedMessages(VertxTestContext context) throws InterruptedException {
+        String topic = "sendBatchedMessages";
+        KAFKA_FACADE.createTopic(topic, 1, 1);
+
+        Map<String, Object> amqpConfig = new HashMap<>();
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_SIZE, 5);
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_LINGER_MS, 1000);
+
+        Checkpoint accepted = context.checkpoint(10);
+        Checkpoint consume = context.checkpoint();
+        List<String> bodies = new ArrayList<>();
+        deployBridge(CONFIGURED_BRIDGE_PORT, amqpConfig).onComplete(context.succeeding(id -> {
+            openSender(context, CONFIGURED_BRIDGE_PORT, sender -> {
+                // two full batches, sent in order
+                for (int i = 0; i < 10; i++) {
+                    String body = "Batched message " + i;
+                    bodies.add(body);
+                    sender.send(ProtonHelper.tag("my_tag_" + i), ProtonHelper.message(topic, body), delivery -> {
+                        context.verify(() -> assertThat(delivery.getRemoteState(), is(Accepted.getInstance())));
+                        accepted.flag();
+                    });
+                }
+                consumeValues(context, topic, bodies, consume);
+            });
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void sendBatchedMessagesAggregatedDispositions(VertxTestContext context) throws InterruptedException {
+        String topic = "sendBatchedMessagesAggregatedDispositions";
+        KAFKA_FACADE.createTopic(topic, 1, 1);
+
+        // a linger time longer than the test, so only a full batch is sent
+        Map<String, Object> amqpConfig = new HashMap<>();
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_SIZE, 5);
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_LINGER_MS, 120000);
+
+        Checkpoint accepted = context.checkpoint(5);
+        AtomicBoolean batchFull = new AtomicBoolean();
+        deployBridge(CONFIGURED_BRIDGE_PORT + 1, amqpConfig).onComplete(context.succeeding(id -> {
+            openSender(context, CONFIGURED_BRIDGE_PORT + 1, sender -> {
+                Handler<ProtonDelivery> dispositionHandler = delivery -> {
+                    // no disposition for the first messages until the batch is full and acknowledged by Kafka
+                    context.verify(() -> {
+                        assertThat(batchFull.get(), is(true));
+                        assertThat(delivery.getRemoteState(), is(Accepted.getInstance()));
+                    });
+                    accepted.flag();
+                };
+                for (int i = 0; i < 4; i++) {
+                    sender.send(ProtonHelper.tag("my_tag_" + i), ProtonHelper.message(topic, "Batched message " + i), dispositionHandler);
+                }
+                vertx.setTimer(1000, t -> {
+                    batchFull.set(true);
+                    sender.send(ProtonHelper.tag("my_tag_4"), ProtonHelper.message(topic, "Batched message 4"), dispositionHandler);
+                });
+            });
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void sendBatchedMessagesLingerFlush(VertxTestContext context) throws InterruptedException {
+        String topic = "sendBatchedMessagesLingerFlush";
+        KAFKA_FACADE.createTopic(topic, 1, 1);
+
+        long lingerMs = 500;
+        Map<String, Object> amqpConfig = new HashMap<>();
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_SIZE, 100);
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_LINGER_MS, lingerMs);
+
+        Checkpoint accepted = context.checkpoint(3);
+        Checkpoint consume = context.checkpoint();
+        List<String> bodies = Arrays.asList("Batched message 0", "Batched message 1", "Batched message 2");
+        deployBridge(CONFIGURED_BRIDGE_PORT + 2, amqpConfig).onComplete(context.succeeding(id -> {
+            openSender(context, CONFIGURED_BRIDGE_PORT + 2, sender -> {
+                // a batch never filled, sent when the linger time expires
+                long start = System.nanoTime();
+                for (int i = 0; i < bodies.size(); i++) {
+                    sender.send(ProtonHelper.tag("my_tag_" + i), ProtonHelper.message(topic, bodies.get(i)), delivery -> {
+                        context.verify(() -> {
+                            assertThat(delivery.getRemoteState(), is(Accepted.getInstance()));
+                            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), greaterThanOrEqualTo(lingerMs));
+                        });
+                        accepted.flag();
+                    });
+                }
+                consumeValues(context, topic, bodies, consume);
+            });
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void sendBatchedMessagesCreditReplenished(VertxTestContext context) throws InterruptedException {
+        String topic = "sendBatchedMessagesCreditReplenished";
+        KAFKA_FACADE.createTopic(topic, 1, 1);
+
+        // the credit is just one batch, so the second batch is sent only if the credit is given back
+        Map<String, Object> amqpConfig = new HashMap<>();
+        amqpConfig.put(AmqpConfig.AMQP_FLOW_CREDIT, 5);
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_SIZE, 5);
+        amqpConfig.put(AmqpConfig.AMQP_SOURCE_BATCH_LINGER_MS, 120000);
+
+        Checkpoint accepted = context.checkpoint(10);
+        AtomicInteger firstBatchAccepted = new AtomicInteger();
+        deployBridge(CONFIGURED_BRIDGE_PORT + 3, amqpConfig).onComplete(context.succeeding(id -> {
+            openSender(context, CONFIGURED_BRIDGE_PORT + 3, sender -> {
+                for (int i = 0; i < 5; i++) {
+                    sender.send(ProtonHelper.tag("my_tag_" + i), ProtonHelper.message(topic, "Batched message " + i), delivery -> {
+                        context.verify(() -> assertThat(delivery.getRemoteState(), is(Accepted.getInstance())));
+                        accepted.flag();
+                        if (firstBatchAccepted.incrementAndGet() < 5) {
+                            return;
+                        }
+                        // the next batch is buffered by the sender until the bridge replenishes the credit
+                        for (int j = 5; j < 10; j++) {
+                            sender.send(ProtonHelper.tag("my_tag_" + j), ProtonHelper.message(topic, "Batched message " + j), next -> {
+                                context.verify(() -> assertThat(next.getRemoteState(), is(Accepted.getInstance())));
+                                accepted.flag();
+                            });
+                        }
+                    });
+                }
+            });
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
     @Test
     void receiveSimpleMessage(VertxTestContext context) throws InterruptedException, ExecutionException, TimeoutException {
         String topic = "receiveSimpleMessage";
@@ -849,6 +1114,157 @@ class AmqpBridgeIT {
         assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
     }
 
+    @Test
+    void receiveMessagesPartitionMaxInFlight(VertxTestContext context) throws InterruptedException, ExecutionException, TimeoutException {
+        String topic = "receiveMessagesPartitionMaxInFlight";
+        KAFKA_FACADE.createTopic(topic, 2, 1);
+
+        int maxInFlight = 4;
+        int count = 20;
+        KAFKA_FACADE.produceStrings(topic, count, 0);
+        KAFKA_FACADE.produceStrings(topic, count, 1);
+
+        Map<String, Object> amqpConfig = new HashMap<>();
+        amqpConfig.put(AmqpConfig.AMQP_SINK_PARTITION_MAX_IN_FLIGHT, maxInFlight);
+
+        // the settlement of the records on partition 0 is withheld, the ones on partition 1 are settled right away
+        List<ProtonDelivery> withheld = new ArrayList<>();
+        AtomicInteger partition0 = new AtomicInteger();
+        AtomicInteger partition1 = new AtomicInteger();
+        AtomicBoolean settling = new AtomicBoolean();
+        Checkpoint consume = context.checkpoint(2);
+
+        deployBridge(CONFIGURED_BRIDGE_PORT + 5, amqpConfig).onComplete(context.succeeding(id -> {
+            ProtonClient client = ProtonClient.create(vertx);
+            client.connect(AmqpBridgeIT.BRIDGE_HOST, CONFIGURED_BRIDGE_PORT + 5, ar -> {
+                if (ar.failed()) {
+                    context.failNow(ar.cause());
+                    return;
+                }
+                ProtonConnection connection = ar.result();
+                connection.open();
+
+                ProtonReceiver receiver = connection.createReceiver(topic + "/group.id/my_group");
+                receiver.handler((delivery, message) -> {
+                    Integer partition = (Integer) message.getMessageAnnotations().getValue().get(Symbol.valueOf(AmqpBridge.AMQP_PARTITION_ANNOTATION));
+                    if (partition == 1) {
+                        delivery.disposition(Accepted.getInstance(), true);
+                        if (partition1.incrementAndGet() == count) {
+                            // the other partition kept flowing, while the withheld one is paused
+                            consume.flag();
+                            vertx.setTimer(2000, t -> settleToHalf(context, withheld, maxInFlight, count, settling));
+                        }
+                    } else if (settling.get()) {
+                        delivery.disposition(Accepted.getInstance(), true);
+                        if (partition0.incrementAndGet() == count) {
+                            consume.flag();
+                        }
+                    } else {
+                        withheld.add(delivery);
+                        if (partition0.incrementAndGet() == count) {
+                            context.failNow(new IllegalStateException("Partition 0 not paused with all the records unsettled"));
+                        }
+                    }
+                })
+                    .setAutoAccept(false)
+                    .setPrefetch(this.bridgeConfig.getAmqpConfig().getFlowCredit()).open();
+            });
+        }));
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    /**
+     * Settle the withheld deliveries on the paused partition, checking that the partition is resumed
+     * only once its unsettled records are down to half of the maximum
+     *
+     * @param context test context
+     * @param withheld deliveries received on the paused partition and not settled yet
+     * @param maxInFlight maximum number of unsettled records on a partition
+     * @param count number of records on the paused partition
+     * @param settling set when the partition is expected to be resumed
+     */
+    private void settleToHalf(VertxTestContext context, List<ProtonDelivery> withheld, int maxInFlight, int count, AtomicBoolean settling) {
+        int received = withheld.size();
+        context.verify(() -> {
+            assertThat(received, greaterThanOrEqualTo(maxInFlight));
+            assertThat(received, lessThan(count));
+        });
+
+        // one more than half of the maximum left unsettled, so the partition is still paused
+        while (withheld.size() > maxInFlight / 2 + 1) {
+            withheld.remove(0).disposition(Accepted.getInstance(), true);
+        }
+        vertx.setTimer(2000, t -> {
+            context.verify(() -> assertThat(withheld.size(), is(maxInFlight / 2 + 1)));
+            // down to half of the maximum, the partition is resumed
+            settling.set(true);
+            withheld.remove(0).disposition(Accepted.getInstance(), true);
+        });
+    }
+
+    @Test
+    void receiveMessagesCommittedOnDetach(VertxTestContext context) throws InterruptedException, ExecutionException, TimeoutException {
+        String topic = "receiveMessagesCommittedOnDetach";
+        String groupId = "committed_on_detach_group";
+        KAFKA_FACADE.createTopic(topic, 1, 1);
+
+        int count = 3;
+        KAFKA_FACADE.produceStrings(topic, count, 0);
+
+        ProtonClient client = ProtonClient.create(vertx);
+        client.connect(AmqpBridgeIT.BRIDGE_HOST, AmqpBridgeIT.BRIDGE_PORT, ar -> {
+            if (ar.failed()) {
+                context.failNow(ar.cause());
+                return;
+            }
+            ProtonConnection connection = ar.result();
+            connection.open();
+
+            AtomicInteger received = new AtomicInteger();
+            ProtonReceiver receiver = connection.createReceiver(topic + "/group.id/" + groupId);
+            receiver.handler((delivery, message) -> {
+                delivery.disposition(Accepted.getInstance(), true);
+                if (received.incrementAndGet() == count) {
+                    // the settlements are sent before the detach, the offsets are committed on close
+                    receiver.close();
+                    awaitCommitted(context, topic, groupId, count);
+                }
+            })
+                .setAutoAccept(false)
+                .setPrefetch(this.bridgeConfig.getAmqpConfig().getFlowCredit()).open();
+        });
+        assertThat(context.awaitCompletion(60, TimeUnit.SECONDS), is(true));
+    }
+
+    /**
+     * Check the committed offset of a consumer group on partition 0 of a topic until it gets to the expected one
+     *
+     * @param context test context, completed when the expected offset is committed
+     * @param topic topic on which the offset is committed
+     * @param groupId consumer group committing the offset
+     * @param offset expected committed offset
+     */
+    private void awaitCommitted(VertxTestContext context, String topic, String groupId, long offset) {
+        Properties config = KAFKA_FACADE.getConsumerProperties();
+        config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+
+        KafkaConsumer<String, String> consumer = KafkaConsumer.create(vertx, config);
+        io.vertx.kafka.client.common.TopicPartition partition = new io.vertx.kafka.client.common.TopicPartition(topic, 0);
+        vertx.setPeriodic(500, timer -> consumer.committed(partition, committed -> {
+            if (committed.failed()) {
+                vertx.cancelTimer(timer);
+                consumer.close();
+                context.failNow(committed.cause());
+            } else if (committed.result() != null && committed.result().getOffset() == offset) {
+                vertx.cancelTimer(timer);
+                consumer.close();
+                context.completeNow();
+            }
+        }));
+    }
+
     @Disabled
     @Test
     void noPartitionsAvailable(VertxTestContext context) throws InterruptedException {
@@ -913,6 +1329,70 @@ class AmqpBridgeIT {
         context.completeNow();
     }
 
+    @Test
+    void defaultMessageConverterBatchTest(VertxTestContext context) {
+        MessageConverter<String, byte[], Message, Collection<Message>> defaultMessageConverter = new AmqpDefaultMessageConverter();
+
+        List<ConsumerRecord<String, byte[]>> records = Arrays.asList(
+            new ConsumerRecord<>("mytopic", 0, 10, "key-10", "value-10".getBytes()),
+            new ConsumerRecord<>("mytopic", 0, 11, "key-11", "value-11".getBytes()));
+        Collection<Message> messages = defaultMessageConverter.toMessages(new KafkaConsumerRecordsImpl<>(
+            new ConsumerRecords<>(Collections.singletonMap(new TopicPartition("mytopic", 0), records))));
+
+        context.verify(() -> {
+            assertThat(messages.size(), is(1));
+            Message batch = messages.iterator().next();
+            assertThat((Integer) batch.getMessageAnnotations().getValue().get(Symbol.valueOf(AmqpBatchMessages.AMQP_BATCH_COUNT_ANNOTATION)), is(2));
+
+            List<?> entries = ((AmqpSequence) batch.getBody()).getValue();
+            assertThat(entries.size(), is(2));
+            for (int i = 0; i < entries.size(); i++) {
+                Map<?, ?> entry = (Map<?, ?>) entries.get(i);
+                assertThat((Long) entry.get(Symbol.valueOf(AmqpBridge.AMQP_OFFSET_ANNOTATION)), is(10L + i));
+                assertThat((String) entry.get(Symbol.valueOf(AmqpBridge.AMQP_KEY_ANNOTATION)), is("key-1" + i));
+                assertThat((Binary) entry.get(Symbol.valueOf(AmqpBatchMessages.AMQP_BATCH_BODY)), is(new Binary(("value-1" + i).getBytes())));
+            }
+        });
+        context.completeNow();
+    }
+
+    @Test
+    void rawMessageConverterLargeMessageTest(VertxTestContext context) {
+        MessageConverter<String, byte[], Message, Collection<Message>> rawMessageConverter = new AmqpRawMessageConverter();
+
+        // bigger than the initial encoding buffer
+        byte[] body = new byte[100 * 1024];
+        Arrays.fill(body, (byte) 'a');
+        Message message = Proton.message();
+        message.setBody(new Data(new Binary(body)));
+
+        byte[] value = rawMessageConverter.toKafkaRecord("mytopic", null, message).value();
+        Message decoded = Proton.message();
+        decoded.decode(value, 0, value.length);
+
+        context.verify(() -> assertThat(((Data) decoded.getBody()).getValue(), is(new Binary(body))));
+        context.completeNow();
+    }
+
+    @Test
+    void rawMessageConverterLargeValueMessageTest(VertxTestContext context) {
+        MessageConverter<String, byte[], Message, Collection<Message>> rawMessageConverter = new AmqpRawMessageConverter();
+
+        // a body not sized upfront, bigger than the biggest retained encoding buffer
+        char[] chars = new char[2 * 1024 * 1024];
+        Arrays.fill(chars, 'a');
+        String body = new String(chars);
+        Message message = Proton.message();
+        message.setBody(new AmqpValue(body));
+
+        byte[] value = rawMessageConverter.toKafkaRecord("mytopic", null, message).value();
+        Message decoded = Proton.message();
+        decoded.decode(value, 0, value.length);
+
+        context.verify(() -> assertThat(((AmqpValue) decoded.getBody()).getValue(), is(body)));
+        context.completeNow();
+    }
+
     private Object convertedMessageWithNullKey(MessageConverter messageConverter) {
         String payload = "{ \"jsonKey\":\"jsonValue\"}";
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import io.vertx.proton.ProtonClient;
+import io.vertx.proton.ProtonClientOptions;
+import io.vertx.proton.ProtonServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for the AMQP client mode connections, with local Proton servers standing in for the routers
+ */
+@ExtendWith(VertxExtension.class)
+public class AmqpClientConnectionsTest {
+
+    private static final String CONTAINER_ID = "test-container";
+
+    // it has to be started on a Vert.x context, so that all the connections are handled on the same event loop
+    private AmqpClientConnections create(Vertx vertx, List<SocketAddress> endpoints, int connectionsPerEndpoint) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(AmqpConfig.AMQP_ENDPOINTS, endpoints.stream()
+                .map(endpoint -> endpoint.host() + ":" + endpoint.port())
+                .collect(Collectors.joining(",")));
+        map.put(AmqpConfig.AMQP_CONNECTIONS_PER_ENDPOINT, connectionsPerEndpoint);
+        map.put(AmqpConfig.AMQP_RECONNECT_INITIAL_DELAY_MS, 10);
+        map.put(AmqpConfig.AMQP_RECONNECT_MAX_DELAY_MS, 100);
+
+        AmqpClientConnections[] connections = new AmqpClientConnections[1];
+        connections[0] = new AmqpClientConnections(vertx, ProtonClient.create(vertx), new ProtonClientOptions(), CONTAINER_ID,
+                AmqpConfig.fromMap(map), connection -> connection.disconnectHandler(connections[0]::disconnected).open());
+        return connections[0];
+    }
+
+    private ProtonServer listen(Vertx vertx, VertxTestContext context, AtomicInteger accepted, Checkpoint checkpoint, boolean disconnectFirst) throws InterruptedException {
+        VertxTestContext listening = new VertxTestContext();
+        ProtonServer server = ProtonServer.create(vertx)
+                .connectHandler(connection -> {
+                    connection.openHandler(ar -> {
+                        context.verify(() -> assertThat(connection.getRemoteContainer(), is(CONTAINER_ID)));
+                        int count = accepted.incrementAndGet();
+                        if (disconnectFirst && count == 1) {
+                            connection.disconnect();
+                        } else {
+                            connection.open();
+                        }
+                        checkpoint.flag();
+                    });
+                })
+                .listen(0, listening.succeedingThenComplete());
+        assertThat(listening.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+        return server;
+    }
+
+    @Test
+    void connectsToAllEndpoints(Vertx vertx, VertxTestContext context) throws InterruptedException {
+        AtomicInteger firstAccepted = new AtomicInteger();
+        AtomicInteger secondAccepted = new AtomicInteger();
+        Checkpoint checkpoint = context.checkpoint(4);
+        ProtonServer first = this.listen(vertx, context, firstAccepted, checkpoint, false);
+        ProtonServer second = this.listen(vertx, context, secondAccepted, checkpoint, false);
+
+        AmqpClientConnections connections = this.create(vertx, Arrays.asList(
+                SocketAddress.inetSocketAddress(first.actualPort(), "localhost"),
+                SocketAddress.inetSocketAddress(second.actualPort(), "localhost")), 2);
+        vertx.runOnContext(v -> connections.start());
+
+        assertThat(context.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+        assertThat(firstAccepted.get(), is(2));
+        assertThat(secondAccepted.get(), is(2));
+        // read out of the event loop, as by the health checks
+        assertThat(connections.connected(), is(4));
+        connections.close();
+        assertThat(connections.connected(), is(0));
+    }
+
+    @Test
+    void reconnectsOnDisconnection(Vertx vertx, VertxTestContext context) throws InterruptedException {
+        AtomicInteger accepted = new AtomicInteger();
+        Checkpoint checkpoint = context.checkpoint(2);
+        ProtonServer server = this.listen(vertx, context, accepted, checkpoint, true);
+
+        AmqpClientConnections connections = this.create(vertx,
+                Collections.singletonList(SocketAddress.inetSocketAddress(server.actualPort(), "localhost")), 1);
+        vertx.runOnContext(v -> connections.start());
+
+        assertThat(context.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+        assertThat(accepted.get(), is(2));
+        connections.close();
+    }
+
+    @Test
+    void retriesUntilEndpointAvailable(Vertx vertx, VertxTestContext context) throws InterruptedException {
+        // reserve a free port, then stop listening on it
+        VertxTestContext listening = new VertxTestContext();
+        ProtonServer reserved = ProtonServer.create(vertx).listen(0, listening.succeedingThenComplete());
+        assertThat(listening.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+        int port = reserved.actualPort();
+        VertxTestContext closed = new VertxTestContext();
+        reserved.close(closed.succeedingThenComplete());
+        assertThat(closed.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+
+        AmqpClientConnections connections = this.create(vertx,
+                Collections.singletonList(SocketAddress.inetSocketAddress(port, "localhost")), 1);
+        vertx.runOnContext(v -> connections.start().onComplete(context.succeeding(started -> context.verify(() -> {
+            assertThat(connections.connected(), is(1));
+            context.completeNow();
+        }))));
+
+        // the endpoint comes up later
+        vertx.setTimer(200, t -> ProtonServer.create(vertx)
+                .connectHandler(connection -> connection.openHandler(ar -> connection.open()))
+                .listen(port));
+
+        assertThat(context.awaitCompletion(10, TimeUnit.SECONDS), is(true));
+        connections.close();
+    }
+}
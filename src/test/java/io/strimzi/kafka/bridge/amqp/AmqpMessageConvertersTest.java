@@ -0,0 +1,142 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp;
+
+import io.strimzi.kafka.bridge.amqp.converter.AmqpDefaultMessageConverter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpJsonMessageConverter;
+import io.strimzi.kafka.bridge.amqp.converter.AmqpRawMessageConverter;
+import io.strimzi.kafka.bridge.converter.MessageConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the AMQP message converters registry, caching the converters provided by the bridge
+ * and never caching a failed instantiation
+ */
+public class AmqpMessageConvertersTest {
+
+    /**
+     * Converter not provided by the bridge, even if in the same package, so a new instance is created for each link
+     */
+    public static class CustomMessageConverter extends AmqpDefaultMessageConverter {
+
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public CustomMessageConverter() {
+            CREATED.incrementAndGet();
+        }
+    }
+
+    /**
+     * Converter failing to be instantiated until it is told otherwise
+     */
+    public static class FailingMessageConverter extends AmqpDefaultMessageConverter {
+
+        static final AtomicBoolean FAILING = new AtomicBoolean(true);
+
+        public FailingMessageConverter() {
+            if (FAILING.get()) {
+                throw new IllegalStateException("not available yet");
+            }
+        }
+    }
+
+    private static AmqpConfig config(String messageConverter, String headersInclude, String bodyCodec) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(AmqpConfig.AMQP_MESSAGE_CONVERTER, messageConverter);
+        map.put(AmqpConfig.AMQP_HEADERS_INCLUDE, headersInclude);
+        map.put(AmqpConfig.AMQP_BODY_CODEC, bodyCodec);
+        return AmqpConfig.fromMap(map);
+    }
+
+    private static AmqpConfig config(String messageConverter) {
+        return config(messageConverter, AmqpConfig.DEFAULT_HEADERS_INCLUDE, AmqpConfig.DEFAULT_BODY_CODEC);
+    }
+
+    private static void assertInstantiationFails(AmqpConfig config, String message) {
+        AmqpErrorConditionException e = assertThrows(AmqpErrorConditionException.class, () -> AmqpMessageConverters.instantiate(config));
+        assertThat(e.getMessage(), startsWith(message));
+        assertThat(e.toCondition().getCondition().toString(), is(AmqpBridge.AMQP_ERROR_CONFIGURATION));
+    }
+
+    @Test
+    public void bridgeConvertersShared() throws AmqpErrorConditionException {
+        for (Class<?> converterClass : new Class<?>[] {AmqpDefaultMessageConverter.class, AmqpJsonMessageConverter.class, AmqpRawMessageConverter.class}) {
+            MessageConverter<?, ?, ?, ?> converter = AmqpMessageConverters.instantiate(config(converterClass.getName()));
+            assertThat(converter, instanceOf(converterClass));
+            assertThat(AmqpMessageConverters.instantiate(config(converterClass.getName())), sameInstance(converter));
+        }
+        // no configured class is the default converter
+        assertThat(AmqpMessageConverters.instantiate(config("")), instanceOf(AmqpDefaultMessageConverter.class));
+    }
+
+    @Test
+    public void differentConfigurationNotShared() throws AmqpErrorConditionException {
+        String name = AmqpDefaultMessageConverter.class.getName();
+        MessageConverter<?, ?, ?, ?> converter = AmqpMessageConverters.instantiate(config(name));
+
+        MessageConverter<?, ?, ?, ?> headersConverter = AmqpMessageConverters.instantiate(config(name, "my-header", AmqpConfig.DEFAULT_BODY_CODEC));
+        assertThat(headersConverter, not(sameInstance(converter)));
+        assertThat(AmqpMessageConverters.instantiate(config(name, "my-header", AmqpConfig.DEFAULT_BODY_CODEC)), sameInstance(headersConverter));
+
+        MessageConverter<?, ?, ?, ?> codecConverter = AmqpMessageConverters.instantiate(config(name, AmqpConfig.DEFAULT_HEADERS_INCLUDE, "amqp"));
+        assertThat(codecConverter, not(sameInstance(converter)));
+        assertThat(codecConverter, not(sameInstance(headersConverter)));
+    }
+
+    @Test
+    public void customConverterNotShared() throws AmqpErrorConditionException {
+        AmqpConfig config = config(CustomMessageConverter.class.getName());
+        MessageConverter<?, ?, ?, ?> converter = AmqpMessageConverters.instantiate(config);
+        assertThat(converter, instanceOf(CustomMessageConverter.class));
+
+        int created = CustomMessageConverter.CREATED.get();
+        MessageConverter<?, ?, ?, ?> other = AmqpMessageConverters.instantiate(config);
+        assertThat(other, instanceOf(CustomMessageConverter.class));
+        assertThat(other, not(sameInstance(converter)));
+        // a new instance for each link, through the cached constructor
+        assertThat(CustomMessageConverter.CREATED.get(), is(created + 1));
+    }
+
+    @Test
+    public void invalidConverterNotCached() {
+        for (int i = 0; i < 2; i++) {
+            assertInstantiationFails(config("io.strimzi.kafka.bridge.amqp.NotExistingConverter"),
+                    "configured message converter class could not be instantiated");
+            assertInstantiationFails(config(String.class.getName()),
+                    "configured message converter class is not an instanceof");
+            assertInstantiationFails(config(AmqpDefaultMessageConverter.class.getName(), AmqpConfig.DEFAULT_HEADERS_INCLUDE, "not-existing"),
+                    "configured body codec is not supported");
+        }
+    }
+
+    @Test
+    public void failedInstantiationNotCached() throws AmqpErrorConditionException {
+        AmqpConfig config = config(FailingMessageConverter.class.getName());
+        assertInstantiationFails(config, "configured message converter class could not be instantiated");
+
+        // the failure is not cached, so the converter is instantiated once available
+        FailingMessageConverter.FAILING.set(false);
+        assertThat(AmqpMessageConverters.instantiate(config), instanceOf(FailingMessageConverter.class));
+
+        // the constructor is cached but still run for each link, failing again
+        FailingMessageConverter.FAILING.set(true);
+        assertInstantiationFails(config, "configured message converter class could not be instantiated");
+        FailingMessageConverter.FAILING.set(false);
+    }
+}
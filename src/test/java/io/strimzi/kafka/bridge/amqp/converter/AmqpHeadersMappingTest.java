@@ -0,0 +1,94 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+import io.strimzi.kafka.bridge.converter.BodyCodec;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import io.vertx.kafka.client.producer.KafkaHeader;
+import io.vertx.kafka.client.producer.KafkaProducerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class AmqpHeadersMappingTest {
+
+    @Test
+    public void disabledWithoutIncludeRules() {
+        assertThat(AmqpHeadersMapping.of("", "app-*"), is(nullValue()));
+        assertThat(AmqpHeadersMapping.of(null, null), is(nullValue()));
+    }
+
+    @Test
+    public void includeAndExcludeRules() {
+        AmqpHeadersMapping mapping = AmqpHeadersMapping.of("app-*, trace", "app-secret");
+
+        assertThat(mapping.matches("app-id"), is(true));
+        assertThat(mapping.matches("trace"), is(true));
+        assertThat(mapping.matches("app-secret"), is(false));
+        assertThat(mapping.matches("tracer"), is(false));
+        assertThat(AmqpHeadersMapping.of("*", null).matches(BodyCodec.BODY_CODEC_HEADER), is(false));
+    }
+
+    @Test
+    public void applicationPropertiesRoundTrip() {
+        AmqpDefaultMessageConverter converter = new AmqpDefaultMessageConverter();
+        converter.setHeadersMapping(AmqpHeadersMapping.of("app-*,trace", "app-secret"));
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("app-id", "id1");
+        properties.put("app-secret", "secret");
+        properties.put("trace", 42L);
+        properties.put("other", "value");
+
+        Message message = Proton.message();
+        message.setApplicationProperties(new ApplicationProperties(properties));
+        message.setBody(new AmqpValue(Arrays.asList(1, 2)));
+
+        KafkaProducerRecord<String, byte[]> record = converter.toKafkaRecord("topic", null, message);
+
+        RecordHeaders headers = new RecordHeaders();
+        for (KafkaHeader header : record.headers()) {
+            headers.add(header.key(), header.value().getBytes());
+        }
+        assertThat(headers.lastHeader("app-id") != null, is(true));
+        assertThat(headers.lastHeader("trace") != null, is(true));
+        assertThat(headers.lastHeader("app-secret") == null, is(true));
+        assertThat(headers.lastHeader("other") == null, is(true));
+
+        // a later header with the same name replaces the previous one
+        headers.add("trace", "43".getBytes(StandardCharsets.UTF_8));
+
+        ConsumerRecord<String, byte[]> consumerRecord = new ConsumerRecord<>("topic", 0, 1L, 0L, TimestampType.CREATE_TIME,
+                0L, 0, 0, null, record.value(), headers);
+        Message received = converter.toMessage("topic", new KafkaConsumerRecordImpl<>(consumerRecord));
+
+        // encoded and decoded, as sent to the AMQP receiver
+        byte[] buffer = new byte[1024];
+        int size = received.encode(buffer, 0, buffer.length);
+        Message decoded = Proton.message();
+        decoded.decode(buffer, 0, size);
+
+        Map<String, Object> receivedProperties = decoded.getApplicationProperties().getValue();
+        assertThat(receivedProperties.size(), is(2));
+        assertThat((String) receivedProperties.get("app-id"), is("id1"));
+        assertThat((String) receivedProperties.get("trace"), is("43"));
+        assertThat(((AmqpValue) decoded.getBody()).getValue().equals(Arrays.asList(1, 2)), is(true));
+    }
+}
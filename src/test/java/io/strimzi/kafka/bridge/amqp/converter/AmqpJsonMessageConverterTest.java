@@ -0,0 +1,229 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.amqp.converter;
+
+import io.strimzi.kafka.bridge.amqp.AmqpBridge;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.kafka.client.consumer.impl.KafkaConsumerRecordImpl;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.qpid.proton.Proton;
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.messaging.AmqpValue;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
+import org.apache.qpid.proton.amqp.messaging.Section;
+import org.apache.qpid.proton.message.Message;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests for the JSON message converter, checking that the JSON written and read by streaming the AMQP sections
+ * is the same as the one built through the Vert.x JSON objects
+ */
+public class AmqpJsonMessageConverterTest {
+
+    private final AmqpJsonMessageConverter converter = new AmqpJsonMessageConverter();
+
+    private static Message message(Section body) {
+        Message message = Proton.message();
+        message.setBody(body);
+        return message;
+    }
+
+    private static Message fullMessage() {
+        Message message = message(new AmqpValue("Hello"));
+        message.setMessageId("my-id");
+        message.setAddress("my-topic");
+        message.setSubject("my-subject");
+        message.setReplyTo("my-reply-to");
+        message.setCorrelationId(12L);
+
+        Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("string", "value");
+        applicationProperties.put("int", 1);
+        applicationProperties.put("long", 10_000_000_000L);
+        applicationProperties.put("boolean", true);
+        message.setApplicationProperties(new ApplicationProperties(applicationProperties));
+
+        Map<Symbol, Object> messageAnnotations = new LinkedHashMap<>();
+        messageAnnotations.put(AmqpBridge.AMQP_PARTITION_ANNOTATION_SYMBOL, 0);
+        messageAnnotations.put(AmqpBridge.AMQP_KEY_ANNOTATION_SYMBOL, "my-key");
+        messageAnnotations.put(Symbol.valueOf("x-opt-custom"), "custom");
+        message.setMessageAnnotations(new MessageAnnotations(messageAnnotations));
+        return message;
+    }
+
+    private static List<Object> list() {
+        return Arrays.asList("a", 1, 10_000_000_000L, true, null);
+    }
+
+    private static Map<String, Object> map() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("string", "value");
+        map.put("int", 1);
+        map.put("list", Arrays.asList("a", "b"));
+        map.put("map", new JsonObject().put("nested", true).getMap());
+        return map;
+    }
+
+    /**
+     * Build the JSON for an AMQP message through the Vert.x JSON objects, as the converter did before streaming it
+     *
+     * @param message AMQP message
+     * @return the JSON for the AMQP message
+     */
+    private static JsonObject jsonObject(Message message) {
+        JsonObject json = new JsonObject();
+
+        JsonObject jsonProperties = jsonProperties(message);
+        if (!jsonProperties.isEmpty())
+            json.put(AmqpJsonMessageConverter.PROPERTIES, jsonProperties);
+
+        if (message.getApplicationProperties() != null) {
+            json.put(AmqpJsonMessageConverter.APPLICATION_PROPERTIES, new JsonObject(message.getApplicationProperties().getValue()));
+        }
+
+        if (message.getMessageAnnotations() != null) {
+            JsonObject jsonMessageAnnotations = new JsonObject();
+            for (Map.Entry<Symbol, Object> entry : message.getMessageAnnotations().getValue().entrySet()) {
+                jsonMessageAnnotations.put(entry.getKey().toString(), entry.getValue());
+            }
+            json.put(AmqpJsonMessageConverter.MESSAGE_ANNOTATIONS, jsonMessageAnnotations);
+        }
+
+        if (message.getBody() != null) {
+            json.put(AmqpJsonMessageConverter.BODY, jsonBody(message.getBody()));
+        }
+        return json;
+    }
+
+    private static JsonObject jsonProperties(Message message) {
+        JsonObject jsonProperties = new JsonObject();
+        if (message.getMessageId() != null)
+            jsonProperties.put(AmqpJsonMessageConverter.MESSAGE_ID, message.getMessageId());
+        if (message.getAddress() != null)
+            jsonProperties.put(AmqpJsonMessageConverter.TO, message.getAddress());
+        if (message.getSubject() != null)
+            jsonProperties.put(AmqpJsonMessageConverter.SUBJECT, message.getSubject());
+        if (message.getReplyTo() != null)
+            jsonProperties.put(AmqpJsonMessageConverter.REPLY_TO, message.getReplyTo());
+        if (message.getCorrelationId() != null)
+            jsonProperties.put(AmqpJsonMessageConverter.CORRELATION_ID, message.getCorrelationId());
+        return jsonProperties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonObject jsonBody(Section body) {
+        JsonObject jsonBody = new JsonObject();
+        if (body instanceof AmqpValue) {
+            jsonBody.put(AmqpJsonMessageConverter.SECTION_TYPE, AmqpJsonMessageConverter.SECTION_AMQP_VALUE_TYPE);
+            Object amqpValue = ((AmqpValue) body).getValue();
+            if (amqpValue instanceof String) {
+                jsonBody.put(AmqpJsonMessageConverter.SECTION, amqpValue);
+            } else if (amqpValue instanceof List) {
+                jsonBody.put(AmqpJsonMessageConverter.SECTION, new JsonArray((List<?>) amqpValue));
+            } else if (amqpValue.getClass().isArray()) {
+                jsonBody.put(AmqpJsonMessageConverter.SECTION, new JsonArray(Arrays.asList(amqpValue)));
+            } else if (amqpValue instanceof Map) {
+                jsonBody.put(AmqpJsonMessageConverter.SECTION, new JsonObject((Map<String, Object>) amqpValue));
+            }
+        } else if (body instanceof Data) {
+            jsonBody.put(AmqpJsonMessageConverter.SECTION_TYPE, AmqpJsonMessageConverter.SECTION_DATA_TYPE);
+            jsonBody.put(AmqpJsonMessageConverter.SECTION, Base64.getEncoder().encode(((Data) body).getValue().getArray()));
+        }
+        return jsonBody;
+    }
+
+    private String toJson(Message message) {
+        return new String(this.converter.toKafkaRecord("my-topic", null, message).value(), StandardCharsets.UTF_8);
+    }
+
+    private Message fromJson(String json) {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("my-topic", 1, 2, "my-key", json.getBytes(StandardCharsets.UTF_8));
+        return this.converter.toMessage(null, new KafkaConsumerRecordImpl<>(record));
+    }
+
+    private void assertSameJson(Message message) {
+        assertThat(toJson(message), is(jsonObject(message).encode()));
+    }
+
+    @Test
+    public void goldenOutput() {
+        assertThat(toJson(fullMessage()), is("{\"properties\":{\"messageId\":\"my-id\",\"to\":\"my-topic\",\"subject\":\"my-subject\","
+                + "\"replyTo\":\"my-reply-to\",\"correlationId\":12},"
+                + "\"applicationProperties\":{\"string\":\"value\",\"int\":1,\"long\":10000000000,\"boolean\":true},"
+                + "\"messageAnnotations\":{\"x-opt-bridge.partition\":0,\"x-opt-bridge.key\":\"my-key\",\"x-opt-custom\":\"custom\"},"
+                + "\"body\":{\"type\":\"amqpValue\",\"section\":\"Hello\"}}"));
+        assertThat(toJson(message(new Data(new Binary("Hello".getBytes(StandardCharsets.UTF_8))))),
+                is("{\"body\":{\"type\":\"data\",\"section\":\"U0dWc2JHOD0\"}}"));
+        assertThat(toJson(message(new AmqpValue(new int[] {1, 2, 3}))),
+                is("{\"body\":{\"type\":\"amqpValue\",\"section\":[[1,2,3]]}}"));
+    }
+
+    @Test
+    public void sameJsonAsJsonObject() {
+        assertSameJson(fullMessage());
+        assertSameJson(message(new AmqpValue("Hello")));
+        assertSameJson(message(new AmqpValue(list())));
+        assertSameJson(message(new AmqpValue(map())));
+        assertSameJson(message(new AmqpValue(new int[] {1, 2, 3})));
+        assertSameJson(message(new AmqpValue(new String[] {"a", "b"})));
+        assertSameJson(message(new Data(new Binary(new byte[] {0, 1, (byte) 0xfb, (byte) 0xff}))));
+        assertSameJson(message(null));
+    }
+
+    @Test
+    public void readJsonObject() {
+        Message message = fromJson(jsonObject(fullMessage()).encode());
+
+        assertThat(message.getMessageId(), is("my-id"));
+        assertThat(message.getAddress(), is("my-topic"));
+        assertThat(message.getSubject(), is("my-subject"));
+        assertThat(message.getReplyTo(), is("my-reply-to"));
+        assertThat(message.getCorrelationId(), is(12));
+        assertThat(message.getApplicationProperties().getValue(), is(fullMessage().getApplicationProperties().getValue()));
+
+        Map<Symbol, Object> messageAnnotations = new HashMap<>(fullMessage().getMessageAnnotations().getValue());
+        // from the record, overridden by the JSON ones
+        messageAnnotations.put(AmqpBridge.AMQP_OFFSET_ANNOTATION_SYMBOL, 2L);
+        messageAnnotations.put(AmqpBridge.AMQP_TOPIC_ANNOTATION_SYMBOL, "my-topic");
+        assertThat(message.getMessageAnnotations().getValue(), is(messageAnnotations));
+        assertThat(((AmqpValue) message.getBody()).getValue(), is("Hello"));
+    }
+
+    @Test
+    public void bodyRoundTrip() {
+        Message list = fromJson(toJson(message(new AmqpValue(list()))));
+        assertThat(((AmqpValue) list.getBody()).getValue(), is(list()));
+
+        Message map = fromJson(toJson(message(new AmqpValue(map()))));
+        assertThat(((AmqpValue) map.getBody()).getValue(), is(map()));
+
+        // an array is read back as a single element list, as from the JSON objects
+        Message array = fromJson(toJson(message(new AmqpValue(new int[] {1, 2, 3}))));
+        assertThat(((AmqpValue) array.getBody()).getValue(), is(Arrays.asList(Arrays.asList(1, 2, 3))));
+
+        byte[] bytes = {0, 1, (byte) 0xfb, (byte) 0xff};
+        Message data = fromJson(toJson(message(new Data(new Binary(bytes)))));
+        assertThat(((Data) data.getBody()).getValue(), is(new Binary(bytes)));
+
+        assertThat(fromJson(toJson(message(null))).getBody(), is(nullValue()));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simple benchmark comparing the AMQP type system encoding of the AMQP structured values with the
+ * Java serialization through the current {@link DefaultSerializer} and {@link DefaultDeserializer}
+ * (encoded size, encoding and decoding throughput, measured separately).
+ * Run it as a Java application from the test classpath, optionally passing the number of iterations
+ */
+public class BodyCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int DEFAULT_ITERATIONS = 200_000;
+
+    /**
+     * Serializer and deserializer of the values as used by the Kafka producers and consumers
+     */
+    private static class Codec {
+
+        private final String name;
+        private final Serializer<Object> serializer;
+        private final Deserializer<Object> deserializer;
+
+        Codec(String name, Serializer<Object> serializer, Deserializer<Object> deserializer) {
+            this.name = name;
+            this.serializer = serializer;
+            this.deserializer = deserializer;
+        }
+    }
+
+    public static void main(String[] args) {
+
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("array", new int[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            list.add("item" + i);
+            list.add(i);
+        }
+        values.put("list", list);
+
+        Map<Object, Object> map = new HashMap<>();
+        for (int i = 0; i < 16; i++) {
+            map.put("key" + i, i % 2 == 0 ? "value" + i : (Object) (long) i);
+        }
+        values.put("map", map);
+
+        AmqpTypeBodyCodec amqpTypeBodyCodec = new AmqpTypeBodyCodec();
+        Codec[] codecs = {
+            new Codec("java", new DefaultSerializer<>(), new DefaultDeserializer<>()),
+            new Codec("amqp", (topic, data) -> amqpTypeBodyCodec.encode(data), new AmqpTypeDeserializer<>())
+        };
+
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            for (Codec codec : codecs) {
+                byte[] encoded = codec.serializer.serialize(null, value.getValue());
+
+                encode(codec, value.getValue(), WARMUP_ITERATIONS);
+                long start = System.nanoTime();
+                encode(codec, value.getValue(), iterations);
+                double encodeOps = iterations / ((System.nanoTime() - start) / 1e9);
+
+                decode(codec, encoded, WARMUP_ITERATIONS);
+                start = System.nanoTime();
+                decode(codec, encoded, iterations);
+                double decodeOps = iterations / ((System.nanoTime() - start) / 1e9);
+
+                System.out.printf("%-6s %-5s size=%5d bytes  encode %10.0f ops/s  decode %10.0f ops/s%n",
+                        value.getKey(), codec.name, encoded.length, encodeOps, decodeOps);
+            }
+        }
+    }
+
+    private static void encode(Codec codec, Object value, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            if (codec.serializer.serialize(null, value) == null) {
+                throw new IllegalStateException("Encoding failed");
+            }
+        }
+    }
+
+    private static void decode(Codec codec, byte[] encoded, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            if (codec.deserializer.deserialize(null, encoded) == null) {
+                throw new IllegalStateException("Decoding failed");
+            }
+        }
+    }
+}
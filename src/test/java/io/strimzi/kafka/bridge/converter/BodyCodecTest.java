@@ -0,0 +1,81 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BodyCodecTest {
+
+    private static List<Object> list() {
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            list.add("item" + i);
+            list.add(i);
+        }
+        return list;
+    }
+
+    private static Map<Object, Object> map() {
+        Map<Object, Object> map = new HashMap<>();
+        for (int i = 0; i < 16; i++) {
+            map.put("key" + i, i % 2 == 0 ? "value" + i : (Object) (long) i);
+        }
+        return map;
+    }
+
+    private static void assertRoundTrip(BodyCodec codec) {
+        assertThat(codec.decode(codec.encode(list())), is(list()));
+        assertThat(codec.decode(codec.encode(map())), is(map()));
+        int[] array = {1, 2, 3, 4, 5, 6, 7, 8};
+        assertThat(codec.decode(codec.encode(array)), is(array));
+    }
+
+    @Test
+    public void createByName() {
+        assertThat(BodyCodec.create("java"), instanceOf(JavaSerializationBodyCodec.class));
+        assertThat(BodyCodec.create("amqp"), instanceOf(AmqpTypeBodyCodec.class));
+        assertThrows(IllegalArgumentException.class, () -> BodyCodec.create("xml"));
+    }
+
+    @Test
+    public void javaSerializationRoundTrip() {
+        assertRoundTrip(new JavaSerializationBodyCodec());
+    }
+
+    @Test
+    public void amqpTypeRoundTrip() {
+        assertRoundTrip(new AmqpTypeBodyCodec());
+        assertThat(new AmqpTypeBodyCodec().encode(null), is(nullValue()));
+    }
+
+    @Test
+    public void amqpTypeMoreCompact() {
+        BodyCodec java = new JavaSerializationBodyCodec();
+        BodyCodec amqp = new AmqpTypeBodyCodec();
+
+        assertThat(amqp.encode(list()).length, lessThan(java.encode(list()).length));
+        assertThat(amqp.encode(map()).length, lessThan(java.encode(map()).length));
+    }
+
+    @Test
+    public void amqpTypeDeserializer() {
+        try (AmqpTypeDeserializer<Map<Object, Object>> deserializer = new AmqpTypeDeserializer<>()) {
+            assertThat(deserializer.deserialize("my-topic", new AmqpTypeBodyCodec().encode(map())), is(map()));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.converter;
+
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+@ExtendWith(VertxExtension.class)
+public class ConversionExecutorTest {
+
+    private static final String PROTOCOL = "test";
+
+    private static ConversionExecutor create(Vertx vertx, long offloadThreshold) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(BridgeConfig.CONVERSION_OFFLOAD_THRESHOLD, String.valueOf(offloadThreshold));
+        map.put(BridgeConfig.CONVERSION_POOL_SIZE, "4");
+        return ConversionExecutor.create(vertx, BridgeConfig.fromMap(map), null, PROTOCOL);
+    }
+
+    @Test
+    void conversionBelowThresholdRunsInPlace(Vertx vertx, VertxTestContext context) {
+        ConversionExecutor executor = create(vertx, 100);
+        vertx.runOnContext(v -> {
+            Thread caller = Thread.currentThread();
+            Future<Thread> converted = executor.createQueue().submit(99, Thread::currentThread);
+
+            context.verify(() -> {
+                assertThat(converted.isComplete(), is(true));
+                assertThat(converted.result(), is(caller));
+            });
+            executor.close();
+            context.completeNow();
+        });
+    }
+
+    @Test
+    void conversionAboveThresholdOffloaded(Vertx vertx, VertxTestContext context) {
+        ConversionExecutor executor = create(vertx, 100);
+        vertx.runOnContext(v -> {
+            Thread caller = Thread.currentThread();
+            executor.createQueue().submit(100, Thread::currentThread)
+                    .onComplete(context.succeeding(thread -> context.verify(() -> {
+                        assertThat(thread, is(not(caller)));
+                        assertThat(thread.getName(), startsWith("kafka-bridge-" + PROTOCOL + "-conversion"));
+                        // completed back on the caller event loop
+                        assertThat(Thread.currentThread(), is(caller));
+                        executor.close();
+                        context.completeNow();
+                    })));
+        });
+    }
+
+    @Test
+    void offloadingDisabledWithNegativeThreshold(Vertx vertx, VertxTestContext context) {
+        ConversionExecutor executor = create(vertx, -1);
+        vertx.runOnContext(v -> {
+            Thread caller = Thread.currentThread();
+            Future<Thread> converted = executor.createQueue().submit(Long.MAX_VALUE, Thread::currentThread);
+
+            context.verify(() -> assertThat(converted.result(), is(caller)));
+            executor.close();
+            context.completeNow();
+        });
+    }
+
+    @Test
+    void resultsInSubmissionOrder(Vertx vertx, VertxTestContext context) {
+        ConversionExecutor executor = create(vertx, 100);
+        vertx.runOnContext(v -> {
+            ConversionExecutor.Queue queue = executor.createQueue();
+            List<Integer> completed = new ArrayList<>();
+
+            // an offloaded conversion starts when the previous one completes, even if the previous one is slower
+            queue.submit(1000, () -> {
+                Thread.sleep(200);
+                return 0;
+            }).onSuccess(completed::add);
+            queue.submit(1000, () -> {
+                Thread.sleep(50);
+                return 1;
+            }).onSuccess(completed::add);
+            // small ones are not run in place while an offloaded one is pending
+            Future<Integer> small = queue.submit(10, () -> 2).onSuccess(completed::add);
+            context.verify(() -> assertThat(small.isComplete(), is(false)));
+            queue.submit(1000, () -> 3).onSuccess(completed::add);
+            queue.submit(10, () -> 4).onSuccess(completed::add)
+                    .onComplete(context.succeeding(result -> context.verify(() -> {
+                        assertThat(completed, is(Arrays.asList(0, 1, 2, 3, 4)));
+
+                        // back in place once the queue is drained
+                        Future<Integer> inPlace = queue.submit(10, () -> 5);
+                        assertThat(inPlace.isComplete(), is(true));
+                        executor.close();
+                        context.completeNow();
+                    })));
+        });
+    }
+
+    @Test
+    void failedConversionKeepsOrder(Vertx vertx, VertxTestContext context) {
+        ConversionExecutor executor = create(vertx, 100);
+        vertx.runOnContext(v -> {
+            ConversionExecutor.Queue queue = executor.createQueue();
+            List<String> completed = new ArrayList<>();
+
+            queue.<String>submit(1000, () -> {
+                throw new IllegalStateException("conversion failed");
+            }).onFailure(t -> completed.add(t.getMessage()));
+            queue.submit(10, () -> "next").onSuccess(completed::add)
+                    .onComplete(context.succeeding(result -> context.verify(() -> {
+                        assertThat(completed, is(Arrays.asList("conversion failed", "next")));
+                        executor.close();
+                        context.completeNow();
+                    })));
+        });
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.strimzi.kafka.bridge.BridgeContentType;
+import io.strimzi.kafka.bridge.MetricsReporter;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.strimzi.kafka.bridge.http.base.HttpBridgeITAbstract;
+import io.strimzi.kafka.bridge.http.model.HttpBridgeError;
+import io.strimzi.kafka.bridge.utils.Urls;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests for the request body size limits, on a bridge deployed on its own port with
+ * a limit for the operations sending records and a lower one for the other operations
+ */
+public class HttpBodyLimitIT extends HttpBridgeITAbstract {
+
+    private static final int BODY_LIMIT_BRIDGE_PORT = 8082;
+    private static final long PRODUCER_MAX_BODY_BYTES = 1024;
+    private static final long MAX_BODY_BYTES = 256;
+
+    private WebClient limitClient;
+
+    /**
+     * Deploy another in-memory bridge, listening on its own port, with the body size limits
+     *
+     * @return future completed with the deployment ID
+     */
+    private Future<String> deployBridge() {
+        Map<String, Object> map = new HashMap<>(config);
+        map.put(HttpConfig.HTTP_PORT, BODY_LIMIT_BRIDGE_PORT);
+        map.put(HttpConfig.HTTP_PRODUCER_MAX_BODY_BYTES, PRODUCER_MAX_BODY_BYTES);
+        map.put(HttpConfig.HTTP_MAX_BODY_BYTES, MAX_BODY_BYTES);
+        HttpBridge bridge = new HttpBridge(BridgeConfig.fromMap(map), new MetricsReporter(null, null));
+        this.limitClient = WebClient.create(vertx, new WebClientOptions()
+                .setDefaultHost(Urls.BRIDGE_HOST)
+                .setDefaultPort(BODY_LIMIT_BRIDGE_PORT));
+        return vertx.deployVerticle(bridge);
+    }
+
+    /**
+     * @param bodyLength length of the whole JSON body
+     * @return a send body with a single record, padded in the value to the requested length
+     */
+    private static Buffer records(int bodyLength) {
+        String empty = new JsonObject().put("records", new JsonArray().add(new JsonObject().put("value", ""))).encode();
+        StringBuilder value = new StringBuilder();
+        for (int i = empty.length(); i < bodyLength; i++) {
+            value.append('x');
+        }
+        Buffer body = new JsonObject().put("records", new JsonArray().add(new JsonObject().put("value", value.toString()))).toBuffer();
+        assertThat(body.length(), is(bodyLength));
+        return body;
+    }
+
+    private Future<HttpResponse<Buffer>> send(Buffer body) {
+        return this.limitClient.post("/topics/" + topic)
+                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), BridgeContentType.KAFKA_JSON_JSON)
+                .sendBuffer(body);
+    }
+
+    private static void assertRejected(HttpResponse<Buffer> response, long maxBodyBytes) {
+        assertThat(response.statusCode(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()));
+        // rejected before reading the body, closing the connection
+        assertThat(response.getHeader(HttpHeaders.CONNECTION.toString()), is("close"));
+        HttpBridgeError error = HttpBridgeError.fromJson(response.bodyAsJsonObject());
+        assertThat(error.getCode(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()));
+        assertThat(error.getMessage(), is("The request body is bigger than the maximum size of " + maxBodyBytes + " bytes"));
+    }
+
+    private static void assertSent(HttpResponse<Buffer> response) {
+        assertThat(response.statusCode(), is(HttpResponseStatus.OK.code()));
+        JsonArray offsets = response.bodyAsJsonObject().getJsonArray("offsets");
+        assertThat(offsets.size(), is(1));
+        assertThat(offsets.getJsonObject(0).containsKey("error_code"), is(false));
+    }
+
+    @Test
+    void producerLimitOnContentLength(VertxTestContext context) throws InterruptedException, ExecutionException {
+        if (!"FALSE".equals(BRIDGE_EXTERNAL_ENV)) {
+            context.completeNow();
+            return;
+        }
+        adminClientFacade.createTopic(topic);
+
+        deployBridge().onComplete(context.succeeding(id ->
+            send(records((int) PRODUCER_MAX_BODY_BYTES)).onComplete(context.succeeding(sent -> context.verify(() -> {
+                assertSent(sent);
+
+                send(records((int) PRODUCER_MAX_BODY_BYTES + 1)).onComplete(context.succeeding(rejected -> context.verify(() -> {
+                    assertRejected(rejected, PRODUCER_MAX_BODY_BYTES);
+                    vertx.undeploy(id).onComplete(context.succeeding(v -> context.completeNow()));
+                })));
+            })))));
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void limitForOperationOnContentLength(VertxTestContext context) throws InterruptedException, ExecutionException {
+        if (!"FALSE".equals(BRIDGE_EXTERNAL_ENV)) {
+            context.completeNow();
+            return;
+        }
+        adminClientFacade.createTopic(topic);
+
+        // the same body is within the limit for sending records, but not for creating a consumer
+        int bodyLength = (int) MAX_BODY_BYTES * 2;
+        assertThat((long) bodyLength, greaterThan(MAX_BODY_BYTES));
+        assertThat((long) bodyLength, lessThan(PRODUCER_MAX_BODY_BYTES));
+        Buffer body = records(bodyLength);
+
+        deployBridge().onComplete(context.succeeding(id ->
+            send(body).onComplete(context.succeeding(sent -> context.verify(() -> {
+                assertSent(sent);
+
+                this.limitClient.post("/consumers/" + generateRandomConsumerGroupName())
+                        .putHeader(HttpHeaders.CONTENT_TYPE.toString(), BridgeContentType.KAFKA_JSON)
+                        .sendBuffer(body, context.succeeding(rejected -> context.verify(() -> {
+                            assertRejected(rejected, MAX_BODY_BYTES);
+                            vertx.undeploy(id).onComplete(context.succeeding(v -> context.completeNow()));
+                        })));
+            })))));
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void chunkedBodyCutOff(VertxTestContext context) throws InterruptedException, ExecutionException {
+        if (!"FALSE".equals(BRIDGE_EXTERNAL_ENV)) {
+            context.completeNow();
+            return;
+        }
+        adminClientFacade.createTopic(topic);
+
+        // without a Content-Length, the body is cut off as it's received, over the highest of the limits
+        deployBridge().onComplete(context.succeeding(id ->
+            vertx.createHttpClient().request(HttpMethod.POST, BODY_LIMIT_BRIDGE_PORT, Urls.BRIDGE_HOST, "/topics/" + topic)
+                .compose(request -> request.setChunked(true)
+                        .putHeader(HttpHeaders.CONTENT_TYPE, BridgeContentType.KAFKA_JSON_JSON)
+                        .send(records((int) PRODUCER_MAX_BODY_BYTES * 2)))
+                .compose(response -> response.body().map(body -> {
+                    context.verify(() -> {
+                        assertThat(response.statusCode(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()));
+                        HttpBridgeError error = HttpBridgeError.fromJson(body.toJsonObject());
+                        assertThat(error.getCode(), is(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()));
+                        assertThat(error.getMessage(), is("The request body is bigger than the maximum size"));
+                    });
+                    return body;
+                }))
+                .compose(body -> vertx.undeploy(id))
+                .onComplete(context.succeeding(v -> context.completeNow()))));
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.strimzi.kafka.bridge.ConsumerInstanceId;
+import io.vertx.core.http.HttpServerRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpConsumerAffinityTest {
+
+    private static final List<String> REPLICAS = Arrays.asList("bridge-0.bridge:8080", "bridge-1.bridge:8080", "bridge-2.bridge:8080");
+
+    private static HttpServerRequest forwardedBy(String replica) {
+        HttpServerRequest request = mock(HttpServerRequest.class);
+        when(request.getHeader(HttpConsumerAffinity.FORWARDED_BY_HEADER)).thenReturn(replica);
+        return request;
+    }
+
+    @Test
+    void ownerIsStableAcrossReplicas() {
+        HttpConsumerAffinity first = new HttpConsumerAffinity(null, REPLICAS, REPLICAS.get(0), false);
+        HttpConsumerAffinity second = new HttpConsumerAffinity(null, REPLICAS, REPLICAS.get(1), false);
+
+        for (int i = 0; i < 100; i++) {
+            ConsumerInstanceId id = new ConsumerInstanceId("group", "consumer-" + i);
+            assertThat(first.owner(id), is(second.owner(id)));
+            assertThat(REPLICAS.contains(first.owner(id)), is(true));
+        }
+    }
+
+    @Test
+    void consumersSpreadAcrossReplicas() {
+        HttpConsumerAffinity affinity = new HttpConsumerAffinity(null, REPLICAS, REPLICAS.get(0), false);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            owned.merge(affinity.owner(new ConsumerInstanceId("group", "consumer-" + i)), 1, Integer::sum);
+        }
+        for (String replica : REPLICAS) {
+            assertThat(owned.getOrDefault(replica, 0) > 600, is(true));
+            assertThat(owned.getOrDefault(replica, 0) < 1400, is(true));
+        }
+    }
+
+    @Test
+    void addingReplicaMovesFewConsumers() {
+        HttpConsumerAffinity three = new HttpConsumerAffinity(null, REPLICAS, REPLICAS.get(0), false);
+        HttpConsumerAffinity four = new HttpConsumerAffinity(null,
+                Arrays.asList(REPLICAS.get(0), REPLICAS.get(1), REPLICAS.get(2), "bridge-3.bridge:8080"), REPLICAS.get(0), false);
+
+        int moved = 0;
+        for (int i = 0; i < 3000; i++) {
+            ConsumerInstanceId id = new ConsumerInstanceId("group", "consumer-" + i);
+            if (!three.owner(id).equals(four.owner(id))) {
+                // a consumer instance can only move to the new replica
+                assertThat(four.owner(id), is("bridge-3.bridge:8080"));
+                moved++;
+            }
+        }
+        assertThat(moved < 1200, is(true));
+    }
+
+    @Test
+    void generatedNamesOwnedByReplica() {
+        for (String replica : REPLICAS) {
+            HttpConsumerAffinity affinity = new HttpConsumerAffinity(null, REPLICAS, replica, false);
+            for (int i = 0; i < 20; i++) {
+                String name = affinity.generateName("group", "kafka-bridge-consumer-");
+                assertThat(name.startsWith("kafka-bridge-consumer-"), is(true));
+                assertThat(affinity.owner(new ConsumerInstanceId("group", name)), is(replica));
+            }
+        }
+    }
+
+    @Test
+    void forwardedOnlyByOtherReplicas() {
+        HttpConsumerAffinity affinity = new HttpConsumerAffinity(null, REPLICAS, REPLICAS.get(0), false);
+
+        assertThat(affinity.isForwarded(forwardedBy(null)), is(false));
+        assertThat(affinity.isForwarded(forwardedBy(REPLICAS.get(1))), is(true));
+        // a client setting the header is not trusted, so the request is still forwarded to the owner
+        assertThat(affinity.isForwarded(forwardedBy("client")), is(false));
+        assertThat(affinity.isForwarded(forwardedBy(REPLICAS.get(0))), is(false));
+    }
+
+    @Test
+    void replicaNotInRing() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new HttpConsumerAffinity(null, REPLICAS, "bridge-3.bridge:8080", false));
+        assertThrows(IllegalArgumentException.class,
+            () -> new HttpConsumerAffinity(null, Arrays.asList("bridge-0.bridge"), "bridge-0.bridge", false));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.strimzi.kafka.bridge.BridgeContentType;
+import io.strimzi.kafka.bridge.HealthChecker;
+import io.strimzi.kafka.bridge.MetricsReporter;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
+import io.strimzi.kafka.bridge.http.base.HttpBridgeITAbstract;
+import io.strimzi.kafka.bridge.utils.Urls;
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.junit5.Checkpoint;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Tests for the draining of the in-flight requests when the bridge is stopped,
+ * each one on a bridge deployed on its own port and then undeployed
+ */
+public class HttpDrainIT extends HttpBridgeITAbstract {
+
+    private static final int DRAIN_BRIDGE_PORT = 8081;
+    private static final long DRAIN_TIMEOUT_MS = 3000;
+    // time for the request to reach the bridge, before stopping it
+    private static final long IN_FLIGHT_DELAY_MS = 500;
+
+    /**
+     * Deploy another in-memory bridge, listening on its own port, with a health checker reporting its status
+     *
+     * @return future completed with the deployment ID
+     */
+    private static Future<String> deployBridge() {
+        Map<String, Object> map = new HashMap<>(config);
+        map.put(HttpConfig.HTTP_PORT, DRAIN_BRIDGE_PORT);
+        map.put(BridgeConfig.SHUTDOWN_DRAIN_TIMEOUT_MS, DRAIN_TIMEOUT_MS);
+        HttpBridge bridge = new HttpBridge(BridgeConfig.fromMap(map), new MetricsReporter(null, null));
+        HealthChecker healthChecker = new HealthChecker();
+        healthChecker.addHealthCheckable(bridge);
+        bridge.setHealthChecker(healthChecker);
+        return vertx.deployVerticle(bridge);
+    }
+
+    /**
+     * Start a send request with a chunked body, writing just the beginning of it,
+     * so that the request stays in flight until the body is ended
+     *
+     * @param topic topic to send the record to
+     * @return future completed with the request, once the beginning of the body is written
+     */
+    private static Future<HttpClientRequest> startSend(String topic) {
+        return vertx.createHttpClient().request(HttpMethod.POST, DRAIN_BRIDGE_PORT, Urls.BRIDGE_HOST, "/topics/" + topic)
+                .compose(request -> request.setChunked(true)
+                        .putHeader(HttpHeaders.CONTENT_TYPE, BridgeContentType.KAFKA_JSON_JSON)
+                        .write("{\"records\":[")
+                        .map(request));
+    }
+
+    @Test
+    void drainCompletesInFlightSend(VertxTestContext context) throws InterruptedException, ExecutionException {
+        if (!"FALSE".equals(BRIDGE_EXTERNAL_ENV)) {
+            context.completeNow();
+            return;
+        }
+        adminClientFacade.createTopic(topic);
+
+        WebClient drainClient = WebClient.create(vertx, new WebClientOptions()
+                .setDefaultHost(Urls.BRIDGE_HOST)
+                .setDefaultPort(DRAIN_BRIDGE_PORT));
+        AtomicBoolean stopped = new AtomicBoolean();
+        Checkpoint completed = context.checkpoint(2);
+
+        deployBridge().onComplete(context.succeeding(id -> startSend(topic).onComplete(context.succeeding(request -> {
+            Future<HttpClientResponse> sent = request.response();
+
+            vertx.setTimer(IN_FLIGHT_DELAY_MS, t -> {
+                vertx.undeploy(id).onComplete(context.succeeding(v -> {
+                    stopped.set(true);
+                    completed.flag();
+                }));
+
+                // a new request is rejected, and the bridge is not ready while still alive
+                drainClient.get("/topics").send(context.succeeding(rejected -> context.verify(() -> {
+                    assertThat(rejected.statusCode(), is(HttpResponseStatus.SERVICE_UNAVAILABLE.code()));
+                    assertThat(rejected.getHeader(HttpHeaders.CONNECTION.toString()), is("close"));
+                    assertThat(rejected.bodyAsJsonObject().getInteger("error_code"), is(HttpResponseStatus.SERVICE_UNAVAILABLE.code()));
+
+                    drainClient.get("/ready").send(context.succeeding(ready -> context.verify(() -> {
+                        assertThat(ready.statusCode(), is(HttpResponseStatus.NOT_FOUND.code()));
+
+                        drainClient.get("/healthy").send(context.succeeding(healthy -> context.verify(() -> {
+                            assertThat(healthy.statusCode(), is(HttpResponseStatus.OK.code()));
+                            assertThat(stopped.get(), is(false));
+
+                            // the in-flight send is completed, with the producer still open
+                            request.end("{\"value\":\"drained\"}]}");
+                        })));
+                    })));
+                })));
+            });
+
+            sent.compose(response -> response.body().map(body -> {
+                context.verify(() -> {
+                    assertThat(response.statusCode(), is(HttpResponseStatus.OK.code()));
+                    JsonArray offsets = new JsonObject(body).getJsonArray("offsets");
+                    assertThat(offsets.size(), is(1));
+                    assertThat(offsets.getJsonObject(0).containsKey("error_code"), is(false));
+                    assertThat(stopped.get(), is(false));
+                });
+                completed.flag();
+                return body;
+            })).onFailure(context::failNow);
+        }))));
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void drainTimeoutBoundsStop(VertxTestContext context) throws InterruptedException, ExecutionException {
+        if (!"FALSE".equals(BRIDGE_EXTERNAL_ENV)) {
+            context.completeNow();
+            return;
+        }
+        adminClientFacade.createTopic(topic);
+
+        // the body of the send is never ended, so the request is still in flight when the drain timeout expires
+        deployBridge().onComplete(context.succeeding(id -> startSend(topic).onComplete(context.succeeding(request ->
+            vertx.setTimer(IN_FLIGHT_DELAY_MS, t -> {
+                long start = System.nanoTime();
+                vertx.undeploy(id).onComplete(context.succeeding(v -> context.verify(() -> {
+                    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    assertThat(elapsedMs, greaterThanOrEqualTo(DRAIN_TIMEOUT_MS));
+                    // just the time for closing the Kafka clients and the HTTP server after the drain
+                    assertThat(elapsedMs, lessThan(DRAIN_TIMEOUT_MS + 5000));
+                    context.completeNow();
+                })));
+            })))));
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+}
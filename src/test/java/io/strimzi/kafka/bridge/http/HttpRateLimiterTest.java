@@ -0,0 +1,128 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpRateLimiterTest {
+
+    private static HttpConfig config(String key, long requests, long records, long bytes) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(HttpConfig.HTTP_RATE_LIMIT_KEY, key);
+        map.put(HttpConfig.HTTP_RATE_LIMIT_REQUESTS_PER_SECOND, String.valueOf(requests));
+        map.put(HttpConfig.HTTP_RATE_LIMIT_RECORDS_PER_SECOND, String.valueOf(records));
+        map.put(HttpConfig.HTTP_RATE_LIMIT_BYTES_PER_SECOND, String.valueOf(bytes));
+        return HttpConfig.fromMap(map);
+    }
+
+    private static HttpServerRequest request(String ip, String path) {
+        HttpServerRequest request = mock(HttpServerRequest.class);
+        when(request.remoteAddress()).thenReturn(SocketAddress.inetSocketAddress(12345, ip));
+        when(request.path()).thenReturn(path);
+        return request;
+    }
+
+    @Test
+    public void disabledWithoutLimits() {
+        assertThat(HttpRateLimiter.create(null, config(HttpConfig.RATE_LIMIT_KEY_IP, 0, 0, 0), null), is(nullValue()));
+    }
+
+    @Test
+    public void requestsOverBurstRejected() {
+        HttpRateLimiter rateLimiter = new HttpRateLimiter(null, config(HttpConfig.RATE_LIMIT_KEY_IP, 10, 0, 0), null);
+        HttpServerRequest request = request("10.0.0.1", "/topics/topic");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.acquireRequest(request), is(0L));
+        }
+        assertThat(rateLimiter.acquireRequest(request) > 0, is(true));
+        // another client has its own bucket
+        assertThat(rateLimiter.acquireRequest(request("10.0.0.2", "/topics/topic")), is(0L));
+    }
+
+    @Test
+    public void recordsAndBytesLimited() {
+        HttpRateLimiter rateLimiter = new HttpRateLimiter(null, config(HttpConfig.RATE_LIMIT_KEY_IP, 0, 100, 1000), null);
+        HttpServerRequest request = request("10.0.0.1", "/topics/topic");
+
+        // a batch bigger than the burst is allowed on a full bucket, delaying the next ones
+        assertThat(rateLimiter.acquireRecords(request, 150, 10), is(0L));
+        assertThat(rateLimiter.acquireRecords(request, 1, 10) > 0, is(true));
+
+        HttpServerRequest other = request("10.0.0.2", "/topics/topic");
+        when(other.getHeader(HttpHeaderNames.CONTENT_LENGTH)).thenReturn("800");
+        assertThat(rateLimiter.acquireRequest(other), is(0L));
+        assertThat(rateLimiter.acquireRequest(other) > 0, is(true));
+    }
+
+    @Test
+    public void rejectedRequestsGivenBack() {
+        HttpRateLimiter rateLimiter = new HttpRateLimiter(null, config(HttpConfig.RATE_LIMIT_KEY_IP, 2, 100, 1000), null);
+        HttpServerRequest request = request("10.0.0.1", "/topics/topic");
+        HttpServerRequest sized = request("10.0.0.1", "/topics/topic");
+        when(sized.getHeader(HttpHeaderNames.CONTENT_LENGTH)).thenReturn("800");
+
+        // rejected by the bytes limit, the request is given back
+        assertThat(rateLimiter.acquireRequest(sized), is(0L));
+        assertThat(rateLimiter.acquireRequest(sized) > 0, is(true));
+        assertThat(rateLimiter.acquireRequest(request), is(0L));
+
+        // rejected by the records limit, the request and its bytes are given back
+        HttpServerRequest other = request("10.0.0.2", "/topics/topic");
+        assertThat(rateLimiter.acquireRequest(other), is(0L));
+        assertThat(rateLimiter.acquireRecords(other, 150, 10), is(0L));
+        assertThat(rateLimiter.acquireRequest(other), is(0L));
+        assertThat(rateLimiter.acquireRecords(other, 1, 10) > 0, is(true));
+        assertThat(rateLimiter.acquireRequest(other), is(0L));
+    }
+
+    @Test
+    public void malformedContentLength() {
+        HttpRateLimiter rateLimiter = new HttpRateLimiter(null, config(HttpConfig.RATE_LIMIT_KEY_IP, 0, 0, 1000), null);
+        HttpServerRequest request = request("10.0.0.1", "/topics/topic");
+        when(request.getHeader(HttpHeaderNames.CONTENT_LENGTH)).thenReturn("not-a-length");
+
+        // as an unknown length, the bytes are acquired with the records
+        assertThat(rateLimiter.acquireRequest(request), is(0L));
+        assertThat(rateLimiter.acquireRecords(request, 1, 1500), is(0L));
+        assertThat(rateLimiter.acquireRecords(request, 1, 10) > 0, is(true));
+    }
+
+    @Test
+    public void groupAndHeaderKeys() {
+        HttpRateLimiter byGroup = new HttpRateLimiter(null, config(HttpConfig.RATE_LIMIT_KEY_GROUP, 1, 0, 0), null);
+        assertThat(byGroup.acquireRequest(request("10.0.0.1", "/consumers/group1/instances/c1/records")), is(0L));
+        assertThat(byGroup.acquireRequest(request("10.0.0.2", "/consumers/group1")) > 0, is(true));
+        assertThat(byGroup.acquireRequest(request("10.0.0.2", "/consumers/group2")), is(0L));
+
+        HttpRateLimiter byHeader = new HttpRateLimiter(null, config(HttpConfig.RATE_LIMIT_KEY_HEADER_PREFIX + "x-client", 1, 0, 0), null);
+        HttpServerRequest first = request("10.0.0.1", "/topics/topic");
+        when(first.getHeader("x-client")).thenReturn("app");
+        HttpServerRequest second = request("10.0.0.2", "/topics/topic");
+        when(second.getHeader("x-client")).thenReturn("app");
+        assertThat(byHeader.acquireRequest(first), is(0L));
+        assertThat(byHeader.acquireRequest(second) > 0, is(true));
+    }
+
+    @Test
+    public void invalidKey() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new HttpRateLimiter(null, config("user", 1, 0, 0), null));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.vertx.ext.web.RoutingContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HttpRequestTimingTest {
+
+    private static RoutingContext routingContext() {
+        RoutingContext routingContext = mock(RoutingContext.class);
+        Map<String, Object> data = new HashMap<>();
+        when(routingContext.put(anyString(), any())).thenAnswer(invocation -> {
+            data.put(invocation.getArgument(0), invocation.getArgument(1));
+            return routingContext;
+        });
+        when(routingContext.get(anyString())).thenAnswer(invocation -> data.get(invocation.getArgument(0)));
+        return routingContext;
+    }
+
+    @Test
+    public void disabled() {
+        HttpConfig config = HttpConfig.fromMap(new HashMap<>());
+        assertThat(HttpRequestTiming.recorder(config, null), is(nullValue()));
+
+        // no-op on a request not timed
+        RoutingContext routingContext = routingContext();
+        HttpRequestTiming.begin(routingContext, HttpOpenApiOperations.SEND);
+        HttpRequestTiming.mark(routingContext, HttpRequestTiming.Phase.KAFKA);
+        assertThat(HttpRequestTiming.get(routingContext), is(nullValue()));
+    }
+
+    @Test
+    public void serverTiming() {
+        Map<String, Object> map = new HashMap<>();
+        map.put(HttpConfig.HTTP_TIMING_ENABLED, "true");
+        HttpRequestTiming.Recorder recorder = HttpRequestTiming.recorder(HttpConfig.fromMap(map), null);
+        assertThat(recorder, is(notNullValue()));
+
+        RoutingContext routingContext = routingContext();
+        HttpRequestTiming.start(routingContext, recorder);
+        // only the requests handled by a timed operation
+        assertThat(HttpRequestTiming.get(routingContext), is(nullValue()));
+
+        HttpRequestTiming.begin(routingContext, HttpOpenApiOperations.POLL);
+        HttpRequestTiming.mark(routingContext, HttpRequestTiming.Phase.KAFKA);
+        HttpRequestTiming timing = HttpRequestTiming.get(routingContext);
+        assertThat(timing.serverTiming().matches("parse;dur=\\d+\\.\\d{3}, kafka;dur=\\d+\\.\\d{3}"), is(true));
+
+        timing.mark(HttpRequestTiming.Phase.SERIALIZATION);
+        timing.written();
+        assertThat(timing.serverTiming().matches("parse;dur=[^,]+, kafka;dur=[^,]+, serialization;dur=[^,]+, write;dur=[^,]+"), is(true));
+    }
+}
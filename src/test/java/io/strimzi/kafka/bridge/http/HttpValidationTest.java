@@ -0,0 +1,56 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.api.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HttpValidationTest {
+
+    @Test
+    public void validProducerRecords() {
+        JsonObject json = HttpValidation.validateProducerRecords(Buffer.buffer("{\"records\":[{\"value\":\"v\",\"partition\":0}]}"));
+        JsonArray records = json.getJsonArray("records");
+        HttpValidation.validateProducerRecord(records.getValue(0), 0, false);
+
+        assertThat(records.size(), is(1));
+    }
+
+    @Test
+    public void producerRecordsNotValid() {
+        ValidationException e = assertThrows(ValidationException.class,
+            () -> HttpValidation.validateProducerRecords(Buffer.buffer("{\"records\":\"x\"}")));
+        assertThat(e.getMessage(), is("$.records: string found, array expected"));
+
+        e = assertThrows(ValidationException.class,
+            () -> HttpValidation.validateProducerRecords(Buffer.buffer()));
+        assertThat(e.getMessage(), is("Json should not be null"));
+
+        e = assertThrows(ValidationException.class,
+            () -> HttpValidation.validateProducerRecord(new JsonObject().put("value", "v").put("partition", "x"), 1, false));
+        assertThat(e.parameterName(), is("body.records[1].partition"));
+        assertThat(e.getMessage(), is("$.records[1].partition: string found, integer expected"));
+
+        // partition is not allowed when sending to the partition in the request path
+        e = assertThrows(ValidationException.class,
+            () -> HttpValidation.validateProducerRecord(new JsonObject().put("value", "v").put("partition", 0), 0, true));
+        assertThat(e.getMessage(), is("$.records[0].partition: is not defined in the schema and the schema does not allow additional properties"));
+    }
+
+    @Test
+    public void offsetsNotValid() {
+        ValidationException e = assertThrows(ValidationException.class,
+            () -> HttpValidation.validateOffsets(Buffer.buffer("{\"offsets\":[{\"topic\":\"t\",\"partition\":0}]}")));
+        assertThat(e.getMessage(), is("$.offsets[0].offset: is missing but it is required"));
+    }
+}
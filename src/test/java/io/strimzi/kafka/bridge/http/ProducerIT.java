@@ -6,16 +6,24 @@ package io.strimzi.kafka.bridge.http;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.strimzi.kafka.bridge.BridgeContentType;
+import io.strimzi.kafka.bridge.MetricsReporter;
 import io.strimzi.kafka.bridge.clients.Consumer;
+import io.strimzi.kafka.bridge.config.BridgeConfig;
 import io.strimzi.kafka.bridge.config.KafkaProducerConfig;
 import io.strimzi.kafka.bridge.http.base.HttpBridgeITAbstract;
 import io.strimzi.kafka.bridge.http.model.HttpBridgeError;
 import io.strimzi.kafka.bridge.utils.KafkaJsonDeserializer;
+import io.strimzi.kafka.bridge.utils.Urls;
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.junit5.VertxTestContext;
 import io.vertx.kafka.client.consumer.KafkaConsumer;
 import io.vertx.kafka.client.producer.KafkaHeader;
@@ -32,7 +40,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.xml.bind.DatatypeConverter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -48,6 +58,7 @@ import static org.hamcrest.Matchers.notNullValue;
 public class ProducerIT extends HttpBridgeITAbstract {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProducerIT.class);
+    private static final int FAST_VALIDATION_BRIDGE_PORT = 8083;
 
     @Test
     void sendSimpleMessage(VertxTestContext context) throws InterruptedException, ExecutionException {
@@ -767,6 +778,177 @@ public class ProducerIT extends HttpBridgeITAbstract {
         assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
     }
 
+    @Test
+    void sendMultipleRecordsWithSummaryResponseTest(VertxTestContext context) throws InterruptedException, ExecutionException {
+        adminClientFacade.createTopic(topic, 3, 1);
+
+        String value = "Hi, This is kafka bridge";
+        int partition = 1;
+        int numMessages = 5;
+
+        JsonArray records = new JsonArray();
+        for (int i = 0; i < numMessages; i++) {
+            JsonObject json = new JsonObject();
+            json.put("value", value + "-" + i);
+            json.put("partition", partition);
+            records.add(json);
+        }
+
+        JsonObject invalid = new JsonObject();
+        invalid.put("value", value + "invalid");
+        invalid.put("partition", 500);
+        records.add(invalid);
+
+        JsonObject root = new JsonObject();
+        root.put("records", records);
+
+        producerService()
+                .sendRecordsRequest(topic, root, BridgeContentType.KAFKA_JSON_JSON)
+                .addQueryParam("response_mode", "summary")
+                .sendJsonObject(root, ar -> {
+                    context.verify(() -> {
+                        assertThat(ar.succeeded(), is(true));
+                        HttpResponse<JsonObject> response = ar.result();
+                        assertThat(response.statusCode(), is(HttpResponseStatus.OK.code()));
+                        JsonObject bridgeResponse = response.body();
+                        assertThat(bridgeResponse.containsKey("offsets"), is(false));
+
+                        JsonArray partitions = bridgeResponse.getJsonArray("partitions");
+                        assertThat(partitions.size(), is(1));
+                        JsonObject summary = partitions.getJsonObject(0);
+                        assertThat(summary.getString("topic"), is(topic));
+                        assertThat(summary.getInteger("partition"), is(partition));
+                        assertThat(summary.getLong("first_offset"), is(0L));
+                        assertThat(summary.getLong("last_offset"), is((long) numMessages - 1));
+                        assertThat(summary.getInteger("count"), is(numMessages));
+
+                        JsonArray errors = bridgeResponse.getJsonArray("errors");
+                        assertThat(errors.size(), is(1));
+                        JsonObject error = errors.getJsonObject(0);
+                        assertThat(error.getInteger("error_code"), is(HttpResponseStatus.NOT_FOUND.code()));
+                        assertThat(error.getInteger("index"), is(numMessages));
+                    });
+                    context.completeNow();
+                });
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void sendRawRecord(VertxTestContext context) throws InterruptedException, ExecutionException {
+        adminClientFacade.createTopic(topic, 3, 1);
+
+        String value = "raw-message-value";
+        String key = "raw-message-key";
+        int partition = 2;
+
+        producerService()
+            .sendRawRecordRequest(topic, Buffer.buffer(value))
+            .putHeader("X-Kafka-Key", key)
+            .putHeader("X-Kafka-Partition", String.valueOf(partition))
+            .putHeader("X-Kafka-Header-header1", "value1")
+            .sendBuffer(Buffer.buffer(value), ar -> {
+                context.verify(() -> {
+                    assertThat(ar.succeeded(), is(true));
+                    HttpResponse<JsonObject> response = ar.result();
+                    assertThat(response.statusCode(), is(HttpResponseStatus.OK.code()));
+                    JsonArray offsets = response.body().getJsonArray("offsets");
+                    assertThat(offsets.size(), is(1));
+                    assertThat(offsets.getJsonObject(0).getInteger("partition"), is(partition));
+                    assertThat(offsets.getJsonObject(0).getLong("offset"), is(0L));
+                });
+            });
+
+        Properties consumerProperties = Consumer.fillDefaultProperties();
+        consumerProperties.setProperty(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaUri);
+
+        KafkaConsumer<String, String> consumer = KafkaConsumer.create(vertx, consumerProperties,
+                new StringDeserializer(), new StringDeserializer());
+        consumer.handler(record -> {
+            context.verify(() -> {
+                assertThat(record.value(), is(value));
+                assertThat(record.key(), is(key));
+                assertThat(record.topic(), is(topic));
+                assertThat(record.partition(), is(partition));
+                assertThat(record.offset(), is(0L));
+                assertThat(record.headers().size(), is(1));
+                assertThat(record.headers().get(0).key(), is("header1"));
+                assertThat(record.headers().get(0).value().toString(), is("value1"));
+            });
+            LOGGER.info("Message consumed topic={} partition={} offset={}, key={}, value={}",
+                    record.topic(), record.partition(), record.offset(), record.key(), record.value());
+            consumer.close();
+            context.completeNow();
+        });
+
+        consumer.subscribe(topic, done -> {
+            if (!done.succeeded()) {
+                context.failNow(done.cause());
+            }
+        });
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void sendMultipleRecordsToTopics(VertxTestContext context) throws InterruptedException, ExecutionException {
+        String topic2 = topic + "-2";
+        adminClientFacade.createTopic(topic);
+        adminClientFacade.createTopic(topic2);
+
+        String value = "message-value";
+
+        JsonArray records = new JsonArray();
+        records.add(new JsonObject().put("topic", topic).put("value", value + "-0"));
+        records.add(new JsonObject().put("topic", topic2).put("value", value + "-1"));
+        records.add(new JsonObject().put("topic", topic).put("value", value + "-2"));
+
+        JsonObject root = new JsonObject();
+        root.put("records", records);
+
+        producerService()
+            .sendRecordsToTopicsRequest(root, BridgeContentType.KAFKA_JSON_JSON)
+            .sendJsonObject(root, ar -> {
+                context.verify(() -> {
+                    assertThat(ar.succeeded(), is(true));
+                    HttpResponse<JsonObject> response = ar.result();
+                    assertThat(response.statusCode(), is(HttpResponseStatus.OK.code()));
+                    JsonArray offsets = response.body().getJsonArray("offsets");
+                    assertThat(offsets.size(), is(3));
+                    assertThat(offsets.getJsonObject(0).getString("topic"), is(topic));
+                    assertThat(offsets.getJsonObject(0).getLong("offset"), is(0L));
+                    assertThat(offsets.getJsonObject(1).getString("topic"), is(topic2));
+                    assertThat(offsets.getJsonObject(1).getLong("offset"), is(0L));
+                    assertThat(offsets.getJsonObject(2).getString("topic"), is(topic));
+                    assertThat(offsets.getJsonObject(2).getLong("offset"), is(1L));
+                });
+                context.completeNow();
+            });
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    void sendRecordsToTopicsWithoutTopic(VertxTestContext context) throws InterruptedException, ExecutionException {
+        JsonArray records = new JsonArray();
+        records.add(new JsonObject().put("value", "message-value"));
+
+        JsonObject root = new JsonObject();
+        root.put("records", records);
+
+        producerService()
+            .sendRecordsToTopicsRequest(root, BridgeContentType.KAFKA_JSON_JSON)
+            .sendJsonObject(root, ar -> {
+                context.verify(() -> {
+                    assertThat(ar.succeeded(), is(true));
+                    HttpResponse<JsonObject> response = ar.result();
+                    assertThat(response.statusCode(), is(HttpResponseStatus.BAD_REQUEST.code()));
+                });
+                context.completeNow();
+            });
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
     @Test
     void jsonPayloadTest(VertxTestContext context) throws InterruptedException, ExecutionException {
         adminClientFacade.createTopic(topic, 3, 1);
@@ -845,4 +1027,64 @@ public class ProducerIT extends HttpBridgeITAbstract {
                 });
             });
     }
+
+    @Test
+    void fastValidationSameErrors(VertxTestContext context) throws InterruptedException, ExecutionException {
+        if (!"FALSE".equals(BRIDGE_EXTERNAL_ENV)) {
+            context.completeNow();
+            return;
+        }
+        adminClientFacade.createTopic(topic);
+
+        String topicPath = "/topics/" + topic;
+        // not valid requests, as path and body, for the contract validation and the hand-written one
+        String[][] invalidRequests = {
+            // partition
+            {topicPath, "{\"records\":[{\"value\":\"v\",\"partition\":\"x\"}]}"},
+            {topicPath + "/partitions/x", "{\"records\":[{\"value\":\"v\"}]}"},
+            // headers
+            {topicPath, "{\"records\":[{\"value\":\"v\",\"headers\":\"x\"}]}"},
+            {topicPath, "{\"records\":[{\"value\":\"v\",\"headers\":[{\"key\":\"k\"}]}]}"},
+            {topicPath, "{\"records\":[{\"value\":\"v\",\"headers\":[{\"key\":\"k\",\"value\":1}]}]}"},
+            // extra fields
+            {topicPath, "{\"records\":[{\"value\":\"v\",\"extra\":true}]}"},
+            {topicPath, "{\"records\":[{\"value\":\"v\"}],\"extra\":true}"},
+            {topicPath + "/partitions/0", "{\"records\":[{\"value\":\"v\",\"partition\":0}]}"},
+            // response mode
+            {topicPath + "?response_mode=all", "{\"records\":[{\"value\":\"v\"}]}"}
+        };
+
+        Map<String, Object> map = new HashMap<>(config);
+        map.put(HttpConfig.HTTP_PORT, FAST_VALIDATION_BRIDGE_PORT);
+        map.put(HttpConfig.HTTP_FAST_VALIDATION_ENABLED, true);
+        HttpBridge fastValidationBridge = new HttpBridge(BridgeConfig.fromMap(map), new MetricsReporter(null, null));
+        WebClient fastValidationClient = WebClient.create(vertx, new WebClientOptions()
+                .setDefaultHost(Urls.BRIDGE_HOST)
+                .setDefaultPort(FAST_VALIDATION_BRIDGE_PORT));
+
+        vertx.deployVerticle(fastValidationBridge).onComplete(context.succeeding(id -> {
+            Future<Void> compared = Future.succeededFuture();
+            for (String[] request : invalidRequests) {
+                compared = compared.compose(v -> sendInvalid(client, request)
+                        .compose(expected -> sendInvalid(fastValidationClient, request).map(actual -> {
+                            context.verify(() -> {
+                                assertThat(expected.statusCode(), is(HttpResponseStatus.BAD_REQUEST.code()));
+                                assertThat(request[0] + " " + request[1], actual.statusCode(), is(expected.statusCode()));
+                                assertThat(request[0] + " " + request[1], actual.bodyAsJsonObject(), is(expected.bodyAsJsonObject()));
+                            });
+                            return null;
+                        })));
+            }
+            compared.compose(v -> vertx.undeploy(id))
+                    .onComplete(context.succeeding(v -> context.completeNow()));
+        }));
+
+        assertThat(context.awaitCompletion(TEST_TIMEOUT, TimeUnit.SECONDS), is(true));
+    }
+
+    private static Future<HttpResponse<Buffer>> sendInvalid(WebClient webClient, String[] request) {
+        return webClient.post(request[0])
+                .putHeader(HttpHeaders.CONTENT_TYPE.toString(), BridgeContentType.KAFKA_JSON_JSON)
+                .sendBuffer(Buffer.buffer(request[1]));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.http;
+
+import io.vertx.core.Future;
+import io.vertx.kafka.admin.KafkaAdminClient;
+import io.vertx.kafka.admin.TopicDescription;
+import io.vertx.kafka.client.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the topics metadata cache, with a mocked admin client completing the requests immediately
+ */
+public class TopicMetadataCacheTest {
+
+    private static final String TOPIC = "my-topic";
+
+    private KafkaAdminClient adminClient;
+    private TopicMetadataCache topicMetadataCache;
+
+    private static Future<Map<String, TopicDescription>> described(String topic, int partitions) {
+        List<TopicPartitionInfo> partitionsInfo = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            partitionsInfo.add(new TopicPartitionInfo().setPartition(i));
+        }
+        TopicDescription description = new TopicDescription().setName(topic).setPartitions(partitionsInfo);
+        return Future.succeededFuture(Collections.singletonMap(topic, description));
+    }
+
+    private static void assertNotFound(Future<Void> validation) {
+        assertThat(validation.failed(), is(true));
+        // mapped to a 404 by the producer endpoint
+        assertThat(validation.cause(), instanceOf(UnknownTopicOrPartitionException.class));
+    }
+
+    @BeforeEach
+    void setUp() {
+        this.adminClient = mock(KafkaAdminClient.class);
+        this.topicMetadataCache = new TopicMetadataCache(null, this.adminClient, 1000);
+    }
+
+    @Test
+    void unknownTopic() {
+        when(this.adminClient.describeTopics(Collections.singletonList(TOPIC)))
+                .thenReturn(Future.failedFuture(new UnknownTopicOrPartitionException("This server does not host this topic-partition")));
+
+        Future<Void> validation = this.topicMetadataCache.validate(TOPIC, null);
+        assertNotFound(validation);
+        assertThat(validation.cause().getMessage(), is("Topic " + TOPIC + " not found"));
+
+        // the missing topic is cached as well
+        assertNotFound(this.topicMetadataCache.validate(TOPIC, 0));
+        verify(this.adminClient, times(1)).describeTopics(Collections.singletonList(TOPIC));
+    }
+
+    @Test
+    void partitionOutOfRange() {
+        when(this.adminClient.describeTopics(Collections.singletonList(TOPIC))).thenReturn(described(TOPIC, 3));
+
+        assertThat(this.topicMetadataCache.validate(TOPIC, null).succeeded(), is(true));
+        assertThat(this.topicMetadataCache.validate(TOPIC, 0).succeeded(), is(true));
+        assertThat(this.topicMetadataCache.validate(TOPIC, 2).succeeded(), is(true));
+        assertNotFound(this.topicMetadataCache.validate(TOPIC, 3));
+        assertNotFound(this.topicMetadataCache.validate(TOPIC, -1));
+        assertThat(this.topicMetadataCache.validate(TOPIC, 3).cause().getMessage(), is("Partition 3 of topic " + TOPIC + " not found"));
+
+        verify(this.adminClient, times(1)).describeTopics(Collections.singletonList(TOPIC));
+    }
+
+    @Test
+    void describeFailureLeftToProducer() {
+        when(this.adminClient.describeTopics(Collections.singletonList(TOPIC)))
+                .thenReturn(Future.failedFuture(new TimeoutException("Timed out waiting for a node assignment")));
+
+        assertThat(this.topicMetadataCache.validate(TOPIC, 5).succeeded(), is(true));
+        // not cached, described again
+        assertThat(this.topicMetadataCache.validate(TOPIC, 5).succeeded(), is(true));
+        verify(this.adminClient, times(2)).describeTopics(Collections.singletonList(TOPIC));
+    }
+
+    @Test
+    void refreshExpiresMissingTopic() {
+        when(this.adminClient.describeTopics(Collections.singletonList(TOPIC)))
+                .thenReturn(described(TOPIC, 3), described(TOPIC, 5));
+        assertThat(this.topicMetadataCache.validate(TOPIC, 2).succeeded(), is(true));
+
+        // deleted topic, marked as missing on the first refresh
+        when(this.adminClient.listTopics()).thenReturn(Future.succeededFuture(Collections.emptySet()));
+        this.topicMetadataCache.refresh();
+        assertNotFound(this.topicMetadataCache.validate(TOPIC, 2));
+
+        // and dropped from the cache on the next one, so that it is described again on next use
+        this.topicMetadataCache.refresh();
+        assertThat(this.topicMetadataCache.validate(TOPIC, 4).succeeded(), is(true));
+        verify(this.adminClient, times(2)).describeTopics(Collections.singletonList(TOPIC));
+    }
+
+    @Test
+    void refreshUpdatesPartitions() {
+        when(this.adminClient.describeTopics(Collections.singletonList(TOPIC)))
+                .thenReturn(described(TOPIC, 3), described(TOPIC, 5));
+        assertNotFound(this.topicMetadataCache.validate(TOPIC, 4));
+
+        // partitions added to the existing topic
+        when(this.adminClient.listTopics()).thenReturn(Future.succeededFuture(Collections.singleton(TOPIC)));
+        this.topicMetadataCache.refresh();
+        assertThat(this.topicMetadataCache.validate(TOPIC, 4).succeeded(), is(true));
+    }
+}
@@ -4,7 +4,9 @@
  */
 package io.strimzi.kafka.bridge.http.services;
 
+import io.strimzi.kafka.bridge.BridgeContentType;
 import io.strimzi.kafka.bridge.utils.Urls;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.WebClient;
@@ -35,10 +37,24 @@ public class ProducerService extends BaseService {
                 .as(BodyCodec.jsonObject());
     }
 
+    public HttpRequest<JsonObject> sendRecordsToTopicsRequest(JsonObject jsonObject, String bridgeContentType) {
+        return postRequest(Urls.producerTopics())
+                .putHeader(CONTENT_LENGTH.toString(), String.valueOf(jsonObject.toBuffer().length()))
+                .putHeader(CONTENT_TYPE.toString(), bridgeContentType)
+                .as(BodyCodec.jsonObject());
+    }
+
     public HttpRequest<JsonObject> sendRecordsToPartitionRequest(String topic, Object partition, JsonObject jsonObject, String bridgeContentType) {
         return postRequest(Urls.producerTopicPartition(topic, partition))
                 .putHeader(CONTENT_LENGTH.toString(), String.valueOf(jsonObject.toBuffer().length()))
                 .putHeader(CONTENT_TYPE.toString(), bridgeContentType)
                 .as(BodyCodec.jsonObject());
     }
+
+    public HttpRequest<JsonObject> sendRawRecordRequest(String topic, Buffer value) {
+        return postRequest(Urls.producerTopic(topic))
+                .putHeader(CONTENT_LENGTH.toString(), String.valueOf(value.length()))
+                .putHeader(CONTENT_TYPE.toString(), BridgeContentType.OCTET_STREAM)
+                .as(BodyCodec.jsonObject());
+    }
 }
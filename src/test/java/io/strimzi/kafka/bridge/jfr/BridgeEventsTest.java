@@ -0,0 +1,62 @@
+/*
+ * Copyright Strimzi authors.
+ * License: Apache License 2.0 (see the file LICENSE or http://apache.org/licenses/LICENSE-2.0.html).
+ */
+
+package io.strimzi.kafka.bridge.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class BridgeEventsTest {
+
+    @Test
+    public void disabledByDefault() {
+        assertThat(BridgeEvents.httpProduce(), is(nullValue()));
+
+        try (Recording recording = new Recording()) {
+            recording.start();
+            // not enabled in the recording settings
+            assertThat(BridgeEvents.httpProduce(), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void recorded() throws Exception {
+        Path file = Files.createTempFile("bridge-events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(HttpProduceEvent.class);
+            recording.start();
+
+            HttpProduceEvent event = BridgeEvents.httpProduce();
+            assertThat(event, is(notNullValue()));
+            event.complete("topic", 3, 1, 100, 200);
+            // only the enabled events
+            assertThat(BridgeEvents.httpPoll(), is(nullValue()));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+        assertThat(events.size(), is(1));
+        assertThat(events.get(0).getEventType().getName(), is("io.strimzi.bridge.http.Produce"));
+        assertThat(events.get(0).getString("topic"), is("topic"));
+        assertThat(events.get(0).getInt("records"), is(3));
+        assertThat(events.get(0).getInt("failedRecords"), is(1));
+        assertThat(events.get(0).getLong("bytes"), is(100L));
+        assertThat(events.get(0).getInt("statusCode"), is(200));
+    }
+}
@@ -68,6 +68,10 @@ public class Urls {
         return consumerInstance(groupId, name) + RECORDS_PATH;
     }
 
+    public static String producerTopics() {
+        return BRIDGE_ADDRESS + "/topics";
+    }
+
     public static String producerTopic(String topic) {
         return BRIDGE_ADDRESS + TOPICS_PATH + topic;
     }